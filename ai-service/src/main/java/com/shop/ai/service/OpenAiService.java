@@ -45,8 +45,11 @@ public class OpenAiService {
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
 
-    public OpenAiService() {
-        this.webClient = WebClient.builder()
+    /**
+     * Uses Boot's builder so OpenAI calls show up in the http.client.requests metrics.
+     */
+    public OpenAiService(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
                 .build();
         this.objectMapper = new ObjectMapper();
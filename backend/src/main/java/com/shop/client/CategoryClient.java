@@ -2,6 +2,7 @@ package com.shop.client;
 
 import com.shop.dto.category.CategoryCreateDTO;
 import com.shop.dto.category.CategoryDTO;
+import com.shop.dto.category.CategoryTreeDTO;
 import com.shop.dto.category.CategoryUpdateDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,12 @@ public interface CategoryClient {
     @GetMapping("/api/categories")
     ResponseEntity<List<CategoryDTO>> getAllCategories();
 
+    /**
+     * Get the category tree
+     */
+    @GetMapping("/api/categories/tree")
+    ResponseEntity<List<CategoryTreeDTO>> getCategoryTree();
+
     /**
      * Get category by ID
      */
@@ -12,8 +12,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 /**
  * Feign client for communicating with the order service
  */
@@ -21,16 +24,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 public interface OrderClient
 {
     /**
-     * Get all orders with pagination
+     * Get all orders with pagination, with only the given fields and includes when there are any
      */
     @GetMapping("/api/admin/orders")
-    Page<OrderDTO> getAllOrders(Pageable pageable);
+    Page<OrderDTO> getAllOrders(Pageable pageable,
+                                @RequestParam(value = "fields", required = false) List<String> fields,
+                                @RequestParam(value = "include", required = false) List<String> include);
 
     /**
-     * Get orders by user ID with pagination
+     * Get orders by user ID with pagination, with only the given fields and includes when there are any
      */
     @GetMapping("/api/user/orders")
-    Page<OrderDTO> getOrdersByUserId(@RequestParam("userId") Long userId, Pageable pageable);
+    Page<OrderDTO> getOrdersByUserId(@RequestParam("userId") Long userId, Pageable pageable,
+                                     @RequestParam(value = "fields", required = false) List<String> fields,
+                                     @RequestParam(value = "include", required = false) List<String> include);
 
     /**
      * Get order by ID
@@ -45,7 +52,8 @@ public interface OrderClient
     ResponseEntity<OrderDTO> createOrder(
             @RequestBody OrderCreateDTO orderCreateDTO,
             @RequestParam("userId") Long userId,
-            @RequestParam("userEmail") String userEmail);
+            @RequestParam("userEmail") String userEmail,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
 
 
     /**
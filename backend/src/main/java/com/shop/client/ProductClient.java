@@ -1,8 +1,14 @@
 package com.shop.client;
 
+import com.shop.dto.product.CartQuoteDTO;
+import com.shop.dto.product.CartQuoteRequestDTO;
+import com.shop.dto.product.ExchangeRateDTO;
+import com.shop.dto.product.ExchangeRateUpdateDTO;
 import com.shop.dto.product.ProductCreateDTO;
 import com.shop.dto.product.ProductDTO;
+import com.shop.dto.product.ProductSummaryDTO;
 import com.shop.dto.product.ProductUpdateDTO;
+import com.shop.model.enums.Currency;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,32 +30,75 @@ import java.util.List;
 @FeignClient(name = "product-service", url = "${product-service.url}")
 public interface ProductClient
 {
+    // Listing pages are large and compress well; Feign's default client inflates gzip responses
+    String GZIP = "Accept-Encoding=gzip";
+
     /**
-     * Get all products
+     * Get all products, with prices in the display currency when one is given
      */
-    @GetMapping("/api/products")
-    Page<ProductDTO> getAllProducts(Pageable pageable);
+    @GetMapping(value = "/api/products", headers = GZIP)
+    Page<ProductDTO> getAllProducts(Pageable pageable,
+                                    @RequestParam(required = false) Currency currency,
+                                    @RequestParam(value = "fields", required = false) List<String> fields,
+                                    @RequestParam(value = "include", required = false) List<String> include);
 
     /**
      * Get products with filters
      */
-    @GetMapping("/api/products")
+    @GetMapping(value = "/api/products", headers = GZIP)
     Page<ProductDTO> getProductsWithFilters(
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String name,
-            Pageable pageable);
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
+            Pageable pageable,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            @RequestParam(value = "include", required = false) List<String> include);
+
+    /**
+     * Get products as listings show them, with the same filters
+     */
+    @GetMapping(value = "/api/products", headers = GZIP)
+    Page<ProductSummaryDTO> getProductSummaries(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
+            Pageable pageable,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam("view") String view);
 
     /**
      * Get product by ID
      */
     @GetMapping("/api/products/{id}")
-    ProductDTO getProductById(@PathVariable Long id);
+    ProductDTO getProductById(@PathVariable Long id,
+                              @RequestParam(required = false) Currency currency,
+                              @RequestParam(value = "fields", required = false) List<String> fields,
+                              @RequestParam(value = "include", required = false) List<String> include);
 
     @GetMapping("/api/products/category/{categoryId}")
     ResponseEntity<List<ProductDTO>> getProductsByCategoryId(@PathVariable Long categoryId);
 
+    /**
+     * Price a cart with the current promotions and stock
+     */
+    @PostMapping("/api/products/quote")
+    ResponseEntity<CartQuoteDTO> quoteCart(@RequestBody CartQuoteRequestDTO request);
+
+    /**
+     * Exchange rates against the base currency
+     */
+    @GetMapping("/api/exchange-rates")
+    ResponseEntity<List<ExchangeRateDTO>> getExchangeRates();
+
+    @PutMapping("/api/admin/exchange-rates/{currency}")
+    ResponseEntity<ExchangeRateDTO> updateExchangeRate(@PathVariable Currency currency,
+                                                       @RequestBody ExchangeRateUpdateDTO exchangeRateUpdateDTO);
+
     /**
      * Create a new product
      */
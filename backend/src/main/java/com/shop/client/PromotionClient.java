@@ -20,6 +20,12 @@ public interface PromotionClient {
     @GetMapping("/api/admin/promotions/product/{productId}")
     ResponseEntity<List<PromotionDTO>> getPromotionsByProductId(@PathVariable Long productId);
 
+    @GetMapping("/api/admin/promotions/category/{categoryId}")
+    ResponseEntity<List<PromotionDTO>> getPromotionsByCategoryId(@PathVariable Long categoryId);
+
+    @GetMapping("/api/admin/promotions/cart")
+    ResponseEntity<List<PromotionDTO>> getCartPromotions();
+
     @PostMapping("/api/admin/promotions")
     ResponseEntity<PromotionDTO> createPromotion(@RequestBody PromotionCreateDTO dto);
 
@@ -55,6 +55,7 @@ public class SecurityConfig {
                             AntPathRequestMatcher.antMatcher("/api/auth/**"),
                             AntPathRequestMatcher.antMatcher("/api/products/**"),
                             AntPathRequestMatcher.antMatcher("/api/categories/**"),
+                            AntPathRequestMatcher.antMatcher("/api/exchange-rates"),
                             AntPathRequestMatcher.antMatcher("/h2-console/**")
                     ).permitAll()
                     .requestMatchers(
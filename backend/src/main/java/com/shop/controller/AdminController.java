@@ -1,5 +1,6 @@
 package com.shop.controller;
 
+import com.shop.dto.admin.SalesDashboardDTO;
 import com.shop.dto.order.OrderDTO;
 import com.shop.dto.order.OrderStatusUpdateDTO;
 import com.shop.dto.product.ProductCreateDTO;
@@ -8,6 +9,7 @@ import com.shop.dto.product.ProductUpdateDTO;
 import com.shop.service.CategoryServiceClient;
 import com.shop.service.OrderServiceClient;
 import com.shop.service.ProductServiceClient;
+import com.shop.service.SalesRollupService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,10 +17,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,20 +39,44 @@ public class AdminController {
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
     private final ProductServiceClient productService;
     private final OrderServiceClient orderServiceClient;
+    private final SalesRollupService salesRollupService;
 
-    public AdminController(ProductServiceClient productService, OrderServiceClient orderServiceClient) {
+    public AdminController(ProductServiceClient productService, OrderServiceClient orderServiceClient,
+                           SalesRollupService salesRollupService) {
         this.productService = productService;
         this.orderServiceClient = orderServiceClient;
+        this.salesRollupService = salesRollupService;
     }
 
     /**
-     * Admin dashboard
+     * Admin sales dashboard, read from the sales rollups. Times are UTC and the range is
+     * {@code [from, to)}; by default the last 30 days by day, or the last 48 hours by hour.
      */
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, String>> getAdminDashboard() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Admin dashboard accessed successfully");
-        return ResponseEntity.ok(response);
+    public ResponseEntity<SalesDashboardDTO> getAdminDashboard(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int top) {
+
+        SalesRollupService.Granularity bucket;
+        if (granularity.equalsIgnoreCase("hour")) {
+            bucket = SalesRollupService.Granularity.HOUR;
+        } else if (granularity.equalsIgnoreCase("day")) {
+            bucket = SalesRollupService.Granularity.DAY;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ChronoUnit unit = bucket == SalesRollupService.Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime end = to != null ? to : LocalDateTime.now(ZoneOffset.UTC).truncatedTo(unit).plus(1, unit);
+        LocalDateTime start = from != null ? from : end.minus(bucket == SalesRollupService.Granularity.HOUR ? 48 : 30, unit);
+        if (!start.isBefore(end) || top < 1 || top > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        logger.info("Admin fetching {} sales dashboard from {} to {}", granularity, start, end);
+        return ResponseEntity.ok(salesRollupService.getDashboard(bucket, start, end, top));
     }
 
     /**
@@ -62,7 +94,7 @@ public class AdminController {
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
 
-        Page<ProductDTO> products = productService.getAllProducts(pageable);
+        Page<ProductDTO> products = productService.getAllProducts(pageable, null);
 //        Page<ProductDTO> products = orderServiceClient.getAllProducts(pageable);
 
         return ResponseEntity.ok(products);
@@ -106,22 +138,25 @@ public class AdminController {
     }
 
     /**
-     * Get all orders with pagination (admin)
+     * Get all orders with pagination (admin); {@code fields=} and {@code include=items} trim
+     * them to what the order table shows
      */
     @GetMapping("/orders")
-    public ResponseEntity<Page<OrderDTO>> getAllOrders(
+    public ResponseEntity<MappingJacksonValue> getAllOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
 
         logger.info("Admin fetching all orders with pagination");
 
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
 
-        Page<OrderDTO> orders = orderServiceClient.getAllOrders(pageable);
-        return ResponseEntity.ok(orders);
+        Page<OrderDTO> orders = orderServiceClient.getAllOrders(pageable, fields, include);
+        return ResponseEntity.ok(SparseFields.orders(orders, fields, include));
     }
 
     /**
@@ -0,0 +1,85 @@
+package com.shop.controller;
+
+import com.shop.dto.cart.CartDTO;
+import com.shop.dto.cart.CartItemDTO;
+import com.shop.dto.cart.CartItemUpdateDTO;
+import com.shop.dto.order.OrderDTO;
+import com.shop.dto.user.UserDTO;
+import com.shop.model.enums.Currency;
+import com.shop.service.CartService;
+import com.shop.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Cart of the current user. Changes return the cart priced again; reading it does not, unless
+ * it is asked for in another display currency.
+ */
+@RestController
+@RequestMapping("/api/user/cart")
+public class CartController {
+
+    private final CartService cartService;
+    private final UserService userService;
+
+    public CartController(CartService cartService, UserService userService) {
+        this.cartService = cartService;
+        this.userService = userService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CartDTO> getCart(@RequestParam(required = false) Currency currency) {
+        return ResponseEntity.ok(cartService.getCart(currentUser().getId(), currency));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<CartDTO> addItem(@Valid @RequestBody CartItemDTO item,
+                                           @RequestParam(required = false) Currency currency) {
+        return ResponseEntity.ok(cartService.addItem(currentUser().getId(), item.getProductId(), item.getQuantity(),
+                currency));
+    }
+
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<CartDTO> updateItem(@PathVariable Long productId,
+                                              @Valid @RequestBody CartItemUpdateDTO item,
+                                              @RequestParam(required = false) Currency currency) {
+        return ResponseEntity.ok(cartService.updateItem(currentUser().getId(), productId, item.getQuantity(), currency));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<CartDTO> removeItem(@PathVariable Long productId,
+                                              @RequestParam(required = false) Currency currency) {
+        return ResponseEntity.ok(cartService.removeItem(currentUser().getId(), productId, currency));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearCart() {
+        cartService.clear(currentUser().getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Place the cart as an order
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<OrderDTO> checkout(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        UserDTO user = currentUser();
+        return ResponseEntity.ok(cartService.checkout(user.getId(), user.getEmail(), idempotencyKey));
+    }
+
+    private UserDTO currentUser() {
+        return userService.getCurrentUser(SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+}
@@ -1,6 +1,7 @@
 package com.shop.controller;
 
 import com.shop.dto.category.CategoryDTO;
+import com.shop.dto.category.CategoryTreeDTO;
 import com.shop.service.CategoryServiceClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,16 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    /**
+     * Get the category tree
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree() {
+        logger.info("Fetching category tree");
+        List<CategoryTreeDTO> tree = categoryServiceClient.getCategoryTree();
+        return ResponseEntity.ok(tree);
+    }
+
     /**
      * Get category by ID
      */
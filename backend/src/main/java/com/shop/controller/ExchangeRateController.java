@@ -0,0 +1,41 @@
+package com.shop.controller;
+
+import com.shop.dto.product.ExchangeRateDTO;
+import com.shop.dto.product.ExchangeRateUpdateDTO;
+import com.shop.model.enums.Currency;
+import com.shop.service.ProductServiceClient;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Exchange rates used to show prices in a display currency: readable by everyone, set by admins
+ */
+@RestController
+@RequestMapping("/api")
+public class ExchangeRateController {
+
+    private final ProductServiceClient productServiceClient;
+
+    public ExchangeRateController(ProductServiceClient productServiceClient) {
+        this.productServiceClient = productServiceClient;
+    }
+
+    @GetMapping("/exchange-rates")
+    public ResponseEntity<List<ExchangeRateDTO>> getExchangeRates() {
+        return ResponseEntity.ok(productServiceClient.getExchangeRates());
+    }
+
+    @PutMapping("/admin/exchange-rates/{currency}")
+    public ResponseEntity<ExchangeRateDTO> updateExchangeRate(@PathVariable Currency currency,
+                                                              @Valid @RequestBody ExchangeRateUpdateDTO dto) {
+        return ResponseEntity.ok(productServiceClient.updateExchangeRate(currency, dto));
+    }
+}
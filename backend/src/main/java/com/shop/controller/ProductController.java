@@ -1,6 +1,8 @@
 package com.shop.controller;
 
 import com.shop.dto.product.ProductDTO;
+import com.shop.dto.product.ProductSummaryDTO;
+import com.shop.model.enums.Currency;
 import com.shop.service.ProductServiceClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,10 +11,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Controller for public product endpoints
@@ -22,6 +26,7 @@ import java.util.Arrays;
 public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
+    private static final String SUMMARY_VIEW = "summary";
     private final ProductServiceClient productService;
 
     public ProductController(ProductServiceClient productService) {
@@ -29,42 +34,58 @@ public class ProductController {
     }
 
     /**
-     * Get all products with optional filtering and pagination
+     * Get all products with optional filtering and pagination; {@code view=summary} returns
+     * {@link ProductSummaryDTO}s without descriptions and promotion details. Otherwise
+     * {@code fields=} and {@code include=promotions} select what is returned.
      */
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> getProducts(
+    public ResponseEntity<MappingJacksonValue> getProducts(
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sort,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
 
         logger.info("Fetching products with filters: categoryId={}, minPrice={}, maxPrice={}, name={}, page={}, size={}, sort={}, direction={}",
                 categoryId, minPrice, maxPrice, name, page, size, sort, direction);
 
         Pageable pageable = PageRequest.of(page, size, buildSort(sort, direction));
 
+        if (SUMMARY_VIEW.equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(new MappingJacksonValue(productService.getProductSummaries(categoryId, minPrice,
+                    maxPrice, name, includeDescendants, pageable, currency)));
+        }
+
         Page<ProductDTO> products;
         if (categoryId != null || minPrice != null || maxPrice != null || name != null) {
-            products = productService.getProductsWithFilters(categoryId, minPrice, maxPrice, name, pageable);
+            products = productService.getProductsWithFilters(categoryId, minPrice, maxPrice, name, includeDescendants, pageable,
+                    currency, fields, include);
         } else {
-            products = productService.getAllProducts(pageable);
+            products = productService.getAllProducts(pageable, currency, fields, include);
         }
 
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(SparseFields.products(products, fields, include));
     }
 
     /**
-     * Get product by ID
+     * Get product by ID, with prices in the display currency when one is given
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<MappingJacksonValue> getProductById(@PathVariable Long id,
+                                                              @RequestParam(required = false) Currency currency,
+                                                              @RequestParam(required = false) List<String> fields,
+                                                              @RequestParam(required = false) List<String> include) {
         logger.info("Fetching product with ID: {}", id);
-        ProductDTO product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        ProductDTO product = productService.getProductById(id, currency, fields, include);
+        return ResponseEntity.ok(SparseFields.products(product, fields, include));
     }
 
     private Sort buildSort(String sort, String direction) {
@@ -32,6 +32,16 @@ public class PromotionController {
         return ResponseEntity.ok(promotionServiceClient.getPromotionsByProductId(productId));
     }
 
+    @GetMapping("/category/{categoryId}")
+    public ResponseEntity<List<PromotionDTO>> getPromotionsByCategoryId(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(promotionServiceClient.getPromotionsByCategoryId(categoryId));
+    }
+
+    @GetMapping("/cart")
+    public ResponseEntity<List<PromotionDTO>> getCartPromotions() {
+        return ResponseEntity.ok(promotionServiceClient.getCartPromotions());
+    }
+
     @PostMapping
     public ResponseEntity<PromotionDTO> createPromotion(@Valid @RequestBody PromotionCreateDTO dto) {
         return ResponseEntity.ok(promotionServiceClient.createPromotion(dto));
@@ -0,0 +1,61 @@
+package com.shop.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Response side of {@code fields=} and {@code include=}. Order and product services check the
+ * names and read only what was asked for; the DTOs they return have the rest unset, and this
+ * writes the same selection back out, so unset fields do not come back as nulls.
+ */
+final class SparseFields {
+
+    static final String ORDER_FILTER = "orderFields";
+    static final String PRODUCT_FILTER = "productFields";
+
+    private SparseFields() {
+    }
+
+    static MappingJacksonValue orders(Object body, List<String> fields, List<String> include) {
+        return write(body, ORDER_FILTER, fields, include, "items", Set.of("orderItems"));
+    }
+
+    static MappingJacksonValue products(Object body, List<String> fields, List<String> include) {
+        return write(body, PRODUCT_FILTER, fields, include, "promotions", Set.of("activePromotion", "appliedPromotions"));
+    }
+
+    /**
+     * Without either parameter the body is written whole, nested data included; with only
+     * {@code include}, every property is written and nested data only if included.
+     */
+    private static MappingJacksonValue write(Object body, String filterId, List<String> fields, List<String> include,
+                                             String nestedName, Set<String> nested) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null && include == null) {
+            return value;
+        }
+
+        boolean withNested = include != null
+                ? include.stream().map(String::trim).anyMatch(nestedName::equals)
+                : fields == null;
+        SimpleBeanPropertyFilter filter;
+        if (fields == null) {
+            filter = withNested ? SimpleBeanPropertyFilter.serializeAll() : SimpleBeanPropertyFilter.serializeAllExcept(nested);
+        } else {
+            Set<String> written = new HashSet<>();
+            written.add("id");
+            fields.forEach(field -> written.add(field.trim()));
+            if (withNested) {
+                written.addAll(nested);
+            }
+            filter = SimpleBeanPropertyFilter.filterOutAllExcept(written);
+        }
+        value.setFilters(new SimpleFilterProvider().addFilter(filterId, filter));
+        return value;
+    }
+}
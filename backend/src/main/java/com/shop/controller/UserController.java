@@ -14,10 +14,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller for authenticated user endpoints
  */
@@ -57,14 +60,16 @@ public class UserController {
     }
 
     /**
-     * Get orders for current user
+     * Get orders for current user, optionally only some fields ({@code fields=}, {@code include=items})
      */
     @GetMapping("/orders")
-    public ResponseEntity<Page<OrderDTO>> getUserOrders(
+    public ResponseEntity<MappingJacksonValue> getUserOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
 
         String email = getCurrentUserEmail();
         UserDTO user = userService.getCurrentUser(email);
@@ -74,20 +79,22 @@ public class UserController {
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
 
-        Page<OrderDTO> orders = orderServiceClient.getOrdersByUserId(user.getId(), pageable);
-        return ResponseEntity.ok(orders);
+        Page<OrderDTO> orders = orderServiceClient.getOrdersByUserId(user.getId(), pageable, fields, include);
+        return ResponseEntity.ok(SparseFields.orders(orders, fields, include));
     }
 
     /**
      * Create new order
      */
     @PostMapping("/orders")
-    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody OrderCreateDTO orderCreateDTO) {
+    public ResponseEntity<OrderDTO> createOrder(
+            @Valid @RequestBody OrderCreateDTO orderCreateDTO,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         String email = getCurrentUserEmail();
         UserDTO user = userService.getCurrentUser(email);
 
         logger.info("Creating new order for user ID: {}", user.getId());
-        OrderDTO createdOrder = orderServiceClient.createOrder(orderCreateDTO, user.getId(), user.getEmail());
+        OrderDTO createdOrder = orderServiceClient.createOrder(orderCreateDTO, user.getId(), user.getEmail(), idempotencyKey);
         return ResponseEntity.ok(createdOrder);
     }
 
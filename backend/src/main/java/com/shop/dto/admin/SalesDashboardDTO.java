@@ -0,0 +1,224 @@
+package com.shop.dto.admin;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data Transfer Object for the admin sales dashboard. Orders are placed in several currencies,
+ * so revenue is reported per currency code rather than as one sum.
+ */
+public class SalesDashboardDTO {
+    private String granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long orderCount;
+    private Map<String, BigDecimal> revenue = new TreeMap<>();
+    private List<BucketDTO> series = new ArrayList<>();
+    private List<StatusTotalDTO> byStatus = new ArrayList<>();
+    private List<TopProductDTO> topProducts = new ArrayList<>();
+
+    // Getters and Setters
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public Map<String, BigDecimal> getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(Map<String, BigDecimal> revenue) {
+        this.revenue = revenue;
+    }
+
+    public List<BucketDTO> getSeries() {
+        return series;
+    }
+
+    public void setSeries(List<BucketDTO> series) {
+        this.series = series;
+    }
+
+    public List<StatusTotalDTO> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(List<StatusTotalDTO> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public List<TopProductDTO> getTopProducts() {
+        return topProducts;
+    }
+
+    public void setTopProducts(List<TopProductDTO> topProducts) {
+        this.topProducts = topProducts;
+    }
+
+    /**
+     * Orders (excluding canceled ones) and revenue created within one hour or day
+     */
+    public static class BucketDTO {
+        private LocalDateTime bucketStart;
+        private long orderCount;
+        private Map<String, BigDecimal> revenue = new TreeMap<>();
+
+        public BucketDTO() {
+        }
+
+        public BucketDTO(LocalDateTime bucketStart, long orderCount, Map<String, BigDecimal> revenue) {
+            this.bucketStart = bucketStart;
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+        }
+
+        public LocalDateTime getBucketStart() {
+            return bucketStart;
+        }
+
+        public void setBucketStart(LocalDateTime bucketStart) {
+            this.bucketStart = bucketStart;
+        }
+
+        public long getOrderCount() {
+            return orderCount;
+        }
+
+        public void setOrderCount(long orderCount) {
+            this.orderCount = orderCount;
+        }
+
+        public Map<String, BigDecimal> getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(Map<String, BigDecimal> revenue) {
+            this.revenue = revenue;
+        }
+    }
+
+    /**
+     * Orders and revenue in the range grouped by their current status
+     */
+    public static class StatusTotalDTO {
+        private String status;
+        private long orderCount;
+        private Map<String, BigDecimal> revenue = new TreeMap<>();
+
+        public StatusTotalDTO() {
+        }
+
+        public StatusTotalDTO(String status, long orderCount, Map<String, BigDecimal> revenue) {
+            this.status = status;
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public long getOrderCount() {
+            return orderCount;
+        }
+
+        public void setOrderCount(long orderCount) {
+            this.orderCount = orderCount;
+        }
+
+        public Map<String, BigDecimal> getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(Map<String, BigDecimal> revenue) {
+            this.revenue = revenue;
+        }
+    }
+
+    /**
+     * Best-selling product in the range
+     */
+    public static class TopProductDTO {
+        private Long productId;
+        private String productName;
+        private long quantity;
+        private Map<String, BigDecimal> revenue = new TreeMap<>();
+
+        public TopProductDTO() {
+        }
+
+        public TopProductDTO(Long productId, String productName, long quantity, Map<String, BigDecimal> revenue) {
+            this.productId = productId;
+            this.productName = productName;
+            this.quantity = quantity;
+            this.revenue = revenue;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        public void setProductName(String productName) {
+            this.productName = productName;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(long quantity) {
+            this.quantity = quantity;
+        }
+
+        public Map<String, BigDecimal> getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(Map<String, BigDecimal> revenue) {
+            this.revenue = revenue;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.shop.dto.cart;
+
+import com.shop.dto.product.CartQuoteDTO;
+import com.shop.dto.product.PromotionDTO;
+import com.shop.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A user's cart as stored: its lines priced when the cart last changed, the totals of that
+ * quote and which lines exceeded the stock at the time. Reading it needs no remote call.
+ */
+public class CartDTO {
+    private List<CartQuoteDTO.Line> lines = new ArrayList<>();
+    private Currency currency;
+    private Currency displayCurrency;
+    private BigDecimal subtotal;
+    private BigDecimal discount;
+    private BigDecimal total;
+    private List<PromotionDTO> cartPromotions = new ArrayList<>();
+    private List<Long> unavailableProductIds = new ArrayList<>();
+    private boolean checkoutReady;
+    private LocalDateTime pricedAt;
+    private Long lastOrderId;
+    private String lastCheckoutKey;
+    private long version;
+
+    public CartDTO() {
+    }
+
+    public static CartDTO empty() {
+        return new CartDTO();
+    }
+
+    public List<CartQuoteDTO.Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<CartQuoteDTO.Line> lines) {
+        this.lines = lines;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    /**
+     * Currency the user asked to see the cart in; null to keep the products' own currency
+     */
+    public Currency getDisplayCurrency() {
+        return displayCurrency;
+    }
+
+    public void setDisplayCurrency(Currency displayCurrency) {
+        this.displayCurrency = displayCurrency;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(BigDecimal discount) {
+        this.discount = discount;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public List<PromotionDTO> getCartPromotions() {
+        return cartPromotions;
+    }
+
+    public void setCartPromotions(List<PromotionDTO> cartPromotions) {
+        this.cartPromotions = cartPromotions;
+    }
+
+    /**
+     * Products whose quantity in the cart exceeded their stock when the cart was priced
+     */
+    public List<Long> getUnavailableProductIds() {
+        return unavailableProductIds;
+    }
+
+    public void setUnavailableProductIds(List<Long> unavailableProductIds) {
+        this.unavailableProductIds = unavailableProductIds;
+    }
+
+    /**
+     * Not empty and every line was in stock when the cart was priced
+     */
+    public boolean isCheckoutReady() {
+        return checkoutReady;
+    }
+
+    public void setCheckoutReady(boolean checkoutReady) {
+        this.checkoutReady = checkoutReady;
+    }
+
+    public LocalDateTime getPricedAt() {
+        return pricedAt;
+    }
+
+    public void setPricedAt(LocalDateTime pricedAt) {
+        this.pricedAt = pricedAt;
+    }
+
+    /**
+     * Order placed by the last checkout, kept so a retried checkout returns it
+     */
+    public Long getLastOrderId() {
+        return lastOrderId;
+    }
+
+    public void setLastOrderId(Long lastOrderId) {
+        this.lastOrderId = lastOrderId;
+    }
+
+    public String getLastCheckoutKey() {
+        return lastCheckoutKey;
+    }
+
+    public void setLastCheckoutKey(String lastCheckoutKey) {
+        this.lastCheckoutKey = lastCheckoutKey;
+    }
+
+    /**
+     * Incremented by the cart store on every change, 0 before the cart was first stored
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,46 @@
+package com.shop.dto.cart;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Product and quantity to add to the cart
+ */
+public class CartItemDTO {
+
+    /** Largest quantity of one product a cart line may hold */
+    public static final int MAX_QUANTITY = 999;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = CartItemDTO.MAX_QUANTITY, message = "Quantity must be at most 999")
+    private Integer quantity;
+
+    public CartItemDTO() {
+    }
+
+    public CartItemDTO(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
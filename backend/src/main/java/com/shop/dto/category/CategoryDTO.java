@@ -7,6 +7,9 @@ public class CategoryDTO {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
+    private String path;
+    private Integer depth;
     private Integer productCount;
 
     // Constructors
@@ -44,6 +47,30 @@ public class CategoryDTO {
         this.description = description;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
     public Integer getProductCount() {
         return productCount;
     }
@@ -0,0 +1,74 @@
+package com.shop.dto.category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a node of the category tree
+ */
+public class CategoryTreeDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private Long parentId;
+    private String path;
+    private Integer depth;
+    private List<CategoryTreeDTO> children = new ArrayList<>();
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public List<CategoryTreeDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<CategoryTreeDTO> children) {
+        this.children = children;
+    }
+}
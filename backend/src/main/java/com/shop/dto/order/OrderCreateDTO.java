@@ -4,7 +4,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +18,13 @@ public class OrderCreateDTO {
     @NotEmpty(message = "Order must contain at least one item")
     private List<OrderItemCreateDTO> items = new ArrayList<>();
 
+    // Currency to place the order in; by default the products' own currency
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+
+    // Total the client showed; order-service refuses the order if it would cost anything else
+    private BigDecimal expectedTotal;
+
     // Constructors
     public OrderCreateDTO() {
     }
@@ -29,6 +38,22 @@ public class OrderCreateDTO {
         this.items = items;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public void setExpectedTotal(BigDecimal expectedTotal) {
+        this.expectedTotal = expectedTotal;
+    }
+
     /**
      * Nested DTO for OrderItem in Order creation requests
      */
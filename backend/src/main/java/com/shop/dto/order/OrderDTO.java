@@ -1,5 +1,6 @@
 package com.shop.dto.order;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.shop.model.enums.OrderStatus;
 
 import java.math.BigDecimal;
@@ -8,14 +9,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Data Transfer Object for Order responses
+ * Data Transfer Object for Order responses; the filter trims it to the requested fields
  */
+@JsonFilter("orderFields")
 public class OrderDTO {
     private Long id;
     private Long userId;
     private String userEmail;
     private List<OrderItemDTO> orderItems = new ArrayList<>();
     private BigDecimal totalAmount;
+    private BigDecimal discountAmount;
+    private String currency;
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -65,6 +69,22 @@ public class OrderDTO {
         this.totalAmount = totalAmount;
     }
 
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public OrderStatus getStatus() {
         return status;
     }
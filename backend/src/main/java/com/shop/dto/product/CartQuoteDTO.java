@@ -0,0 +1,155 @@
+package com.shop.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.shop.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A cart priced by product-service: every line with its promotions, then the cart promotions
+ * on the subtotal. All amounts are in the quote currency.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CartQuoteDTO {
+    private List<Line> lines = new ArrayList<>();
+    private Currency currency;
+    private BigDecimal subtotal;
+    private BigDecimal discount;
+    private BigDecimal total;
+    private List<PromotionDTO> cartPromotions = new ArrayList<>();
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(BigDecimal discount) {
+        this.discount = discount;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public List<PromotionDTO> getCartPromotions() {
+        return cartPromotions;
+    }
+
+    public void setCartPromotions(List<PromotionDTO> cartPromotions) {
+        this.cartPromotions = cartPromotions;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Line {
+        private Long productId;
+        private String name;
+        private Integer quantity;
+        private BigDecimal basePrice;
+        private BigDecimal unitPrice;
+        private BigDecimal subtotal;
+        private Currency currency;
+        private Integer stockQuantity;
+        private List<PromotionDTO> appliedPromotions = new ArrayList<>();
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getBasePrice() {
+            return basePrice;
+        }
+
+        public void setBasePrice(BigDecimal basePrice) {
+            this.basePrice = basePrice;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+
+        public void setUnitPrice(BigDecimal unitPrice) {
+            this.unitPrice = unitPrice;
+        }
+
+        public BigDecimal getSubtotal() {
+            return subtotal;
+        }
+
+        public void setSubtotal(BigDecimal subtotal) {
+            this.subtotal = subtotal;
+        }
+
+        public Currency getCurrency() {
+            return currency;
+        }
+
+        public void setCurrency(Currency currency) {
+            this.currency = currency;
+        }
+
+        public Integer getStockQuantity() {
+            return stockQuantity;
+        }
+
+        public void setStockQuantity(Integer stockQuantity) {
+            this.stockQuantity = stockQuantity;
+        }
+
+        public List<PromotionDTO> getAppliedPromotions() {
+            return appliedPromotions;
+        }
+
+        public void setAppliedPromotions(List<PromotionDTO> appliedPromotions) {
+            this.appliedPromotions = appliedPromotions;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.shop.dto.product;
+
+import com.shop.model.enums.Currency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cart contents to price in product-service: product IDs and quantities, and optionally the
+ * currency to price them in
+ */
+public class CartQuoteRequestDTO {
+
+    private List<Item> items = new ArrayList<>();
+    private Currency currency;
+
+    public CartQuoteRequestDTO() {
+    }
+
+    public CartQuoteRequestDTO(List<Item> items, Currency currency) {
+        this.items = items;
+        this.currency = currency;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public static class Item {
+        private Long productId;
+        private Integer quantity;
+
+        public Item() {
+        }
+
+        public Item(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
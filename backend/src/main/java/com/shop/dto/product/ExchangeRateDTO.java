@@ -0,0 +1,50 @@
+package com.shop.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.shop.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Units of a currency per unit of the base currency
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ExchangeRateDTO {
+    private Currency currency;
+    private Currency base;
+    private BigDecimal rate;
+    private LocalDateTime updatedAt;
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public Currency getBase() {
+        return base;
+    }
+
+    public void setBase(Currency base) {
+        this.base = base;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,14 +1,17 @@
 package com.shop.dto.product;
 
 import com.shop.model.enums.Currency;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- * Data Transfer Object for Product responses
+ * Data Transfer Object for Product responses; the filter trims it to the requested fields
  */
+@JsonFilter("productFields")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ProductDTO {
     private Long id;
@@ -22,9 +25,11 @@ public class ProductDTO {
     private Long categoryId;
     private String categoryName;
     private PromotionDTO activePromotion;
+    private List<PromotionDTO> appliedPromotions;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Boolean isActive;
+    private Long soldQuantity;
 
     // Constructors
     public ProductDTO() {
@@ -119,6 +124,14 @@ public class ProductDTO {
         this.activePromotion = activePromotion;
     }
 
+    public List<PromotionDTO> getAppliedPromotions() {
+        return appliedPromotions;
+    }
+
+    public void setAppliedPromotions(List<PromotionDTO> appliedPromotions) {
+        this.appliedPromotions = appliedPromotions;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -142,4 +155,12 @@ public class ProductDTO {
     public void setIsActive(Boolean isActive) {
         this.isActive = isActive;
     }
+
+    public Long getSoldQuantity() {
+        return soldQuantity;
+    }
+
+    public void setSoldQuantity(Long soldQuantity) {
+        this.soldQuantity = soldQuantity;
+    }
 }
@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PromotionDTO {
     private Long id;
+    private PromotionScope scope;
     private Long productId;
+    private Long categoryId;
     private String title;
     private String description;
     private DiscountType discountType;
@@ -17,6 +19,8 @@ public class PromotionDTO {
     private LocalDateTime endAt;
     private Boolean active;
     private Integer priority;
+    private Boolean stackable;
+    private BigDecimal minCartAmount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -28,6 +32,14 @@ public class PromotionDTO {
         this.id = id;
     }
 
+    public PromotionScope getScope() {
+        return scope;
+    }
+
+    public void setScope(PromotionScope scope) {
+        this.scope = scope;
+    }
+
     public Long getProductId() {
         return productId;
     }
@@ -36,6 +48,14 @@ public class PromotionDTO {
         this.productId = productId;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -100,6 +120,22 @@ public class PromotionDTO {
         this.priority = priority;
     }
 
+    public Boolean getStackable() {
+        return stackable;
+    }
+
+    public void setStackable(Boolean stackable) {
+        this.stackable = stackable;
+    }
+
+    public BigDecimal getMinCartAmount() {
+        return minCartAmount;
+    }
+
+    public void setMinCartAmount(BigDecimal minCartAmount) {
+        this.minCartAmount = minCartAmount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,7 @@
+package com.shop.dto.product;
+
+public enum PromotionScope {
+    PRODUCT,
+    CATEGORY,
+    CART
+}
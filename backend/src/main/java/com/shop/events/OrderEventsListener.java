@@ -1,28 +1,30 @@
 package com.shop.events;
 
 import com.shop.events.avro.OrderEvent;
+import com.shop.service.SalesRollupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class OrderEventsListener {
 
     private static final Logger log = LoggerFactory.getLogger(OrderEventsListener.class);
 
-    @KafkaListener(topics = "order-events-avro", groupId = "order-log-service")
-    public void handleOrderEvent(OrderEvent event) {
-        log.info(">>> Received order kafka event: id={}, userId={}, status={}, total={}",
-                event.getOrderId(),
-                event.getUserId(),
-                event.getStatus(),
-                event.getTotalAmount());
+    private final SalesRollupService salesRollupService;
+
+    public OrderEventsListener(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
 
-        // - запис в отделна таблица (history)
-        // - запис в отделна таблица (history)
-        // - запис в отделна таблица (history)
-        // - изпращане на email
-        // - call към друг REST сървис и т.н.
+    @KafkaListener(topics = "order-events-avro",
+            groupId = "backend-sales-rollups",
+            containerFactory = "orderEventListenerContainerFactory")
+    public void handleOrderEvents(List<OrderEvent> events) {
+        log.info("Received {} order kafka events", events.size());
+        salesRollupService.applyOrderEvents(events);
     }
 }
@@ -0,0 +1,15 @@
+package com.shop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a cart change or checkout does not fit the current stock or cart state
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CartConflictException extends RuntimeException {
+
+    public CartConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.shop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a cart change would leave a line with more than the allowed quantity
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CartQuantityException extends RuntimeException {
+
+    public CartQuantityException(String message) {
+        super(message);
+    }
+}
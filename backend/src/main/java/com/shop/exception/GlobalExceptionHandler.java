@@ -1,5 +1,6 @@
 package com.shop.exception;
 
+import feign.FeignException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
@@ -115,6 +116,45 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handle cart changes and checkouts that conflict with stock or the cart state
+     */
+    @ExceptionHandler(CartConflictException.class)
+    public ResponseEntity<ApiError> handleCartConflictException(
+            CartConflictException ex, WebRequest request) {
+
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT.value(),
+                "Cart conflict",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now()
+        );
+
+        logger.error("Cart conflict: {}", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle cart changes that would take a line over its quantity limit, reported like a
+     * quantity that fails validation
+     */
+    @ExceptionHandler(CartQuantityException.class)
+    public ResponseEntity<ApiError> handleCartQuantityException(
+            CartQuantityException ex, WebRequest request) {
+
+        ApiError apiError = new ApiError(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation error",
+                Map.of("quantity", ex.getMessage()),
+                request.getDescription(false),
+                LocalDateTime.now()
+        );
+
+        logger.error("Cart quantity rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handle access denied exceptions
      */
@@ -134,6 +174,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Pass conflicts reported by downstream services through to the client instead of
+     * turning them into a 500, e.g. a retried order whose Idempotency-Key is still in
+     * flight (409) or was used for a different request (422), or an unknown name in
+     * {@code fields=} (400).
+     */
+    @ExceptionHandler({FeignException.BadRequest.class, FeignException.Conflict.class,
+            FeignException.UnprocessableEntity.class})
+    public ResponseEntity<ApiError> handleDownstreamConflict(
+            FeignException ex, WebRequest request) {
+
+        HttpStatus status = HttpStatus.valueOf(ex.status());
+        String body = ex.contentUTF8();
+        ApiError apiError = new ApiError(
+                status.value(),
+                status.getReasonPhrase(),
+                body == null || body.isBlank() ? status.getReasonPhrase() : body,
+                request.getDescription(false),
+                LocalDateTime.now()
+        );
+
+        logger.error("Downstream conflict: {}", ex.getMessage());
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    /**
+     * Pass through an order refused because it would not cost its expected total (412); the
+     * Feign version in use has no dedicated exception for that status.
+     */
+    @ExceptionHandler(FeignException.FeignClientException.class)
+    public ResponseEntity<ApiError> handleDownstreamClientError(
+            FeignException.FeignClientException ex, WebRequest request) {
+        if (ex.status() == HttpStatus.PRECONDITION_FAILED.value()) {
+            return handleDownstreamConflict(ex, request);
+        }
+        return handleAllExceptions(ex, request);
+    }
+
     /**
      * Handle all other exceptions
      */
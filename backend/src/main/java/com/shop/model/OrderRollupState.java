@@ -0,0 +1,39 @@
+package com.shop.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Last order status applied to the sales rollups.
+ */
+@Entity
+@Table(name = "order_rollup_states")
+public class OrderRollupState {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "status", nullable = false, length = 32)
+    private String status;
+
+    // Constructors
+    public OrderRollupState() {
+    }
+
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
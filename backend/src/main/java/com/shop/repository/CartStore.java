@@ -0,0 +1,28 @@
+package com.shop.repository;
+
+import com.shop.dto.cart.CartDTO;
+
+import java.util.Optional;
+
+/**
+ * Storage of carts by user. Selected with {@code cart.store}: {@code memory} (the default)
+ * keeps carts in this instance, {@code redis} in any Redis-compatible server so every instance
+ * of the backend sees the same carts and they survive restarts.
+ * <p>
+ * Carts are replaced as a whole and only if nobody replaced them since they were read, so
+ * concurrent changes of one cart never overwrite each other. A user without a cart has
+ * version 0. Emptied carts are stored rather than deleted, so a version is never used twice
+ * for the same user.
+ */
+public interface CartStore {
+
+    Optional<CartDTO> find(Long userId);
+
+    /**
+     * Store {@code cart} as the user's cart if the stored one is still at {@code expectedVersion},
+     * and set its version to the next one.
+     *
+     * @return false, storing nothing, if the cart was replaced since it was read
+     */
+    boolean replace(Long userId, long expectedVersion, CartDTO cart);
+}
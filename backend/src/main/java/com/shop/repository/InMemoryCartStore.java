@@ -0,0 +1,39 @@
+package com.shop.repository;
+
+import com.shop.dto.cart.CartDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carts held in this instance, for local development and single-instance deployments.
+ * Carts are replaced as a whole on every change and never modified once stored.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCartStore implements CartStore {
+
+    private final Map<Long, CartDTO> carts = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<CartDTO> find(Long userId) {
+        return Optional.ofNullable(carts.get(userId));
+    }
+
+    @Override
+    public boolean replace(Long userId, long expectedVersion, CartDTO cart) {
+        // compute runs the check and the swap atomically for the user's entry
+        CartDTO stored = carts.compute(userId, (id, current) -> {
+            long version = current != null ? current.getVersion() : 0;
+            if (version != expectedVersion) {
+                return current;
+            }
+            cart.setVersion(expectedVersion + 1);
+            return cart;
+        });
+        return stored == cart;
+    }
+}
@@ -0,0 +1,9 @@
+package com.shop.repository;
+
+import com.shop.model.OrderRollupState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderRollupStateRepository extends JpaRepository<OrderRollupState, Long> {
+}
@@ -0,0 +1,103 @@
+package com.shop.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.dto.cart.CartDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Carts in a Redis-compatible server as one JSON value per user, expiring after
+ * {@code cart.ttl} without changes.
+ * <p>
+ * A replacement WATCHes the key, checks the stored version and writes in MULTI/EXEC, so the
+ * write is dropped if another instance replaced the cart in between.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCartStore.class);
+    private static final String KEY_PREFIX = "cart:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisCartStore(StringRedisTemplate redisTemplate,
+                          ObjectMapper objectMapper,
+                          @Value("${cart.ttl:P30D}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<CartDTO> find(Long userId) {
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        if (json == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json, CartDTO.class));
+        } catch (JsonProcessingException ex) {
+            // A cart written by an incompatible version is dropped rather than failing every request
+            logger.warn("Discarding unreadable cart of user {}: {}", userId, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean replace(Long userId, long expectedVersion, CartDTO cart) {
+        String key = KEY_PREFIX + userId;
+        cart.setVersion(expectedVersion + 1);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(cart);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize cart of user " + userId, ex);
+        }
+
+        List<Object> result = redisTemplate.execute(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.watch(key);
+                if (storedVersion(redis.opsForValue().get(key)) != expectedVersion) {
+                    redis.unwatch();
+                    return null;
+                }
+                redis.multi();
+                redis.opsForValue().set(key, json, ttl);
+                // Empty when the key changed after WATCH and the transaction was discarded
+                return redis.exec();
+            }
+        });
+        return result != null && !result.isEmpty();
+    }
+
+    /**
+     * Version of a stored cart; 0 for none, and for one that find() would discard as unreadable
+     */
+    private long storedVersion(String json) {
+        if (json == null) {
+            return 0;
+        }
+        try {
+            return objectMapper.readValue(json, CartDTO.class).getVersion();
+        } catch (JsonProcessingException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.shop.service;
+
+import com.shop.dto.cart.CartDTO;
+import com.shop.dto.cart.CartItemDTO;
+import com.shop.dto.order.OrderCreateDTO;
+import com.shop.dto.order.OrderDTO;
+import com.shop.dto.product.CartQuoteDTO;
+import com.shop.dto.product.CartQuoteRequestDTO;
+import com.shop.exception.CartConflictException;
+import com.shop.exception.CartQuantityException;
+import com.shop.exception.ResourceNotFoundException;
+import com.shop.model.enums.Currency;
+import com.shop.repository.CartStore;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Server-side carts. Every change prices the whole cart in product-service with one call and
+ * stores the result, so the cart always carries current prices, promotions and stock, and
+ * reading it costs no remote call. Checkout then places the stored cart as an order.
+ * <p>
+ * A display currency passed with any call is kept with the cart and used until another one is
+ * passed; the cart is priced again only when it changes.
+ * <p>
+ * A change reads the cart, prices the result and stores it only if the cart was not replaced
+ * in the meantime, for example by the same user in another tab or on another instance. If it
+ * was, the change is made again on the newer cart.
+ */
+@Service
+public class CartService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartService.class);
+
+    // Each attempt prices the cart again, so a change that keeps losing is refused instead
+    private static final int CHANGE_ATTEMPTS = 3;
+
+    private final CartStore cartStore;
+    private final ProductServiceClient productServiceClient;
+    private final OrderServiceClient orderServiceClient;
+    private final Duration repriceAfter;
+
+    public CartService(CartStore cartStore,
+                       ProductServiceClient productServiceClient,
+                       OrderServiceClient orderServiceClient,
+                       @Value("${cart.reprice-after:PT15M}") Duration repriceAfter) {
+        this.cartStore = cartStore;
+        this.productServiceClient = productServiceClient;
+        this.orderServiceClient = orderServiceClient;
+        this.repriceAfter = repriceAfter;
+    }
+
+    public CartDTO getCart(Long userId) {
+        return cartStore.find(userId).orElseGet(CartDTO::empty);
+    }
+
+    public CartDTO getCart(Long userId, Currency currency) {
+        CartDTO cart = getCart(userId);
+        if (currency == null || currency == cart.getDisplayCurrency() || cart.getLines().isEmpty()) {
+            return cart;
+        }
+        return change(userId, current -> current.getLines().isEmpty()
+                ? current
+                : reprice(items(current), null, currency));
+    }
+
+    /**
+     * Add a product, or more of it if it is already in the cart
+     */
+    public CartDTO addItem(Long userId, Long productId, int quantity, Currency currency) {
+        return change(userId, cart -> {
+            List<CartQuoteRequestDTO.Item> items = items(cart);
+            CartQuoteRequestDTO.Item existing = find(items, productId);
+            if (existing != null) {
+                int merged = existing.getQuantity() + quantity;
+                if (merged > CartItemDTO.MAX_QUANTITY) {
+                    throw new CartQuantityException(String.format(
+                            "Cart already holds %d of product %d; at most %d fit in one line",
+                            existing.getQuantity(), productId, CartItemDTO.MAX_QUANTITY));
+                }
+                existing.setQuantity(merged);
+            } else {
+                items.add(new CartQuoteRequestDTO.Item(productId, quantity));
+            }
+            return reprice(items, productId, displayCurrency(cart, currency));
+        });
+    }
+
+    public CartDTO updateItem(Long userId, Long productId, int quantity, Currency currency) {
+        return change(userId, cart -> {
+            List<CartQuoteRequestDTO.Item> items = items(cart);
+            CartQuoteRequestDTO.Item existing = find(items, productId);
+            if (existing == null) {
+                throw new ResourceNotFoundException("Cart item", "productId", productId);
+            }
+            existing.setQuantity(quantity);
+            return reprice(items, productId, displayCurrency(cart, currency));
+        });
+    }
+
+    public CartDTO removeItem(Long userId, Long productId, Currency currency) {
+        return change(userId, cart -> {
+            List<CartQuoteRequestDTO.Item> items = items(cart);
+            if (!items.removeIf(item -> item.getProductId().equals(productId))) {
+                throw new ResourceNotFoundException("Cart item", "productId", productId);
+            }
+            if (items.isEmpty()) {
+                return CartDTO.empty();
+            }
+            return reprice(items, null, displayCurrency(cart, currency));
+        });
+    }
+
+    public void clear(Long userId) {
+        change(userId, cart -> cart.getVersion() == 0 ? cart : CartDTO.empty());
+    }
+
+    /**
+     * Place the cart as an order and empty it. The cart was validated when it last changed; it
+     * is only priced again if that was longer ago than {@code cart.reprice-after}, and if its
+     * total moved in the meantime the checkout is refused so the user can review the new prices.
+     * Order-service also refuses an order whose total is not the cart total, so a price that
+     * changed since the cart was priced is never charged unseen.
+     * The order is placed in the currency the cart was priced in. Stock is reserved by
+     * order-service. A retry with the Idempotency-Key of a checkout that already went through
+     * returns that order.
+     */
+    public OrderDTO checkout(Long userId, String userEmail, String idempotencyKey) {
+        CartDTO cart = getCart(userId);
+        long version = cart.getVersion();
+        if (idempotencyKey != null && idempotencyKey.equals(cart.getLastCheckoutKey()) && cart.getLastOrderId() != null) {
+            return orderServiceClient.getOrderById(cart.getLastOrderId());
+        }
+        if (cart.getLines().isEmpty()) {
+            throw new CartConflictException("Cart is empty");
+        }
+
+        if (cart.getPricedAt() == null || cart.getPricedAt().isBefore(LocalDateTime.now().minus(repriceAfter))) {
+            CartDTO repriced = reprice(items(cart), null, cart.getDisplayCurrency());
+            if (!sameAmount(repriced.getTotal(), cart.getTotal()) || repriced.getLines().size() != cart.getLines().size()) {
+                throw pricesChanged(userId, version, repriced);
+            }
+            cart = repriced;
+        }
+        if (!cart.isCheckoutReady()) {
+            throw new CartConflictException("Not enough stock for products " + cart.getUnavailableProductIds());
+        }
+
+        OrderCreateDTO order = new OrderCreateDTO();
+        order.setCurrency(cart.getCurrency() != null ? cart.getCurrency().name() : null);
+        for (CartQuoteDTO.Line line : cart.getLines()) {
+            order.getItems().add(new OrderCreateDTO.OrderItemCreateDTO(line.getProductId(), line.getQuantity()));
+        }
+        order.setExpectedTotal(cart.getTotal());
+        OrderDTO created;
+        try {
+            created = orderServiceClient.createOrder(order, userId, userEmail, idempotencyKey);
+        } catch (FeignException.FeignClientException ex) {
+            if (ex.status() != HttpStatus.PRECONDITION_FAILED.value()) {
+                throw ex;
+            }
+            // A price changed after the cart was last priced; order-service refused before taking stock
+            throw pricesChanged(userId, version, reprice(items(cart), null, cart.getDisplayCurrency()));
+        }
+
+        CartDTO done = CartDTO.empty();
+        done.setLastOrderId(created.getId());
+        done.setLastCheckoutKey(idempotencyKey);
+        if (cartStore.replace(userId, version, done)) {
+            logger.info("Cart of user ID {} checked out as order {}", userId, created.getId());
+        } else {
+            logger.warn("Cart of user ID {} changed while it was checked out as order {}; the newer cart is kept",
+                    userId, created.getId());
+        }
+        return created;
+    }
+
+    /**
+     * Store the repriced cart for the user to review and refuse the checkout. If the cart changed
+     * meanwhile, that newer cart is shown instead.
+     */
+    private CartConflictException pricesChanged(Long userId, long version, CartDTO repriced) {
+        cartStore.replace(userId, version, repriced);
+        return new CartConflictException("Prices changed since the cart was last updated, please review the cart");
+    }
+
+    /**
+     * Apply a change to the current cart and store the result, again on the newer cart if the
+     * cart was replaced in the meantime.
+     */
+    private CartDTO change(Long userId, UnaryOperator<CartDTO> change) {
+        for (int attempt = 1; ; attempt++) {
+            CartDTO current = getCart(userId);
+            CartDTO changed = change.apply(current);
+            if (changed == current || cartStore.replace(userId, current.getVersion(), changed)) {
+                return changed;
+            }
+            if (attempt == CHANGE_ATTEMPTS) {
+                throw new CartConflictException("Cart was changed by another request, please try again");
+            }
+            logger.debug("Cart of user ID {} changed concurrently, applying the change again", userId);
+        }
+    }
+
+    /**
+     * Price the cart. A change that takes a product beyond its stock is refused; other lines
+     * that went out of stock since are kept and marked unavailable.
+     *
+     * @param changedProductId product the change was about, or null
+     * @param currency         display currency, or null for the products' own currency
+     */
+    private CartDTO reprice(List<CartQuoteRequestDTO.Item> items, Long changedProductId, Currency currency) {
+        CartQuoteDTO quote;
+        try {
+            quote = productServiceClient.quoteCart(new CartQuoteRequestDTO(items, currency));
+        } catch (FeignException.NotFound ex) {
+            items = withoutMissingProducts(items);
+            if (changedProductId != null && find(items, changedProductId) == null) {
+                throw new ResourceNotFoundException("Product", "id", changedProductId);
+            }
+            if (items.isEmpty()) {
+                return CartDTO.empty();
+            }
+            quote = productServiceClient.quoteCart(new CartQuoteRequestDTO(items, currency));
+        }
+
+        CartDTO cart = toCart(quote);
+        cart.setDisplayCurrency(currency);
+        if (changedProductId != null && cart.getUnavailableProductIds().contains(changedProductId)) {
+            CartQuoteDTO.Line line = quote.getLines().stream()
+                    .filter(l -> l.getProductId().equals(changedProductId))
+                    .findFirst()
+                    .orElseThrow();
+            throw new CartConflictException("Only " + line.getStockQuantity() + " of " + line.getName() + " in stock");
+        }
+        return cart;
+    }
+
+    /**
+     * Products that were deleted or deactivated since they were added fail the whole quote.
+     * This is rare, so finding them one by one is acceptable; they are dropped from the cart.
+     */
+    private List<CartQuoteRequestDTO.Item> withoutMissingProducts(List<CartQuoteRequestDTO.Item> items) {
+        List<CartQuoteRequestDTO.Item> available = new ArrayList<>(items.size());
+        for (CartQuoteRequestDTO.Item item : items) {
+            try {
+                productServiceClient.quoteCart(new CartQuoteRequestDTO(List.of(item), null));
+                available.add(item);
+            } catch (FeignException.NotFound ex) {
+                logger.info("Dropping unavailable product {} from cart", item.getProductId());
+            }
+        }
+        return available;
+    }
+
+    private static CartDTO toCart(CartQuoteDTO quote) {
+        CartDTO cart = new CartDTO();
+        cart.setLines(quote.getLines());
+        cart.setCurrency(quote.getCurrency());
+        cart.setSubtotal(quote.getSubtotal());
+        cart.setDiscount(quote.getDiscount());
+        cart.setTotal(quote.getTotal());
+        cart.setCartPromotions(quote.getCartPromotions());
+        List<Long> unavailable = new ArrayList<>();
+        for (CartQuoteDTO.Line line : quote.getLines()) {
+            if (line.getStockQuantity() == null || line.getStockQuantity() < line.getQuantity()) {
+                unavailable.add(line.getProductId());
+            }
+        }
+        cart.setUnavailableProductIds(unavailable);
+        cart.setCheckoutReady(!quote.getLines().isEmpty() && unavailable.isEmpty());
+        cart.setPricedAt(LocalDateTime.now());
+        return cart;
+    }
+
+    private static Currency displayCurrency(CartDTO cart, Currency requested) {
+        return requested != null ? requested : cart.getDisplayCurrency();
+    }
+
+    private static List<CartQuoteRequestDTO.Item> items(CartDTO cart) {
+        List<CartQuoteRequestDTO.Item> items = new ArrayList<>(cart.getLines().size() + 1);
+        for (CartQuoteDTO.Line line : cart.getLines()) {
+            items.add(new CartQuoteRequestDTO.Item(line.getProductId(), line.getQuantity()));
+        }
+        return items;
+    }
+
+    private static CartQuoteRequestDTO.Item find(List<CartQuoteRequestDTO.Item> items, Long productId) {
+        for (CartQuoteRequestDTO.Item item : items) {
+            if (item.getProductId().equals(productId)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
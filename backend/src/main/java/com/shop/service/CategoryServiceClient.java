@@ -3,6 +3,7 @@ package com.shop.service;
 import com.shop.client.CategoryClient;
 import com.shop.dto.category.CategoryCreateDTO;
 import com.shop.dto.category.CategoryDTO;
+import com.shop.dto.category.CategoryTreeDTO;
 import com.shop.dto.category.CategoryUpdateDTO;
 import com.shop.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
@@ -33,6 +34,14 @@ public class CategoryServiceClient {
         return categoryClient.getAllCategories().getBody();
     }
 
+    /**
+     * Get the category tree
+     */
+    public List<CategoryTreeDTO> getCategoryTree() {
+        logger.info("Fetching category tree from category service");
+        return categoryClient.getCategoryTree().getBody();
+    }
+
     /**
      * Get category by ID
      */
@@ -12,6 +12,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service for managing orders through the order microservice
  */
@@ -29,17 +31,17 @@ public class OrderServiceClient {
     /**
      * Get all orders with pagination (admin)
      */
-    public Page<OrderDTO> getAllOrders(Pageable pageable) {
+    public Page<OrderDTO> getAllOrders(Pageable pageable, List<String> fields, List<String> include) {
         logger.info("Fetching all orders with pagination through order service");
-        return orderClient.getAllOrders(pageable);
+        return orderClient.getAllOrders(pageable, fields, include);
     }
 
     /**
      * Get orders by user ID with pagination
      */
-    public Page<OrderDTO> getOrdersByUserId(Long userId, Pageable pageable) {
+    public Page<OrderDTO> getOrdersByUserId(Long userId, Pageable pageable, List<String> fields, List<String> include) {
         logger.info("Fetching orders for user ID {} through order service", userId);
-        return orderClient.getOrdersByUserId(userId, pageable);
+        return orderClient.getOrdersByUserId(userId, pageable, fields, include);
     }
 
     /**
@@ -51,11 +53,12 @@ public class OrderServiceClient {
     }
 
     /**
-     * Create a new order
+     * Create a new order. The idempotency key, when present, is passed through so that
+     * order service can answer a retried request with the order it already created.
      */
-    public OrderDTO createOrder(OrderCreateDTO orderCreateDTO, Long userId, String userEmail) {
+    public OrderDTO createOrder(OrderCreateDTO orderCreateDTO, Long userId, String userEmail, String idempotencyKey) {
         logger.info("Creating order for user ID {} through order service", userId);
-        return unwrap(orderClient.createOrder(orderCreateDTO, userId, userEmail), "Order", userId);
+        return unwrap(orderClient.createOrder(orderCreateDTO, userId, userEmail, idempotencyKey), "Order", userId);
     }
 
     /**
@@ -1,10 +1,16 @@
 package com.shop.service;
 
 import com.shop.client.ProductClient;
+import com.shop.dto.product.CartQuoteDTO;
+import com.shop.dto.product.CartQuoteRequestDTO;
+import com.shop.dto.product.ExchangeRateDTO;
+import com.shop.dto.product.ExchangeRateUpdateDTO;
 import com.shop.dto.product.ProductCreateDTO;
 import com.shop.dto.product.ProductDTO;
+import com.shop.dto.product.ProductSummaryDTO;
 import com.shop.dto.product.ProductUpdateDTO;
 import com.shop.exception.ResourceNotFoundException;
+import com.shop.model.enums.Currency;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -29,22 +35,47 @@ public class ProductServiceClient {
         this.productClient = productClient;
     }
 
-    public Page<ProductDTO> getAllProducts(Pageable pageable) {
+    public Page<ProductDTO> getAllProducts(Pageable pageable, Currency currency) {
+        return getAllProducts(pageable, currency, null, null);
+    }
+
+    public Page<ProductDTO> getAllProducts(Pageable pageable, Currency currency, List<String> fields, List<String> include) {
         logger.info("Fetching all products through product service");
-        return productClient.getAllProducts(pageable);
+        return productClient.getAllProducts(pageable, currency, fields, include);
     }
 
     public Page<ProductDTO> getProductsWithFilters(Long categoryId,
                                                    BigDecimal minPrice,
                                                    BigDecimal maxPrice,
                                                    String name,
-                                                   Pageable pageable) {
+                                                   boolean includeDescendants,
+                                                   Pageable pageable,
+                                                   Currency currency,
+                                                   List<String> fields,
+                                                   List<String> include) {
         logger.info("Fetching products with filters through product service");
-        return productClient.getProductsWithFilters(categoryId, minPrice, maxPrice, name, pageable);
+        return productClient.getProductsWithFilters(categoryId, minPrice, maxPrice, name, includeDescendants, pageable,
+                currency, fields, include);
+    }
+
+    public Page<ProductSummaryDTO> getProductSummaries(Long categoryId,
+                                                       BigDecimal minPrice,
+                                                       BigDecimal maxPrice,
+                                                       String name,
+                                                       boolean includeDescendants,
+                                                       Pageable pageable,
+                                                       Currency currency) {
+        logger.info("Fetching product summaries through product service");
+        return productClient.getProductSummaries(categoryId, minPrice, maxPrice, name, includeDescendants, pageable,
+                currency, "summary");
     }
 
-    public ProductDTO getProductById(Long id) {
-        return productClient.getProductById(id);
+    public ProductDTO getProductById(Long id, Currency currency) {
+        return getProductById(id, currency, null, null);
+    }
+
+    public ProductDTO getProductById(Long id, Currency currency, List<String> fields, List<String> include) {
+        return productClient.getProductById(id, currency, fields, include);
     }
 
     public List<ProductDTO> getProductsByCategoryId(Long categoryId) {
@@ -55,6 +86,22 @@ public class ProductServiceClient {
         return response.getBody();
     }
 
+    public CartQuoteDTO quoteCart(CartQuoteRequestDTO request) {
+        return unwrap(productClient.quoteCart(request), "Cart quote", 0L);
+    }
+
+    public List<ExchangeRateDTO> getExchangeRates() {
+        return unwrap(productClient.getExchangeRates(), "Exchange rates", 0L);
+    }
+
+    public ExchangeRateDTO updateExchangeRate(Currency currency, ExchangeRateUpdateDTO exchangeRateUpdateDTO) {
+        ResponseEntity<ExchangeRateDTO> response = productClient.updateExchangeRate(currency, exchangeRateUpdateDTO);
+        if (response == null || response.getBody() == null) {
+            throw new ResourceNotFoundException("Exchange rate", "currency", currency);
+        }
+        return response.getBody();
+    }
+
     public ProductDTO createProduct(ProductCreateDTO productCreateDTO) {
         return unwrap(productClient.createProduct(productCreateDTO), "Product", 0L);
     }
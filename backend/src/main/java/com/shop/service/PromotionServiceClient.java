@@ -26,6 +26,19 @@ public class PromotionServiceClient {
         return response.getBody();
     }
 
+    public List<PromotionDTO> getPromotionsByCategoryId(Long categoryId) {
+        var response = promotionClient.getPromotionsByCategoryId(categoryId);
+        if (response == null || response.getBody() == null) {
+            throw new ResourceNotFoundException("Promotion", "categoryId", categoryId);
+        }
+        return response.getBody();
+    }
+
+    public List<PromotionDTO> getCartPromotions() {
+        var response = promotionClient.getCartPromotions();
+        return response == null || response.getBody() == null ? List.of() : response.getBody();
+    }
+
     public PromotionDTO createPromotion(PromotionCreateDTO dto) {
         return unwrap(promotionClient.createPromotion(dto), "Promotion", dto.getProductId());
     }
@@ -0,0 +1,297 @@
+package com.shop.service;
+
+import com.shop.dto.admin.SalesDashboardDTO;
+import com.shop.events.avro.OrderEvent;
+import com.shop.events.avro.OrderEventItem;
+import com.shop.events.avro.OrderStatus;
+import com.shop.model.OrderRollupState;
+import com.shop.repository.OrderRollupStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Maintains hourly and daily sales rollups from order events and serves the admin
+ * dashboard from them, so dashboard reads scale with the number of buckets in the
+ * requested range rather than with the number of orders.
+ * <p>
+ * Orders are bucketed by creation time (UTC) and counted under their current status.
+ * The last applied status is remembered per order: a status change moves the order
+ * from one status row to another, and a redelivered event is a no-op. Revenue is kept
+ * per order currency and reported per currency, as amounts in different currencies
+ * cannot be added up.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    private static final String UPSERT_HOURLY_SQL =
+            "INSERT INTO sales_rollup_hourly (bucket_start, status, currency, order_count, revenue) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), revenue = revenue + VALUES(revenue)";
+
+    private static final String UPSERT_DAILY_SQL =
+            "INSERT INTO sales_rollup_daily (bucket_date, status, currency, order_count, revenue) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), revenue = revenue + VALUES(revenue)";
+
+    private static final String UPSERT_PRODUCT_DAILY_SQL =
+            "INSERT INTO product_sales_rollup_daily (bucket_date, product_id, currency, product_name, quantity, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue), " +
+            "product_name = IF(VALUES(product_name) = '', product_name, VALUES(product_name))";
+
+    private static final String UPSERT_STATE_SQL =
+            "INSERT INTO order_rollup_states (order_id, status) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status)";
+
+    private static final String HOURLY_SERIES_SQL =
+            "SELECT bucket_start, currency, SUM(order_count), SUM(revenue) FROM sales_rollup_hourly " +
+            "WHERE bucket_start >= ? AND bucket_start < ? AND status <> 'CANCELED' " +
+            "GROUP BY bucket_start, currency ORDER BY bucket_start";
+
+    private static final String DAILY_SERIES_SQL =
+            "SELECT bucket_date, currency, SUM(order_count), SUM(revenue) FROM sales_rollup_daily " +
+            "WHERE bucket_date >= ? AND bucket_date < ? AND status <> 'CANCELED' " +
+            "GROUP BY bucket_date, currency ORDER BY bucket_date";
+
+    private static final String HOURLY_BY_STATUS_SQL =
+            "SELECT status, currency, SUM(order_count), SUM(revenue) FROM sales_rollup_hourly " +
+            "WHERE bucket_start >= ? AND bucket_start < ? GROUP BY status, currency ORDER BY status";
+
+    private static final String DAILY_BY_STATUS_SQL =
+            "SELECT status, currency, SUM(order_count), SUM(revenue) FROM sales_rollup_daily " +
+            "WHERE bucket_date >= ? AND bucket_date < ? GROUP BY status, currency ORDER BY status";
+
+    // Best sellers by quantity over all currencies, then their revenue per currency
+    private static final String TOP_PRODUCTS_SQL =
+            "SELECT r.product_id, MAX(r.product_name), r.currency, SUM(r.revenue), top.sold " +
+            "FROM product_sales_rollup_daily r JOIN (" +
+            "SELECT product_id, SUM(quantity) AS sold FROM product_sales_rollup_daily " +
+            "WHERE bucket_date >= ? AND bucket_date < ? GROUP BY product_id HAVING sold > 0 " +
+            "ORDER BY sold DESC, product_id LIMIT ?) top ON top.product_id = r.product_id " +
+            "WHERE r.bucket_date >= ? AND r.bucket_date < ? " +
+            "GROUP BY r.product_id, r.currency, top.sold ORDER BY top.sold DESC, r.product_id";
+
+    private record StatusKey(Object bucket, String status, String currency) {
+    }
+
+    private record ProductKey(LocalDate day, Long productId, String currency) {
+    }
+
+    private static final class Delta {
+        private long count;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private String name = "";
+
+        private void add(long count, BigDecimal revenue) {
+            this.count += count;
+            this.revenue = this.revenue.add(revenue);
+        }
+    }
+
+    private final OrderRollupStateRepository orderRollupStateRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupService(OrderRollupStateRepository orderRollupStateRepository,
+                              JdbcTemplate jdbcTemplate) {
+        this.orderRollupStateRepository = orderRollupStateRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void applyOrderEvents(List<OrderEvent> events) {
+        // Events are keyed by order ID, so within a batch the last one is the latest state
+        Map<Long, OrderEvent> latest = new LinkedHashMap<>();
+        for (OrderEvent event : events) {
+            if (event != null) {
+                latest.put(event.getOrderId(), event);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> previous = new HashMap<>();
+        for (OrderRollupState state : orderRollupStateRepository.findAllById(latest.keySet())) {
+            previous.put(state.getOrderId(), state.getStatus());
+        }
+
+        Map<StatusKey, Delta> hourly = new LinkedHashMap<>();
+        Map<StatusKey, Delta> daily = new LinkedHashMap<>();
+        Map<ProductKey, Delta> products = new LinkedHashMap<>();
+        List<Object[]> states = new ArrayList<>();
+        for (OrderEvent event : latest.values()) {
+            String oldStatus = previous.get(event.getOrderId());
+            String newStatus = event.getStatus().name();
+            if (newStatus.equals(oldStatus)) {
+                continue;
+            }
+            LocalDateTime createdAt = createdAtUtc(event);
+            if (createdAt == null) {
+                continue;
+            }
+            LocalDateTime hour = createdAt.truncatedTo(ChronoUnit.HOURS);
+            LocalDate day = createdAt.toLocalDate();
+            String currency = event.getCurrency().toString();
+            BigDecimal total = totalAmount(event);
+
+            if (oldStatus != null) {
+                hourly.computeIfAbsent(new StatusKey(hour, oldStatus, currency), key -> new Delta()).add(-1, total.negate());
+                daily.computeIfAbsent(new StatusKey(day, oldStatus, currency), key -> new Delta()).add(-1, total.negate());
+            }
+            hourly.computeIfAbsent(new StatusKey(hour, newStatus, currency), key -> new Delta()).add(1, total);
+            daily.computeIfAbsent(new StatusKey(day, newStatus, currency), key -> new Delta()).add(1, total);
+
+            boolean wasCounted = oldStatus != null && !OrderStatus.CANCELED.name().equals(oldStatus);
+            boolean shouldCount = event.getStatus() != OrderStatus.CANCELED;
+            if (wasCounted != shouldCount) {
+                int sign = shouldCount ? 1 : -1;
+                for (OrderEventItem item : event.getItems()) {
+                    Delta delta = products.computeIfAbsent(new ProductKey(day, item.getProductId(), currency),
+                            key -> new Delta());
+                    delta.add((long) sign * item.getQuantity(),
+                            subtotal(item).multiply(BigDecimal.valueOf(sign)));
+                    if (!item.getProductName().isEmpty()) {
+                        delta.name = item.getProductName();
+                    }
+                }
+            }
+            states.add(new Object[]{event.getOrderId(), newStatus});
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> hourlyRows = new ArrayList<>(hourly.size());
+        hourly.forEach((key, delta) -> hourlyRows.add(new Object[]{
+                Timestamp.valueOf((LocalDateTime) key.bucket()), key.status(), key.currency(), delta.count, delta.revenue}));
+        List<Object[]> dailyRows = new ArrayList<>(daily.size());
+        daily.forEach((key, delta) -> dailyRows.add(new Object[]{
+                Date.valueOf((LocalDate) key.bucket()), key.status(), key.currency(), delta.count, delta.revenue}));
+        List<Object[]> productRows = new ArrayList<>(products.size());
+        products.forEach((key, delta) -> productRows.add(new Object[]{
+                Date.valueOf(key.day()), key.productId(), key.currency(), delta.name, delta.count, delta.revenue}));
+
+        jdbcTemplate.batchUpdate(UPSERT_STATE_SQL, states);
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, hourlyRows);
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, dailyRows);
+        if (!productRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_PRODUCT_DAILY_SQL, productRows);
+        }
+        logger.info("Applied {} orders to {} hourly, {} daily and {} product sales rollups",
+                states.size(), hourlyRows.size(), dailyRows.size(), productRows.size());
+    }
+
+    /**
+     * Dashboard for the range {@code [from, to)}. Best sellers are kept per day only,
+     * so for an hourly range they cover the whole days the range touches.
+     */
+    @Transactional(readOnly = true)
+    public SalesDashboardDTO getDashboard(Granularity granularity, LocalDateTime from, LocalDateTime to, int top) {
+        SalesDashboardDTO dashboard = new SalesDashboardDTO();
+        dashboard.setGranularity(granularity.name().toLowerCase());
+        dashboard.setFrom(from);
+        dashboard.setTo(to);
+
+        LocalDate fromDay = from.toLocalDate();
+        LocalDate toDay = to.toLocalTime().equals(LocalTime.MIDNIGHT) ? to.toLocalDate() : to.toLocalDate().plusDays(1);
+        Object[] range = granularity == Granularity.HOUR
+                ? new Object[]{Timestamp.valueOf(from), Timestamp.valueOf(to)}
+                : new Object[]{Date.valueOf(fromDay), Date.valueOf(toDay)};
+
+        // Rows come per currency; the rows of one bucket, status or product are merged into one entry
+        Map<LocalDateTime, SalesDashboardDTO.BucketDTO> series = new LinkedHashMap<>();
+        jdbcTemplate.query(granularity == Granularity.HOUR ? HOURLY_SERIES_SQL : DAILY_SERIES_SQL, rs -> {
+            LocalDateTime bucketStart = granularity == Granularity.HOUR
+                    ? rs.getTimestamp(1).toLocalDateTime()
+                    : rs.getDate(1).toLocalDate().atStartOfDay();
+            SalesDashboardDTO.BucketDTO bucket = series.computeIfAbsent(bucketStart,
+                    start -> new SalesDashboardDTO.BucketDTO(start, 0, new TreeMap<>()));
+            bucket.setOrderCount(bucket.getOrderCount() + rs.getLong(3));
+            bucket.getRevenue().merge(rs.getString(2), rs.getBigDecimal(4), BigDecimal::add);
+        }, range);
+        dashboard.setSeries(new ArrayList<>(series.values()));
+
+        Map<String, SalesDashboardDTO.StatusTotalDTO> byStatus = new LinkedHashMap<>();
+        jdbcTemplate.query(granularity == Granularity.HOUR ? HOURLY_BY_STATUS_SQL : DAILY_BY_STATUS_SQL, rs -> {
+            SalesDashboardDTO.StatusTotalDTO total = byStatus.computeIfAbsent(rs.getString(1),
+                    status -> new SalesDashboardDTO.StatusTotalDTO(status, 0, new TreeMap<>()));
+            total.setOrderCount(total.getOrderCount() + rs.getLong(3));
+            total.getRevenue().merge(rs.getString(2), rs.getBigDecimal(4), BigDecimal::add);
+        }, range);
+        dashboard.setByStatus(new ArrayList<>(byStatus.values()));
+
+        Map<Long, SalesDashboardDTO.TopProductDTO> topProducts = new LinkedHashMap<>();
+        jdbcTemplate.query(TOP_PRODUCTS_SQL, rs -> {
+            SalesDashboardDTO.TopProductDTO product = topProducts.computeIfAbsent(rs.getLong(1),
+                    productId -> new SalesDashboardDTO.TopProductDTO(productId, "", 0, new TreeMap<>()));
+            if (rs.getString(2).compareTo(product.getProductName()) > 0) {
+                product.setProductName(rs.getString(2));
+            }
+            product.setQuantity(rs.getLong(5));
+            product.getRevenue().merge(rs.getString(3), rs.getBigDecimal(4), BigDecimal::add);
+        }, Date.valueOf(fromDay), Date.valueOf(toDay), top, Date.valueOf(fromDay), Date.valueOf(toDay));
+        dashboard.setTopProducts(new ArrayList<>(topProducts.values()));
+
+        long orderCount = 0;
+        Map<String, BigDecimal> revenue = new TreeMap<>();
+        for (SalesDashboardDTO.BucketDTO bucket : dashboard.getSeries()) {
+            orderCount += bucket.getOrderCount();
+            bucket.getRevenue().forEach((currency, amount) -> revenue.merge(currency, amount, BigDecimal::add));
+        }
+        dashboard.setOrderCount(orderCount);
+        dashboard.setRevenue(revenue);
+        return dashboard;
+    }
+
+    // Null when createdAt cannot be read; such events are left out of the rollups rather than
+    // booked into a made-up bucket
+    private static LocalDateTime createdAtUtc(OrderEvent event) {
+        try {
+            return OffsetDateTime.parse(Objects.toString(event.getCreatedAt()))
+                    .withOffsetSameInstant(ZoneOffset.UTC)
+                    .toLocalDateTime();
+        } catch (DateTimeParseException ex) {
+            logger.error("Skipping {} event of order {}: unreadable createdAt '{}'",
+                    event.getStatus(), event.getOrderId(), event.getCreatedAt());
+            return null;
+        }
+    }
+
+    // Events written before the decimal fields only carry the double amounts
+    private static BigDecimal totalAmount(OrderEvent event) {
+        return event.getTotalAmountDecimal() != null
+                ? event.getTotalAmountDecimal()
+                : BigDecimal.valueOf(event.getTotalAmount());
+    }
+
+    private static BigDecimal subtotal(OrderEventItem item) {
+        return item.getSubtotalDecimal() != null
+                ? item.getSubtotalDecimal()
+                : BigDecimal.valueOf(item.getSubtotal());
+    }
+}
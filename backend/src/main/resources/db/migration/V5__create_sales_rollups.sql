@@ -0,0 +1,36 @@
+-- Sales rollups maintained incrementally from order-events-avro.
+-- Orders are bucketed by creation time (UTC) and counted under their current status.
+
+CREATE TABLE sales_rollup_hourly (
+    bucket_start DATETIME NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(16, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, status)
+);
+
+CREATE TABLE sales_rollup_daily (
+    bucket_date DATE NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(16, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_date, status)
+);
+
+-- Sold quantity and revenue per product and day, for orders that are not canceled
+CREATE TABLE product_sales_rollup_daily (
+    bucket_date DATE NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL DEFAULT '',
+    quantity BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(16, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_date, product_id)
+);
+
+-- Last status applied per order, so a status change moves the order between buckets
+-- and redelivered events are ignored
+CREATE TABLE order_rollup_states (
+    order_id BIGINT PRIMARY KEY,
+    status VARCHAR(32) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,17 @@
+-- Orders are placed in several currencies, so revenue is summed per currency and never across
+-- them. Rows written before order events had a currency are in the base currency, USD.
+
+ALTER TABLE sales_rollup_hourly
+    ADD COLUMN currency VARCHAR(10) NOT NULL DEFAULT 'USD' AFTER status,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (bucket_start, status, currency);
+
+ALTER TABLE sales_rollup_daily
+    ADD COLUMN currency VARCHAR(10) NOT NULL DEFAULT 'USD' AFTER status,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (bucket_date, status, currency);
+
+ALTER TABLE product_sales_rollup_daily
+    ADD COLUMN currency VARCHAR(10) NOT NULL DEFAULT 'USD' AFTER product_id,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (bucket_date, product_id, currency);
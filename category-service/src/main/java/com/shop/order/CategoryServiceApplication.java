@@ -2,11 +2,13 @@ package com.shop.order;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Category Service
  */
 @SpringBootApplication
+@EnableScheduling
 public class CategoryServiceApplication {
 
     public static void main(String[] args) {
@@ -2,14 +2,17 @@ package com.shop.order.controller;
 
 import com.shop.order.dto.CategoryCreateDTO;
 import com.shop.order.dto.CategoryDTO;
+import com.shop.order.dto.CategoryTreeDTO;
 import com.shop.order.dto.CategoryUpdateDTO;
 import com.shop.order.service.CategoryService;
+import com.shop.order.service.CategoryTreeCache;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -37,6 +40,39 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    /**
+     * Get the whole category tree. Served from an in-memory snapshot with an ETag,
+     * so unchanged trees are answered with 304 Not Modified.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree(WebRequest request) {
+        CategoryTreeCache.Snapshot tree = categoryService.getCategoryTree();
+        if (request.checkNotModified(tree.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(tree.etag()).body(tree.roots());
+    }
+
+    /**
+     * Get the subtree rooted at a category
+     */
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<CategoryTreeDTO> getSubtree(@PathVariable Long id, WebRequest request) {
+        String etag = categoryService.getCategoryTree().etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(categoryService.getSubtree(id));
+    }
+
+    /**
+     * Get IDs of a category and all of its descendants
+     */
+    @GetMapping("/{id}/subtree-ids")
+    public ResponseEntity<List<Long>> getSubtreeIds(@PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getSubtreeIds(id));
+    }
+
     /**
      * Get category by ID
      */
@@ -15,6 +15,11 @@ public class CategoryCreateDTO {
     @Size(max = 500, message = "Description cannot exceed 500 characters")
     private String description;
     
+    /**
+     * Optional parent category; {@code null} creates a top-level category.
+     */
+    private Long parentId;
+    
     public CategoryCreateDTO() {
     }
     
@@ -38,4 +43,12 @@ public class CategoryCreateDTO {
     public void setDescription(String description) {
         this.description = description;
     }
+    
+    public Long getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
\ No newline at end of file
@@ -7,6 +7,10 @@ public class CategoryDTO {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
+    private String path;
+    private Integer depth;
+    private Integer productCount;
 
     public CategoryDTO() {
     }
@@ -17,6 +21,15 @@ public class CategoryDTO {
         this.description = description;
     }
 
+    public CategoryDTO(Long id, String name, String description, Long parentId, String path, Integer depth,
+                       Integer productCount) {
+        this(id, name, description);
+        this.parentId = parentId;
+        this.path = path;
+        this.depth = depth;
+        this.productCount = productCount;
+    }
+
     public Long getId() {
         return id;
     }
@@ -40,4 +53,36 @@ public class CategoryDTO {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public Integer getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Integer productCount) {
+        this.productCount = productCount;
+    }
 }
\ No newline at end of file
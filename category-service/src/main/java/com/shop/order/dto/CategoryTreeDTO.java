@@ -0,0 +1,61 @@
+package com.shop.order.dto;
+
+import java.util.List;
+
+/**
+ * Immutable node of the category tree returned by the tree endpoints
+ */
+public class CategoryTreeDTO {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Long parentId;
+    private final String path;
+    private final Integer depth;
+    private final Integer productCount;
+    private final List<CategoryTreeDTO> children;
+
+    public CategoryTreeDTO(Long id, String name, String description, Long parentId, String path, Integer depth,
+                           Integer productCount, List<CategoryTreeDTO> children) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.parentId = parentId;
+        this.path = path;
+        this.depth = depth;
+        this.productCount = productCount;
+        this.children = List.copyOf(children);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public Integer getProductCount() {
+        return productCount;
+    }
+
+    public List<CategoryTreeDTO> getChildren() {
+        return children;
+    }
+}
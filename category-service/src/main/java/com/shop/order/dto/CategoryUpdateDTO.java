@@ -13,6 +13,11 @@ public class CategoryUpdateDTO {
     @Size(max = 500, message = "Description cannot exceed 500 characters")
     private String description;
     
+    /**
+     * Optional new parent category; {@code 0} moves the category to the top level.
+     */
+    private Long parentId;
+    
     public CategoryUpdateDTO() {
     }
     
@@ -36,4 +41,12 @@ public class CategoryUpdateDTO {
     public void setDescription(String description) {
         this.description = description;
     }
+    
+    public Long getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
\ No newline at end of file
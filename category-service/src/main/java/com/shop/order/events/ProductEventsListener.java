@@ -0,0 +1,36 @@
+package com.shop.order.events;
+
+import com.shop.events.avro.ProductEvent;
+import com.shop.order.service.CategoryTreeCache;
+import com.shop.order.service.ProductCountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ProductEventsListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductEventsListener.class);
+
+    private final ProductCountService productCountService;
+    private final CategoryTreeCache categoryTreeCache;
+
+    public ProductEventsListener(ProductCountService productCountService, CategoryTreeCache categoryTreeCache) {
+        this.productCountService = productCountService;
+        this.categoryTreeCache = categoryTreeCache;
+    }
+
+    @KafkaListener(topics = "product-events-avro",
+            groupId = "category-service",
+            containerFactory = "productEventListenerContainerFactory")
+    public void handleProductEvents(List<ProductEvent> events) {
+        log.info("Received {} product kafka events", events.size());
+        if (productCountService.applyEvents(events) > 0) {
+            // Counts are part of the tree snapshot; rebuild once per batch, after the commit
+            categoryTreeCache.refresh();
+        }
+    }
+}
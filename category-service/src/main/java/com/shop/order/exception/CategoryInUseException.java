@@ -0,0 +1,22 @@
+package com.shop.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a category cannot be removed because something still depends on it
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CategoryInUseException extends RuntimeException {
+
+    private final Long categoryId;
+
+    public CategoryInUseException(Long categoryId, String reason) {
+        super(String.format("Category '%s' cannot be deleted: %s", categoryId, reason));
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
@@ -2,6 +2,7 @@ package com.shop.order.mapper;
 
 import com.shop.order.dto.CategoryCreateDTO;
 import com.shop.order.dto.CategoryDTO;
+import com.shop.order.dto.CategoryTreeDTO;
 import com.shop.order.dto.CategoryUpdateDTO;
 import com.shop.order.model.Category;
 import org.springframework.stereotype.Component;
@@ -26,7 +27,11 @@ public class CategoryMapper {
         return new CategoryDTO(
                 category.getId(),
                 category.getName(),
-                category.getDescription()
+                category.getDescription(),
+                category.getParentId(),
+                category.getPath(),
+                category.getDepth(),
+                category.getProductCount()
         );
     }
     
@@ -39,6 +44,22 @@ public class CategoryMapper {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Convert Category entity to an immutable tree node with the given children
+     */
+    public CategoryTreeDTO toTreeDTO(Category category, List<CategoryTreeDTO> children) {
+        return new CategoryTreeDTO(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getParentId(),
+                category.getPath(),
+                category.getDepth(),
+                category.getProductCount(),
+                children
+        );
+    }
+    
     /**
      * Convert CategoryCreateDTO to Category entity
      */
@@ -50,6 +71,7 @@ public class CategoryMapper {
         Category category = new Category();
         category.setName(categoryCreateDTO.getName());
         category.setDescription(categoryCreateDTO.getDescription());
+        category.setParentId(categoryCreateDTO.getParentId());
         
         return category;
     }
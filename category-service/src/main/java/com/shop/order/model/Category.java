@@ -19,6 +19,25 @@ public class Category {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * Materialized path of ancestor IDs including this category, e.g. {@code /1/7/12/}.
+     */
+    @Column(name = "path", nullable = false, length = 512)
+    private String path = "/";
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth = 0;
+
+    /**
+     * Number of active products, maintained by {@code ProductCountService} with atomic
+     * increments. Never written through the entity so a stale copy cannot overwrite it.
+     */
+    @Column(name = "product_count", nullable = false, insertable = false, updatable = false)
+    private Integer productCount = 0;
+
     // Constructors
     public Category() {
     }
@@ -53,6 +72,43 @@ public class Category {
         this.description = description;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Integer productCount) {
+        this.productCount = productCount;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    // Tree helpers
+    public boolean isAncestorOrSelfOf(Category other) {
+        return other != null && other.getPath() != null && path != null && other.getPath().startsWith(path);
+    }
+
     // Object methods
     @Override
     public boolean equals(Object o) {
@@ -73,6 +129,7 @@ public class Category {
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
+                ", path='" + path + '\'' +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.shop.order.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Last known category and active flag of a product, as reported by product-service.
+ * Used to turn product events into idempotent product count deltas.
+ */
+@Entity
+@Table(name = "category_product_memberships")
+public class CategoryProductMembership {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Constructors
+    public CategoryProductMembership() {
+    }
+
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
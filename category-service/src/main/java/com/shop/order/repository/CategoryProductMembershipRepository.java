@@ -0,0 +1,9 @@
+package com.shop.order.repository;
+
+import com.shop.order.model.CategoryProductMembership;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryProductMembershipRepository extends JpaRepository<CategoryProductMembership, Long> {
+}
@@ -2,6 +2,9 @@ package com.shop.order.repository;
 
 import com.shop.order.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +21,21 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     // Check if category exists by name
     boolean existsByName(String name);
+    
+    // All categories ordered so that every parent precedes its descendants
+    List<Category> findAllByOrderByPathAsc();
+    
+    // Category and all of its descendants (materialized path prefix match)
+    List<Category> findByPathStartingWithOrderByPathAsc(String pathPrefix);
+    
+    // Check if category has direct children
+    boolean existsByParentId(Long parentId);
+    
+    // Re-root a whole subtree in one statement when a category is moved
+    @Modifying
+    @Query("UPDATE Category c SET c.path = CONCAT(:newPrefix, SUBSTRING(c.path, LENGTH(:oldPrefix) + 1)), " +
+           "c.depth = c.depth + :depthDelta WHERE c.path LIKE CONCAT(:oldPrefix, '%')")
+    int moveSubtree(@Param("oldPrefix") String oldPrefix,
+                    @Param("newPrefix") String newPrefix,
+                    @Param("depthDelta") int depthDelta);
 }
\ No newline at end of file
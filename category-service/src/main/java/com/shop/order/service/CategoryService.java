@@ -1,18 +1,27 @@
 package com.shop.order.service;
 
+import com.shop.events.avro.CategoryEvent;
+import com.shop.events.avro.CategoryEventType;
 import com.shop.order.dto.CategoryCreateDTO;
 import com.shop.order.dto.CategoryDTO;
+import com.shop.order.dto.CategoryTreeDTO;
 import com.shop.order.dto.CategoryUpdateDTO;
+import com.shop.order.exception.CategoryInUseException;
 import com.shop.order.exception.ResourceNotFoundException;
 import com.shop.order.mapper.CategoryMapper;
 import com.shop.order.model.Category;
 import com.shop.order.repository.CategoryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service for managing categories
@@ -24,20 +33,54 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryTreeCache categoryTreeCache;
+    private final KafkaTemplate<String, CategoryEvent> categoryEventKafkaTemplate;
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryService(CategoryRepository categoryRepository,
+                           CategoryMapper categoryMapper,
+                           CategoryTreeCache categoryTreeCache,
+                           @Qualifier("categoryEventKafkaTemplate") KafkaTemplate<String, CategoryEvent> categoryEventKafkaTemplate) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.categoryTreeCache = categoryTreeCache;
+        this.categoryEventKafkaTemplate = categoryEventKafkaTemplate;
     }
 
     /**
-     * Get all categories
+     * Get all categories (served from the in-memory tree snapshot)
      */
-    @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories() {
         logger.info("Fetching all categories");
-        List<Category> categories = categoryRepository.findAll();
-        return categoryMapper.toDTOList(categories);
+        return categoryTreeCache.get().flat();
+    }
+
+    /**
+     * Get the current category tree snapshot
+     */
+    public CategoryTreeCache.Snapshot getCategoryTree() {
+        return categoryTreeCache.get();
+    }
+
+    /**
+     * Get the subtree rooted at the given category
+     */
+    public CategoryTreeDTO getSubtree(Long id) {
+        CategoryTreeDTO node = categoryTreeCache.get().node(id);
+        if (node == null) {
+            throw new ResourceNotFoundException("Category", "id", id);
+        }
+        return node;
+    }
+
+    /**
+     * Get IDs of the given category and all of its descendants
+     */
+    public List<Long> getSubtreeIds(Long id) {
+        List<Long> ids = categoryTreeCache.get().subtreeIds(id);
+        if (ids.isEmpty()) {
+            throw new ResourceNotFoundException("Category", "id", id);
+        }
+        return ids;
     }
 
     /**
@@ -63,10 +106,21 @@ public class CategoryService {
             throw new IllegalArgumentException("Category with name '" + categoryCreateDTO.getName() + "' already exists");
         }
         
+        Category parent = categoryCreateDTO.getParentId() != null
+                ? findCategoryById(categoryCreateDTO.getParentId())
+                : null;
+        
         Category category = categoryMapper.toEntity(categoryCreateDTO);
+        category.setPath(parent != null ? parent.getPath() : "/");
+        category.setDepth(parent != null ? parent.getDepth() + 1 : 0);
         Category savedCategory = categoryRepository.save(category);
         
+        // The path includes the category's own ID, which is only known after the insert
+        savedCategory.setPath(savedCategory.getPath() + savedCategory.getId() + "/");
+        
         logger.info("Category created with ID: {}", savedCategory.getId());
+        sendCategoryEvent(savedCategory, CategoryEventType.CREATED);
+        refreshTreeAfterCommit();
         return categoryMapper.toDTO(savedCategory);
     }
 
@@ -80,17 +134,35 @@ public class CategoryService {
         Category category = findCategoryById(id);
         
         // Check if new name is already taken by another category
-        if (categoryUpdateDTO.getName() != null && 
-            !categoryUpdateDTO.getName().equals(category.getName()) && 
+        if (categoryUpdateDTO.getName() != null &&
+            !categoryUpdateDTO.getName().equals(category.getName()) &&
             categoryRepository.existsByName(categoryUpdateDTO.getName())) {
             logger.error("Category with name '{}' already exists", categoryUpdateDTO.getName());
             throw new IllegalArgumentException("Category with name '" + categoryUpdateDTO.getName() + "' already exists");
         }
         
         categoryMapper.updateEntity(category, categoryUpdateDTO);
+        
+        boolean moved = false;
+        if (categoryUpdateDTO.getParentId() != null) {
+            Long newParentId = categoryUpdateDTO.getParentId() == 0 ? null : categoryUpdateDTO.getParentId();
+            if (!Objects.equals(newParentId, category.getParentId())) {
+                moveCategory(category, newParentId);
+                moved = true;
+            }
+        }
+        
         Category updatedCategory = categoryRepository.save(category);
         
         logger.info("Category updated: {}", updatedCategory.getId());
+        if (moved) {
+            // Every descendant's path changed as well
+            categoryRepository.findByPathStartingWithOrderByPathAsc(updatedCategory.getPath())
+                    .forEach(c -> sendCategoryEvent(c, CategoryEventType.UPDATED));
+        } else {
+            sendCategoryEvent(updatedCategory, CategoryEventType.UPDATED);
+        }
+        refreshTreeAfterCommit();
         return categoryMapper.toDTO(updatedCategory);
     }
 
@@ -103,12 +175,82 @@ public class CategoryService {
         
         Category category = findCategoryById(id);
         
-        // In a microservice architecture, we can't directly check if a category has products
-        // This would require a call to the product service or a message queue
-        // For now, we'll just delete the category
+        if (categoryRepository.existsByParentId(id)) {
+            logger.error("Category {} still has subcategories", id);
+            throw new CategoryInUseException(id, "it has subcategories");
+        }
+        
+        // Product counts are maintained from product-service events, so this check is local
+        if (category.getProductCount() != null && category.getProductCount() > 0) {
+            logger.error("Category {} still has {} active products", id, category.getProductCount());
+            throw new CategoryInUseException(id, "it still has " + category.getProductCount() + " active products");
+        }
         
         categoryRepository.delete(category);
         logger.info("Category deleted: {}", id);
+        sendCategoryEvent(category, CategoryEventType.DELETED);
+        refreshTreeAfterCommit();
+    }
+
+    /**
+     * Re-parent a category. The paths of the category and all of its descendants are
+     * rewritten with a single prefix update, no recursive walk needed.
+     */
+    private void moveCategory(Category category, Long newParentId) {
+        String newParentPath = "/";
+        int newDepth = 0;
+        if (newParentId != null) {
+            Category parent = findCategoryById(newParentId);
+            if (category.isAncestorOrSelfOf(parent)) {
+                logger.error("Cannot move category {} under its own subtree", category.getId());
+                throw new IllegalArgumentException("Category cannot be moved under itself or one of its subcategories");
+            }
+            newParentPath = parent.getPath();
+            newDepth = parent.getDepth() + 1;
+        }
+        
+        String oldPath = category.getPath();
+        String newPath = newParentPath + category.getId() + "/";
+        int depthDelta = newDepth - category.getDepth();
+        
+        int moved = categoryRepository.moveSubtree(oldPath, newPath, depthDelta);
+        
+        // The bulk update bypasses the persistence context, so align the managed entity
+        category.setParentId(newParentId);
+        category.setPath(newPath);
+        category.setDepth(newDepth);
+        logger.info("Moved {} categories from {} to {}", moved, oldPath, newPath);
+    }
+
+    /**
+     * Publish a category change once the surrounding transaction has committed,
+     * so consumers never see a rename that was rolled back.
+     * Events are keyed by category ID to keep per-category ordering.
+     */
+    private void sendCategoryEvent(Category category, CategoryEventType type) {
+        CategoryEvent event = CategoryEvent.newBuilder()
+                .setCategoryId(category.getId())
+                .setName(category.getName())
+                .setType(type)
+                .setParentId(category.getParentId())
+                .setPath(category.getPath())
+                .setOccurredAt(OffsetDateTime.now(ZoneOffset.UTC).toString())
+                .build();
+        
+        AfterCommit.run(() -> publish(event));
+    }
+
+    private void publish(CategoryEvent event) {
+        try {
+            categoryEventKafkaTemplate.send("category-events-avro", String.valueOf(event.getCategoryId()), event);
+            logger.info("Kafka category event {} sent for category {}", event.getType(), event.getCategoryId());
+        } catch (Exception ex) {
+            logger.warn("Failed to send Kafka category event for category {}: {}", event.getCategoryId(), ex.getMessage());
+        }
+    }
+
+    private void refreshTreeAfterCommit() {
+        AfterCommit.run(categoryTreeCache::refresh);
     }
 
     /**
@@ -121,4 +263,4 @@ public class CategoryService {
                     return new ResourceNotFoundException("Category", "id", id);
                 });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.shop.order.service;
+
+import com.shop.order.dto.CategoryDTO;
+import com.shop.order.dto.CategoryTreeDTO;
+import com.shop.order.mapper.CategoryMapper;
+import com.shop.order.model.Category;
+import com.shop.order.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Holds an immutable in-memory snapshot of the whole category tree.
+ * The snapshot is rebuilt from the database after every committed category change
+ * and swapped in atomically, so readers never see a partially built tree. A periodic
+ * rebuild picks up changes committed through other instances.
+ */
+@Component
+public class CategoryTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public CategoryTreeCache(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+    }
+
+    /**
+     * Current snapshot, built on first access.
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current.get();
+                if (snapshot == null) {
+                    snapshot = refresh();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Rebuild the snapshot from the database. Runs in its own transaction because it is
+     * triggered from after-commit callbacks of the transaction that changed the categories.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Snapshot refresh() {
+        Snapshot snapshot = build(categoryRepository.findAllByOrderByPathAsc());
+        Snapshot previous = current.getAndSet(snapshot);
+        if (previous == null || !previous.etag().equals(snapshot.etag())) {
+            logger.info("Category tree snapshot rebuilt: {} categories, etag {}", snapshot.flat().size(), snapshot.etag());
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${category.tree.refresh-interval-ms:30000}",
+            initialDelayString = "${category.tree.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    private Snapshot build(List<Category> categories) {
+        Map<Long, List<Category>> childrenByParent = new HashMap<>();
+        List<Category> roots = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        for (Category category : categories) {
+            if (category.getParentId() == null) {
+                roots.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParentId(), k -> new ArrayList<>()).add(category);
+            }
+            crc.update((category.getId() + "|" + category.getName() + "|" + category.getDescription() + "|"
+                    + category.getPath() + "|" + category.getProductCount() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<Long, CategoryTreeDTO> nodesById = new HashMap<>();
+        List<CategoryTreeDTO> rootNodes = new ArrayList<>();
+        for (Category root : roots) {
+            rootNodes.add(buildNode(root, childrenByParent, nodesById));
+        }
+
+        List<CategoryDTO> flat = categoryMapper.toDTOList(categories);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + categories.size() + "\"";
+        return new Snapshot(Collections.unmodifiableList(flat), List.copyOf(rootNodes), Map.copyOf(nodesById), etag);
+    }
+
+    private CategoryTreeDTO buildNode(Category category,
+                                      Map<Long, List<Category>> childrenByParent,
+                                      Map<Long, CategoryTreeDTO> nodesById) {
+        List<CategoryTreeDTO> children = new ArrayList<>();
+        for (Category child : childrenByParent.getOrDefault(category.getId(), List.of())) {
+            children.add(buildNode(child, childrenByParent, nodesById));
+        }
+        CategoryTreeDTO node = categoryMapper.toTreeDTO(category, children);
+        nodesById.put(category.getId(), node);
+        return node;
+    }
+
+    /**
+     * Immutable view of all categories: flat list in path order, root nodes and an ID index.
+     */
+    public record Snapshot(List<CategoryDTO> flat,
+                           List<CategoryTreeDTO> roots,
+                           Map<Long, CategoryTreeDTO> nodesById,
+                           String etag) {
+
+        public CategoryTreeDTO node(Long id) {
+            return nodesById.get(id);
+        }
+
+        /**
+         * IDs of the given category and all of its descendants, resolved by path prefix.
+         */
+        public List<Long> subtreeIds(Long id) {
+            CategoryTreeDTO node = nodesById.get(id);
+            if (node == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>();
+            for (CategoryDTO category : flat) {
+                if (category.getPath() != null && category.getPath().startsWith(node.getPath())) {
+                    ids.add(category.getId());
+                }
+            }
+            return ids;
+        }
+    }
+}
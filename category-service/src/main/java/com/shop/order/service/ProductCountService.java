@@ -0,0 +1,100 @@
+package com.shop.order.service;
+
+import com.shop.events.avro.ProductEvent;
+import com.shop.order.model.CategoryProductMembership;
+import com.shop.order.repository.CategoryProductMembershipRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains {@code categories.product_count} from product-service events.
+ * Each product's last known category and state is kept, so every event turns into
+ * a delta against that state: replays and snapshots never count a product twice
+ * and no cross-service {@code COUNT(*)} is ever needed.
+ */
+@Service
+public class ProductCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCountService.class);
+
+    private static final String UPSERT_MEMBERSHIP_SQL =
+            "INSERT INTO category_product_memberships (product_id, category_id, active, version) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE category_id = VALUES(category_id), active = VALUES(active), version = VALUES(version)";
+
+    private static final String ADJUST_COUNT_SQL =
+            "UPDATE categories SET product_count = GREATEST(product_count + ?, 0) WHERE id = ?";
+
+    private final CategoryProductMembershipRepository membershipRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductCountService(CategoryProductMembershipRepository membershipRepository,
+                               JdbcTemplate jdbcTemplate) {
+        this.membershipRepository = membershipRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Apply a batch of product events.
+     *
+     * @return number of categories whose count changed
+     */
+    @Transactional
+    public int applyEvents(List<ProductEvent> events) {
+        Map<Long, ProductEvent> latest = new LinkedHashMap<>();
+        for (ProductEvent event : events) {
+            if (event != null) {
+                latest.merge(event.getProductId(), event,
+                        (current, next) -> next.getVersion() >= current.getVersion() ? next : current);
+            }
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, CategoryProductMembership> known = new HashMap<>();
+        for (CategoryProductMembership membership : membershipRepository.findAllById(latest.keySet())) {
+            known.put(membership.getProductId(), membership);
+        }
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        List<Object[]> upserts = new ArrayList<>();
+        for (ProductEvent event : latest.values()) {
+            CategoryProductMembership previous = known.get(event.getProductId());
+            if (previous != null && event.getVersion() < previous.getVersion()) {
+                continue;
+            }
+            if (previous != null && previous.isActive()) {
+                deltas.merge(previous.getCategoryId(), -1, Integer::sum);
+            }
+            if (event.getActive()) {
+                deltas.merge(event.getCategoryId(), 1, Integer::sum);
+            }
+            upserts.add(new Object[]{event.getProductId(), event.getCategoryId(), event.getActive(), event.getVersion()});
+        }
+
+        List<Object[]> adjustments = new ArrayList<>();
+        deltas.forEach((categoryId, delta) -> {
+            if (delta != 0) {
+                adjustments.add(new Object[]{delta, categoryId});
+            }
+        });
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_MEMBERSHIP_SQL, upserts);
+        }
+        if (!adjustments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_COUNT_SQL, adjustments);
+            logger.info("Adjusted product counts of {} categories from {} product events", adjustments.size(), latest.size());
+        }
+        return adjustments.size();
+    }
+}
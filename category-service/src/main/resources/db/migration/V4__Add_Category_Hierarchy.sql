@@ -0,0 +1,13 @@
+-- Hierarchical categories stored as materialized paths, e.g. '/1/7/12/'
+ALTER TABLE categories
+    ADD COLUMN parent_id BIGINT NULL,
+    ADD COLUMN path VARCHAR(512) NOT NULL DEFAULT '/',
+    ADD COLUMN depth INT NOT NULL DEFAULT 0;
+
+UPDATE categories SET path = CONCAT('/', id, '/'), depth = 0;
+
+ALTER TABLE categories
+    ADD CONSTRAINT fk_categories_parent FOREIGN KEY (parent_id) REFERENCES categories (id);
+
+CREATE INDEX idx_categories_path ON categories (path);
+CREATE INDEX idx_categories_parent_id ON categories (parent_id);
@@ -0,0 +1,15 @@
+-- Active product count per category, maintained incrementally from product-service events
+ALTER TABLE categories
+    ADD COLUMN product_count INT NOT NULL DEFAULT 0;
+
+-- Last known category and state of every product, so replayed or reordered events
+-- never count a product twice
+CREATE TABLE category_product_memberships (
+    product_id BIGINT PRIMARY KEY,
+    category_id BIGINT NOT NULL,
+    active BOOLEAN NOT NULL,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_category_product_memberships_category_id ON category_product_memberships (category_id);
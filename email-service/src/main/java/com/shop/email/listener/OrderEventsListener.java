@@ -7,6 +7,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 @Service
 public class OrderEventsListener {
 
@@ -24,7 +27,7 @@ public class OrderEventsListener {
                 event.getUserId(),
                 event.getUserEmail(),
                 event.getStatus(),
-                event.getTotalAmount());
+                totalAmount(event));
         
         // Create email subject and body
         String subject = "Order Update: " + event.getStatus();
@@ -40,10 +43,17 @@ public class OrderEventsListener {
                "Order Details:\n" +
                "- Order ID: " + event.getOrderId() + "\n" +
                "- Status: " + event.getStatus() + "\n" +
-               "- Total Amount: $" + String.format("%.2f", event.getTotalAmount()) + "\n" +
+               "- Total Amount: " + totalAmount(event).toPlainString() + " " + event.getCurrency() + "\n" +
                "- Created At: " + event.getCreatedAt() + "\n\n" +
                "Thank you for shopping with us!\n\n" +
                "Best regards,\n" +
                "The Online Shop Team";
     }
+
+    // Events written before the decimal field only carry the double total
+    private static BigDecimal totalAmount(OrderEvent event) {
+        return event.getTotalAmountDecimal() != null
+                ? event.getTotalAmountDecimal()
+                : BigDecimal.valueOf(event.getTotalAmount()).setScale(2, RoundingMode.HALF_UP);
+    }
 }
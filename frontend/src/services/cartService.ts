@@ -0,0 +1,59 @@
+import api from './api';
+import { Cart, Currency, Order } from '../types/models';
+
+/**
+ * Service for the server-side cart of the logged-in user. A currency passed to any call is
+ * kept by the cart as its display currency until another one is passed.
+ */
+class CartService {
+  private static instance: CartService;
+  private readonly BASE_URL = '/user/cart';
+
+  private constructor() {}
+
+  public static getInstance(): CartService {
+    if (!CartService.instance) {
+      CartService.instance = new CartService();
+    }
+    return CartService.instance;
+  }
+
+  public async getCart(currency?: Currency): Promise<Cart> {
+    const response = await api.get<Cart>(this.BASE_URL, { params: { currency } });
+    return response.data;
+  }
+
+  /**
+   * Add a product; the cart comes back priced with current promotions and stock
+   */
+  public async addItem(productId: number, quantity: number, currency?: Currency): Promise<Cart> {
+    const response = await api.post<Cart>(`${this.BASE_URL}/items`, { productId, quantity }, { params: { currency } });
+    return response.data;
+  }
+
+  public async updateItem(productId: number, quantity: number, currency?: Currency): Promise<Cart> {
+    const response = await api.put<Cart>(`${this.BASE_URL}/items/${productId}`, { quantity }, { params: { currency } });
+    return response.data;
+  }
+
+  public async removeItem(productId: number, currency?: Currency): Promise<Cart> {
+    const response = await api.delete<Cart>(`${this.BASE_URL}/items/${productId}`, { params: { currency } });
+    return response.data;
+  }
+
+  public async clear(): Promise<void> {
+    await api.delete(this.BASE_URL);
+  }
+
+  /**
+   * Place the cart as an order. Retrying with the same key returns the same order.
+   */
+  public async checkout(idempotencyKey: string): Promise<Order> {
+    const response = await api.post<Order>(`${this.BASE_URL}/checkout`, null, {
+      headers: { 'Idempotency-Key': idempotencyKey },
+    });
+    return response.data;
+  }
+}
+
+export default CartService.getInstance();
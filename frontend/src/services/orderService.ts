@@ -56,9 +56,11 @@ class OrderService {
   /**
    * Get all orders for admin with pagination
    * @param pageRequest Pagination parameters
+   * @param fields Optional order fields to return; the others are left out
+   * @param include Optional nested data to return with them, e.g. ['items']
    * @returns Promise with paginated orders
    */
-  public async getAdminOrders(pageRequest: PageRequest): Promise<Page<Order>> {
+  public async getAdminOrders(pageRequest: PageRequest, fields?: string[], include?: string[]): Promise<Page<Order>> {
     const { page, size, sort, direction } = pageRequest;
     
     let url = `${this.ADMIN_BASE_URL}?page=${page}&size=${size}`;
@@ -70,6 +72,14 @@ class OrderService {
     if (direction) {
       url += `&direction=${direction}`;
     }
+
+    if (fields) {
+      url += `&fields=${fields.join(',')}`;
+    }
+
+    if (include) {
+      url += `&include=${include.join(',')}`;
+    }
     
     const response = await api.get<Page<Order>>(url);
     return response.data;
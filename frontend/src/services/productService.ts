@@ -1,5 +1,5 @@
 import api from './api';
-import { Page, PageRequest, Product, ProductCreateRequest, ProductUpdateRequest } from '../types/models';
+import { Currency, Page, PageRequest, Product, ProductCreateRequest, ProductSummary, ProductUpdateRequest } from '../types/models';
 
 /**
  * Service for product-related API calls
@@ -28,6 +28,7 @@ class ProductService {
    * @param minPrice Optional minimum price filter
    * @param maxPrice Optional maximum price filter
    * @param name Optional name search filter
+   * @param currency Optional currency to show prices in
    * @returns Promise with paginated products
    */
   public async getProducts(
@@ -35,7 +36,8 @@ class ProductService {
     categoryId?: number,
     minPrice?: number,
     maxPrice?: number,
-    name?: string
+    name?: string,
+    currency?: Currency
   ): Promise<Page<Product>> {
     const { page, size, sort, direction } = pageRequest;
     
@@ -64,18 +66,44 @@ class ProductService {
     if (name) {
       url += `&name=${encodeURIComponent(name)}`;
     }
+
+    if (currency) {
+      url += `&currency=${currency}`;
+    }
     
     const response = await api.get<Page<Product>>(url);
     return response.data;
   }
 
+  /**
+   * Get a listing page without descriptions and promotion details
+   * @param pageRequest Pagination parameters
+   * @param categoryId Optional category filter
+   * @param name Optional name search filter
+   * @param currency Optional currency to show prices in
+   * @returns Promise with paginated product summaries
+   */
+  public async getProductSummaries(
+    pageRequest: PageRequest,
+    categoryId?: number,
+    name?: string,
+    currency?: Currency
+  ): Promise<Page<ProductSummary>> {
+    const { page, size, sort, direction } = pageRequest;
+    const response = await api.get<Page<ProductSummary>>(this.BASE_URL, {
+      params: { view: 'summary', page, size, sort, direction, categoryId, name, currency },
+    });
+    return response.data;
+  }
+
   /**
    * Get product by ID
    * @param id Product ID
+   * @param currency Optional currency to show prices in
    * @returns Promise with product
    */
-  public async getProductById(id: number): Promise<Product> {
-    const response = await api.get<Product>(`${this.BASE_URL}/${id}`);
+  public async getProductById(id: number, currency?: Currency): Promise<Product> {
+    const response = await api.get<Product>(`${this.BASE_URL}/${id}`, { params: { currency } });
     return response.data;
   }
 
@@ -53,14 +53,33 @@ export interface Product {
   categoryId: number;
   categoryName: string;
   activePromotion?: Promotion | null;
+  appliedPromotions?: Promotion[];
   createdAt: string;
   updatedAt: string;
   isActive: boolean;
 }
 
+// Product as listings show it (?view=summary)
+export interface ProductSummary {
+  id: number;
+  name: string;
+  basePrice: number;
+  price: number;
+  currency: string;
+  stockQuantity: number;
+  imageUrl: string | null;
+  categoryId: number;
+  categoryName: string;
+  promotionTitle?: string | null;
+}
+
+export type PromotionScope = 'PRODUCT' | 'CATEGORY' | 'CART';
+
 export interface Promotion {
   id: number;
-  productId: number;
+  scope?: PromotionScope;
+  productId: number | null;
+  categoryId?: number | null;
   title?: string | null;
   description?: string | null;
   discountType: DiscountType;
@@ -69,12 +88,16 @@ export interface Promotion {
   endAt: string;
   active: boolean;
   priority: number;
+  stackable?: boolean;
+  minCartAmount?: number | null;
   createdAt: string;
   updatedAt: string;
 }
 
 export interface PromotionCreateRequest {
-  productId: number;
+  scope?: PromotionScope;
+  productId?: number;
+  categoryId?: number;
   title?: string | null;
   description?: string | null;
   discountType: DiscountType;
@@ -83,10 +106,14 @@ export interface PromotionCreateRequest {
   endAt: string;
   active?: boolean;
   priority?: number;
+  stackable?: boolean;
+  minCartAmount?: number | null;
 }
 
 export interface PromotionUpdateRequest {
+  scope?: PromotionScope;
   productId?: number;
+  categoryId?: number;
   title?: string | null;
   description?: string | null;
   discountType?: DiscountType;
@@ -95,6 +122,8 @@ export interface PromotionUpdateRequest {
   endAt?: string;
   active?: boolean;
   priority?: number;
+  stackable?: boolean;
+  minCartAmount?: number | null;
 }
 
 export interface ProductCreateRequest {
@@ -143,6 +172,8 @@ export interface Order {
   userEmail: string;
   orderItems: OrderItem[];
   totalAmount: number;
+  discountAmount?: number;
+  currency?: Currency | null;
   status: OrderStatus;
   createdAt: string;
   updatedAt: string;
@@ -153,6 +184,42 @@ export interface OrderCreateRequest {
     productId: number;
     quantity: number;
   }[];
+  currency?: Currency;
+}
+
+// Server-side cart, priced when it last changed
+export interface CartLine {
+  productId: number;
+  name: string;
+  quantity: number;
+  basePrice: number;
+  unitPrice: number;
+  subtotal: number;
+  currency: Currency;
+  stockQuantity: number;
+  appliedPromotions?: Promotion[];
+}
+
+export interface Cart {
+  lines: CartLine[];
+  currency?: Currency | null;
+  displayCurrency?: Currency | null;
+  subtotal?: number | null;
+  discount?: number | null;
+  total?: number | null;
+  cartPromotions: Promotion[];
+  unavailableProductIds: number[];
+  checkoutReady: boolean;
+  pricedAt?: string | null;
+  lastOrderId?: number | null;
+}
+
+// Units of a currency per unit of the base currency
+export interface ExchangeRate {
+  currency: Currency;
+  base: Currency;
+  rate: number;
+  updatedAt: string | null;
 }
 
 export interface OrderStatusUpdateRequest {
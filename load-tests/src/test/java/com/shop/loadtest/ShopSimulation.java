@@ -0,0 +1,178 @@
+package com.shop.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.PopulationBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Session;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.doIf;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.feed;
+import static io.gatling.javaapi.core.CoreDsl.forAll;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.jmesPath;
+import static io.gatling.javaapi.core.CoreDsl.pause;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Shop traffic against the backend-for-frontend, the only public entry point.
+ * <p>
+ * Three populations run side by side: anonymous visitors browsing and searching the catalog,
+ * customers who log in, put a product in their server-side cart and check it out, and admins listing orders and the sales dashboard and
+ * generating a product description.
+ * Every request is named after its endpoint, so the Gatling report gives throughput and
+ * latency percentiles per endpoint. The rates are arrivals per second of new visitors and
+ * can be set with system properties, e.g.
+ * {@code mvn gatling:test -DbaseUrl=http://localhost:8081 -DbrowseRate=40 -DdurationSeconds=600}.
+ */
+public class ShopSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8081");
+    private static final double BROWSE_RATE = Double.parseDouble(System.getProperty("browseRate", "20"));
+    private static final double CHECKOUT_RATE = Double.parseDouble(System.getProperty("checkoutRate", "2"));
+    private static final double ADMIN_RATE = Double.parseDouble(System.getProperty("adminRate", "0.2"));
+    private static final Duration RAMP = Duration.ofSeconds(Long.getLong("rampSeconds", 60));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("durationSeconds", 300));
+    private static final int MAX_P99_MILLIS = Integer.getInteger("maxP99Millis", 2000);
+    private static final double MAX_FAILED_PERCENT = Double.parseDouble(System.getProperty("maxFailedPercent", "1"));
+
+    private static final String CUSTOMER_EMAIL = System.getProperty("customerEmail", "user@example.com");
+    private static final String ADMIN_EMAIL = System.getProperty("adminEmail", "admin@example.com");
+    private static final String PASSWORD = System.getProperty("password", "password");
+
+    private static final List<String> SEARCH_TERMS = List.of("phone", "shirt", "novel", "lamp", "shoe", "book", "x");
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .acceptEncodingHeader("gzip, deflate")
+            .userAgentHeader("shop-load-test");
+
+    private final Iterator<Map<String, Object>> searchTerms = Stream.generate(() -> Map.<String, Object>of(
+            "term", SEARCH_TERMS.get(ThreadLocalRandom.current().nextInt(SEARCH_TERMS.size())))).iterator();
+
+    // Browse the catalog: the category tree and a few listing pages, remembering their in-stock products
+    private final ChainBuilder browse = exec(http("GET /api/categories/tree").get("/api/categories/tree"))
+            .repeat(session -> ThreadLocalRandom.current().nextInt(1, 4)).on(
+                    exec(http("GET /api/products")
+                            .get("/api/products")
+                            .queryParam("page", session -> ThreadLocalRandom.current().nextInt(5))
+                            .queryParam("size", "20")
+                            .check(jmesPath("content[?stockQuantity > `0`].id").ofList().saveAs("productIds")))
+                            .pause(Duration.ofMillis(500), Duration.ofSeconds(3)));
+
+    private final ChainBuilder search = feed(searchTerms)
+            .exec(http("GET /api/products?name")
+                    .get("/api/products")
+                    .queryParam("name", "#{term}")
+                    .queryParam("size", "20"))
+            .pause(Duration.ofMillis(500), Duration.ofSeconds(2));
+
+    // Anonymous carts live in the browser; adding to one reads the product to show the current price and stock
+    private final ChainBuilder addToCart = doIf(session -> hasProducts(session)).then(
+            exec(session -> session.set("productId", randomProduct(session)))
+                    .exec(http("GET /api/products/{id}").get("/api/products/#{productId}"))
+                    .pause(Duration.ofSeconds(1), Duration.ofSeconds(4)));
+
+    private final ChainBuilder checkout = doIf(session -> session.contains("productId")).then(
+            exec(login(CUSTOMER_EMAIL))
+                    .exec(session -> session.set("idempotencyKey", UUID.randomUUID().toString()))
+                    .exec(http("POST /api/user/cart/items")
+                            .post("/api/user/cart/items")
+                            .header("Authorization", "Bearer #{token}")
+                            .body(StringBody("{\"productId\":#{productId},\"quantity\":1}"))
+                            .check(status().is(200)))
+                    .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+                    .exec(http("GET /api/user/cart")
+                            .get("/api/user/cart")
+                            .header("Authorization", "Bearer #{token}"))
+                    .exec(http("POST /api/user/cart/checkout")
+                            .post("/api/user/cart/checkout")
+                            .header("Authorization", "Bearer #{token}")
+                            .header("Idempotency-Key", "#{idempotencyKey}")
+                            .check(status().is(200)))
+                    .exec(http("GET /api/user/orders")
+                            .get("/api/user/orders")
+                            .header("Authorization", "Bearer #{token}")));
+
+    private final ChainBuilder adminListing = exec(login(ADMIN_EMAIL))
+            .exec(http("GET /api/admin/orders")
+                    .get("/api/admin/orders")
+                    .queryParam("page", "0")
+                    .queryParam("size", "20")
+                    .header("Authorization", "Bearer #{token}"))
+            .pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+            .exec(http("GET /api/admin/dashboard")
+                    .get("/api/admin/dashboard")
+                    .queryParam("granularity", "day")
+                    .header("Authorization", "Bearer #{token}"));
+
+    // Editing a product: AI description through ai-service, answered by the OpenAI stub
+    private final ChainBuilder adminDescription = pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+            .exec(http("POST /api/ai/generate-description")
+                    .post("/api/ai/generate-description")
+                    .header("Authorization", "Bearer #{token}")
+                    .body(StringBody("{\"productName\":\"Linen shirt\",\"categoryId\":1,\"price\":39.90,"
+                            + "\"currency\":\"EUR\",\"materials\":[\"linen\"],\"colors\":[\"white\"]}"))
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder visitors = scenario("Browse and search")
+            .exec(browse, search, addToCart);
+
+    private final ScenarioBuilder customers = scenario("Checkout")
+            .exec(browse, addToCart, pause(Duration.ofSeconds(1)), checkout);
+
+    private final ScenarioBuilder admins = scenario("Admin listing")
+            .exec(adminListing, adminDescription);
+
+    {
+        setUp(
+                inject(visitors, BROWSE_RATE),
+                inject(customers, CHECKOUT_RATE),
+                inject(admins, ADMIN_RATE)
+        )
+                .protocols(httpProtocol)
+                .assertions(
+                        global().failedRequests().percent().lt(MAX_FAILED_PERCENT),
+                        forAll().responseTime().percentile(99.0).lt(MAX_P99_MILLIS)
+                );
+    }
+
+    private static PopulationBuilder inject(ScenarioBuilder scenario, double usersPerSecond) {
+        return scenario.injectOpen(
+                rampUsersPerSec(0).to(usersPerSecond).during(RAMP),
+                constantUsersPerSec(usersPerSecond).during(DURATION));
+    }
+
+    private static ChainBuilder login(String email) {
+        return exec(http("POST /api/auth/login")
+                .post("/api/auth/login")
+                .body(StringBody("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .check(jmesPath("token").saveAs("token")));
+    }
+
+    private static boolean hasProducts(Session session) {
+        return session.contains("productIds") && !session.getList("productIds").isEmpty();
+    }
+
+    private static Object randomProduct(Session session) {
+        List<Object> productIds = session.getList("productIds");
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.shop.benchmark;
+
+import com.shop.events.avro.OrderEvent;
+import com.shop.events.avro.OrderEventItem;
+import com.shop.events.avro.OrderStatus;
+import com.shop.order.model.Order;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order event published on every order change: building it from the order as
+ * {@code OrderService} does, and its Avro binary encoding. The Confluent serializer adds a
+ * schema ID header and a registry lookup on top, which are cached after the first record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderEventSerializationBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int lines;
+
+    private final SpecificDatumWriter<OrderEvent> writer = new SpecificDatumWriter<>(OrderEvent.class);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    private BinaryEncoder encoder;
+
+    private Order order;
+    private OrderEvent event;
+
+    @Setup
+    public void setUp() {
+        order = OrderMapperBenchmark.order(lines);
+        event = toEvent(order);
+    }
+
+    @Benchmark
+    public OrderEvent buildEvent() {
+        return toEvent(order);
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() throws IOException {
+        out.reset();
+        encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+        writer.write(event, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+
+    private static OrderEvent toEvent(Order order) {
+        return OrderEvent.newBuilder()
+                .setOrderId(order.getId())
+                .setUserId(order.getUserId())
+                .setUserEmail(order.getUserEmail())
+                .setStatus(OrderStatus.valueOf(order.getStatus().name()))
+                .setTotalAmount(order.getTotalAmount().doubleValue())
+                .setCreatedAt(order.getCreatedAt().atOffset(ZoneOffset.UTC).toString())
+                .setItems(order.getOrderItems().stream()
+                        .map(item -> OrderEventItem.newBuilder()
+                                .setProductId(item.getProductId())
+                                .setQuantity(item.getQuantity())
+                                .setSubtotal(item.getSubtotal().doubleValue())
+                                .setProductName(item.getProductName())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
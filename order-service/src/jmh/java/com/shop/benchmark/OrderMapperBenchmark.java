@@ -0,0 +1,92 @@
+package com.shop.benchmark;
+
+import com.shop.mapper.OrderMapper;
+import com.shop.mapper.OrderMapper.ProductSnapshot;
+import com.shop.order.dto.OrderCreateDTO;
+import com.shop.order.dto.OrderDTO;
+import com.shop.order.model.Order;
+import com.shop.order.model.enums.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order creation from a checkout request and entity to DTO mapping, for orders of a few lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int lines;
+
+    private final OrderMapper orderMapper = new OrderMapper();
+
+    private OrderCreateDTO request;
+    private List<ProductSnapshot> products;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        request = request(lines);
+        products = snapshots(lines);
+        order = order(lines);
+    }
+
+    @Benchmark
+    public Order createOrderFromDTO() {
+        return orderMapper.createOrderFromDTO(request, 42L, "customer@example.com", products);
+    }
+
+    @Benchmark
+    public OrderDTO toDTO() {
+        return orderMapper.toDTO(order);
+    }
+
+    static OrderCreateDTO request(int lines) {
+        List<OrderCreateDTO.OrderItemCreateDTO> items = new ArrayList<>(lines);
+        for (long productId = 1; productId <= lines; productId++) {
+            items.add(new OrderCreateDTO.OrderItemCreateDTO(productId, (int) (productId % 3) + 1));
+        }
+        OrderCreateDTO request = new OrderCreateDTO();
+        request.setItems(items);
+        return request;
+    }
+
+    static List<ProductSnapshot> snapshots(int lines) {
+        List<ProductSnapshot> products = new ArrayList<>(lines);
+        for (long productId = 1; productId <= lines; productId++) {
+            products.add(new ProductSnapshot(productId, "Product " + productId,
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(productId)), "EUR"));
+        }
+        return products;
+    }
+
+    static Order order(int lines) {
+        Order order = new OrderMapper().createOrderFromDTO(request(lines), 42L, "customer@example.com", snapshots(lines));
+        order.setId(1001L);
+        order.setStatus(OrderStatus.NEW);
+        long itemId = 1;
+        for (var item : order.getOrderItems()) {
+            item.setId(itemId++);
+        }
+        return order;
+    }
+}
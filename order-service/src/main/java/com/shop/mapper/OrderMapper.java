@@ -1,11 +1,13 @@
 package com.shop.mapper;
 
+import com.shop.order.dto.CartQuoteDTO;
 import com.shop.order.dto.OrderCreateDTO;
 import com.shop.order.dto.OrderDTO;
 import com.shop.order.dto.OrderStatusUpdateDTO;
-import com.shop.order.dto.ProductDTO;
 import com.shop.order.model.Order;
 import com.shop.order.model.OrderItem;
+import com.shop.order.model.enums.OrderStatus;
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -27,6 +29,8 @@ public class OrderMapper {
         dto.setUserId(order.getUserId());
         dto.setUserEmail(order.getUserEmail());
         dto.setTotalAmount(order.getTotalAmount());
+        dto.setDiscountAmount(order.getDiscountAmount());
+        dto.setCurrency(order.getCurrency());
         dto.setStatus(order.getStatus());
         dto.setCreatedAt(order.getCreatedAt());
         dto.setUpdatedAt(order.getUpdatedAt());
@@ -41,7 +45,29 @@ public class OrderMapper {
         return dto;
     }
 
-    private OrderDTO.OrderItemDTO toOrderItemDTO(OrderItem orderItem) {
+    /**
+     * Order read as a tuple of the given properties; the others stay unset.
+     */
+    public OrderDTO toDTO(Tuple tuple, List<String> properties) {
+        OrderDTO dto = new OrderDTO();
+        for (String property : properties) {
+            switch (property) {
+                case "id" -> dto.setId(tuple.get(property, Long.class));
+                case "userId" -> dto.setUserId(tuple.get(property, Long.class));
+                case "userEmail" -> dto.setUserEmail(tuple.get(property, String.class));
+                case "totalAmount" -> dto.setTotalAmount(tuple.get(property, BigDecimal.class));
+                case "discountAmount" -> dto.setDiscountAmount(tuple.get(property, BigDecimal.class));
+                case "currency" -> dto.setCurrency(tuple.get(property, String.class));
+                case "status" -> dto.setStatus(tuple.get(property, OrderStatus.class));
+                case "createdAt" -> dto.setCreatedAt(tuple.get(property, LocalDateTime.class));
+                case "updatedAt" -> dto.setUpdatedAt(tuple.get(property, LocalDateTime.class));
+                default -> throw new IllegalArgumentException("Unknown order property: " + property);
+            }
+        }
+        return dto;
+    }
+
+    public OrderDTO.OrderItemDTO toOrderItemDTO(OrderItem orderItem) {
         if (orderItem == null) {
             return null;
         }
@@ -99,20 +125,20 @@ public class OrderMapper {
         order.setStatus(dto.getStatus());
     }
 
-    public ProductSnapshot toSnapshot(ProductDTO product) {
-        if (product == null) {
+    public ProductSnapshot toSnapshot(CartQuoteDTO.Line line) {
+        if (line == null) {
             return null;
         }
         return new ProductSnapshot(
-                product.getId(),
-                product.getName(),
-                product.getPrice(),
-                product.getCurrency() != null ? product.getCurrency() : "UNKNOWN"
+                line.getProductId(),
+                line.getName(),
+                line.getUnitPrice(),
+                line.getCurrency() != null ? line.getCurrency() : "UNKNOWN"
         );
     }
 
-    public List<ProductSnapshot> toSnapshots(List<ProductDTO> products) {
-        return products.stream()
+    public List<ProductSnapshot> toSnapshots(List<CartQuoteDTO.Line> lines) {
+        return lines.stream()
                 .map(this::toSnapshot)
                 .collect(Collectors.toList());
     }
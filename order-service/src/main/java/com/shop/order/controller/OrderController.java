@@ -2,68 +2,116 @@ package com.shop.order.controller;
 
 import com.shop.order.dto.OrderCreateDTO;
 import com.shop.order.dto.OrderDTO;
+import com.shop.order.dto.OrderFields;
 import com.shop.order.dto.OrderStatusUpdateDTO;
+import com.shop.service.OrderExportService;
 import com.shop.service.OrderService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequestMapping
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
     }
 
+    /**
+     * Order reads take {@code fields=} and {@code include=items}, see {@link OrderFields}
+     */
     @GetMapping("/api/admin/orders")
-    public ResponseEntity<Page<OrderDTO>> getAllOrders(
+    public ResponseEntity<MappingJacksonValue> getAllOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
         Pageable pageable = PageRequest.of(page, size, buildSort(sort, direction));
-        return ResponseEntity.ok(orderService.getAllOrders(pageable));
+        OrderFields orderFields = OrderFields.of(fields, include);
+        return ResponseEntity.ok(orderFields.write(orderService.getAllOrders(from, to, pageable, orderFields)));
+    }
+
+    @GetMapping("/api/admin/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + exportFormat.extension())
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> orderExportService.export(out, exportFormat, gzip, from, to));
     }
 
     @GetMapping("/api/user/orders")
-    public ResponseEntity<Page<OrderDTO>> getUserOrders(
+    public ResponseEntity<MappingJacksonValue> getUserOrders(
             @RequestParam Long userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
         Pageable pageable = PageRequest.of(page, size, buildSort(sort, direction));
-        return ResponseEntity.ok(orderService.getOrdersByUserId(userId, pageable));
+        OrderFields orderFields = OrderFields.of(fields, include);
+        return ResponseEntity.ok(orderFields.write(orderService.getOrdersByUserId(userId, pageable, orderFields)));
     }
 
     @GetMapping("/api/orders/{id}")
-    public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<MappingJacksonValue> getOrderById(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
+        OrderFields orderFields = OrderFields.of(fields, include);
+        return ResponseEntity.ok(orderFields.write(orderService.getOrderById(id, orderFields)));
     }
 
     @PostMapping("/api/user/orders")
     public ResponseEntity<OrderDTO> createOrder(
             @Valid @RequestBody OrderCreateDTO orderCreateDTO,
             @RequestParam Long userId,
-            @RequestParam String userEmail) {
-        return ResponseEntity.ok(orderService.createOrder(orderCreateDTO, userId, userEmail));
+            @RequestParam String userEmail,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(orderService.createOrder(orderCreateDTO, userId, userEmail, idempotencyKey));
     }
 
     @PutMapping("/api/admin/orders/{id}/status")
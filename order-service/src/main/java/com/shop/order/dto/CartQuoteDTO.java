@@ -0,0 +1,103 @@
+package com.shop.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The priced order lines as quoted by product-service: unit prices after line promotions,
+ * current stock, and the cart discount. Only the fields an order needs are mapped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CartQuoteDTO {
+    private List<Line> lines = new ArrayList<>();
+    private String currency;
+    private BigDecimal discount;
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    /**
+     * Discount of the cart promotions on the subtotal; null for carts in mixed currencies.
+     */
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(BigDecimal discount) {
+        this.discount = discount;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Line {
+        private Long productId;
+        private String name;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+        private String currency;
+        private Integer stockQuantity;
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+
+        public void setUnitPrice(BigDecimal unitPrice) {
+            this.unitPrice = unitPrice;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public void setCurrency(String currency) {
+            this.currency = currency;
+        }
+
+        public Integer getStockQuantity() {
+            return stockQuantity;
+        }
+
+        public void setStockQuantity(Integer stockQuantity) {
+            this.stockQuantity = stockQuantity;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.shop.order.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +19,15 @@ public class OrderCreateDTO {
     @NotEmpty(message = "Order must contain at least one item")
     private List<OrderItemCreateDTO> items = new ArrayList<>();
 
+    // Currency to place the order in; left out when null so earlier requests keep their fingerprint
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+
+    // Total the client showed; the order is refused if it would cost anything else. Left out when null
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal expectedTotal;
+
     // Constructors
     public OrderCreateDTO() {
     }
@@ -28,6 +41,22 @@ public class OrderCreateDTO {
         this.items = items;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public void setExpectedTotal(BigDecimal expectedTotal) {
+        this.expectedTotal = expectedTotal;
+    }
+
     /**
      * Nested DTO for OrderItem in Order creation requests
      */
@@ -38,6 +67,7 @@ public class OrderCreateDTO {
         
         @NotNull(message = "Quantity is required")
         @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 999, message = "Quantity must be at most 999")
         private Integer quantity;
 
         // Constructors
@@ -1,5 +1,6 @@
 package com.shop.order.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.shop.order.model.enums.OrderStatus;
 
 import java.math.BigDecimal;
@@ -8,14 +9,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Data Transfer Object for Order responses
+ * Data Transfer Object for Order responses. Written through the {@link OrderFields} filter, so a
+ * response carries only the fields the client asked for.
  */
+@JsonFilter(OrderFields.FILTER)
 public class OrderDTO {
     private Long id;
     private Long userId;
     private String userEmail;
     private List<OrderItemDTO> orderItems = new ArrayList<>();
     private BigDecimal totalAmount;
+    private BigDecimal discountAmount;
+    private String currency;
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -65,6 +70,22 @@ public class OrderDTO {
         this.totalAmount = totalAmount;
     }
 
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public OrderStatus getStatus() {
         return status;
     }
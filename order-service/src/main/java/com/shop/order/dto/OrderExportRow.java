@@ -0,0 +1,100 @@
+package com.shop.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.shop.order.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat order line written by the export endpoint: one row per order item,
+ * repeating the order columns. Built directly by a JPQL constructor expression.
+ */
+@JsonPropertyOrder({"orderId", "userId", "userEmail", "status", "totalAmount", "createdAt",
+        "itemId", "productId", "productName", "quantity", "unitPrice", "subtotal", "currency"})
+public class OrderExportRow {
+    private final Long orderId;
+    private final Long userId;
+    private final String userEmail;
+    private final OrderStatus status;
+    private final BigDecimal totalAmount;
+    private final LocalDateTime createdAt;
+    private final Long itemId;
+    private final Long productId;
+    private final String productName;
+    private final Integer quantity;
+    private final BigDecimal unitPrice;
+    private final BigDecimal subtotal;
+    private final String currency;
+
+    public OrderExportRow(Long orderId, Long userId, String userEmail, OrderStatus status,
+                          BigDecimal totalAmount, LocalDateTime createdAt, Long itemId, Long productId,
+                          String productName, Integer quantity, BigDecimal unitPrice, BigDecimal subtotal,
+                          String currency) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.itemId = itemId;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.subtotal = subtotal;
+        this.currency = currency;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
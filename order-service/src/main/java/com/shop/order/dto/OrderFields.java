@@ -0,0 +1,111 @@
+package com.shop.order.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.shop.order.exception.InvalidFieldException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parts of an order a client asked for with {@code fields=} and {@code include=}.
+ * <p>
+ * Without {@code fields} every property is returned, otherwise only the listed ones and the id.
+ * Items come with {@code include=items}, or when neither parameter is given, so clients that
+ * ask for nothing get whole orders. What is not asked for is neither read nor written.
+ */
+public final class OrderFields {
+
+    /**
+     * Jackson filter id of {@link OrderDTO}
+     */
+    public static final String FILTER = "orderFields";
+
+    public static final String ITEMS = "items";
+
+    // Properties of OrderDTO, each mapped by an Order attribute of the same name
+    public static final List<String> PROPERTIES = List.of("id", "userId", "userEmail", "totalAmount",
+            "discountAmount", "currency", "status", "createdAt", "updatedAt");
+
+    public static final OrderFields ALL = new OrderFields(PROPERTIES, true);
+
+    private final List<String> properties;
+    private final boolean items;
+
+    private OrderFields(List<String> properties, boolean items) {
+        this.properties = properties;
+        this.items = items;
+    }
+
+    /**
+     * @param fields  requested properties, or null for all
+     * @param include requested associations, or null for the default
+     * @throws InvalidFieldException for a name orders do not have
+     */
+    public static OrderFields of(Collection<String> fields, Collection<String> include) {
+        boolean items = fields == null;
+        if (include != null) {
+            items = false;
+            for (String name : include) {
+                String trimmed = name.trim();
+                if (trimmed.equals(ITEMS)) {
+                    items = true;
+                } else if (!trimmed.isEmpty()) {
+                    throw new InvalidFieldException("Unknown include '" + trimmed + "', expected " + ITEMS);
+                }
+            }
+        }
+        if (fields == null) {
+            return items ? ALL : new OrderFields(PROPERTIES, false);
+        }
+
+        List<String> selected = new ArrayList<>(PROPERTIES.size());
+        selected.add("id");
+        for (String name : fields) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || selected.contains(trimmed)) {
+                continue;
+            }
+            if (!PROPERTIES.contains(trimmed)) {
+                throw new InvalidFieldException("Unknown order field '" + trimmed + "', expected one of " + PROPERTIES);
+            }
+            selected.add(trimmed);
+        }
+        return new OrderFields(List.copyOf(selected), items);
+    }
+
+    public boolean isAll() {
+        return items && properties.size() == PROPERTIES.size();
+    }
+
+    /**
+     * Requested properties, the id first
+     */
+    public List<String> properties() {
+        return properties;
+    }
+
+    public boolean items() {
+        return items;
+    }
+
+    /**
+     * Response body that writes only the requested properties, or everything when all were asked for
+     */
+    public MappingJacksonValue write(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (isAll()) {
+            return value;
+        }
+        Set<String> written = new HashSet<>(properties);
+        if (items) {
+            written.add("orderItems");
+        }
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(written)));
+        return value;
+    }
+}
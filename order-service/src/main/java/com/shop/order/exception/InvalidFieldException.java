@@ -0,0 +1,15 @@
+package com.shop.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when {@code fields=} or {@code include=} names something the resource does not have
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldException extends RuntimeException {
+
+    public InvalidFieldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.shop.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Exception thrown when an order would cost something else than the total the client expected
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class OrderTotalChangedException extends RuntimeException {
+
+    public OrderTotalChangedException(BigDecimal expectedTotal, BigDecimal total) {
+        super(String.format("Order total is %s, not the expected %s; prices changed", total, expectedTotal));
+    }
+}
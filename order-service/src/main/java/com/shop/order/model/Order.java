@@ -43,6 +43,12 @@ public class Order {
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount = BigDecimal.ZERO;
 
+    @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountAmount = BigDecimal.ZERO;
+
+    @Column(name = "currency", length = 10)
+    private String currency;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private OrderStatus status = OrderStatus.NEW;
@@ -53,6 +59,12 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "reservation_expires_at")
+    private LocalDateTime reservationExpiresAt;
+
+    @Column(name = "reservation_token", length = 36)
+    private String reservationToken;
+
     // Constructors
     public Order() {
     }
@@ -115,6 +127,22 @@ public class Order {
         this.totalAmount = totalAmount;
     }
 
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public OrderStatus getStatus() {
         return status;
     }
@@ -139,6 +167,22 @@ public class Order {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getReservationExpiresAt() {
+        return reservationExpiresAt;
+    }
+
+    public void setReservationExpiresAt(LocalDateTime reservationExpiresAt) {
+        this.reservationExpiresAt = reservationExpiresAt;
+    }
+
+    public String getReservationToken() {
+        return reservationToken;
+    }
+
+    public void setReservationToken(String reservationToken) {
+        this.reservationToken = reservationToken;
+    }
+
     // Helper methods
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
@@ -153,11 +197,30 @@ public class Order {
     }
 
     // Business methods
+    /**
+     * Sum of the item subtotals less the cart discount, in the currency all items share.
+     * Items are priced in the order currency when the order is placed, so a mix means the
+     * total would add up different currencies.
+     */
     public void recalculateTotalAmount() {
-        this.totalAmount = orderItems.stream()
-                .map(OrderItem::getSubtotal)
-                .filter(subtotal -> subtotal != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal subtotal = BigDecimal.ZERO;
+        String itemCurrency = null;
+        for (OrderItem item : orderItems) {
+            if (item.getSubtotal() == null) {
+                continue;
+            }
+            if (itemCurrency == null) {
+                itemCurrency = item.getCurrency();
+            } else if (!itemCurrency.equals(item.getCurrency())) {
+                throw new IllegalStateException("Order items are in different currencies: "
+                        + itemCurrency + " and " + item.getCurrency());
+            }
+            subtotal = subtotal.add(item.getSubtotal());
+        }
+        if (itemCurrency != null) {
+            this.currency = itemCurrency;
+        }
+        this.totalAmount = discountAmount != null ? subtotal.subtract(discountAmount).max(BigDecimal.ZERO) : subtotal;
     }
 
     public boolean canBeCanceled() {
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +15,9 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     // Find order items by order id
     List<OrderItem> findByOrderId(Long orderId);
     
+    // Items of several orders, for order pages loaded without them
+    List<OrderItem> findByOrderIdInOrderById(Collection<Long> orderIds);
+    
     // Find order items by product id
     List<OrderItem> findByProductId(Long productId);
     
@@ -0,0 +1,20 @@
+package com.shop.order.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads of selected order columns, for clients that ask for a few fields only
+ */
+public interface OrderProjections {
+
+    /**
+     * One tuple per order with an element per property, aliased by the property name.
+     *
+     * @param properties Order attribute names; callers pass only names of
+     *                   {@link com.shop.order.dto.OrderFields#PROPERTIES}, as they go into the query
+     */
+    List<Tuple> findProperties(Collection<Long> ids, List<String> properties);
+}
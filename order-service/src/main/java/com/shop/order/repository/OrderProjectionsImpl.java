@@ -0,0 +1,27 @@
+package com.shop.order.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class OrderProjectionsImpl implements OrderProjections {
+
+    private final EntityManager entityManager;
+
+    OrderProjectionsImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Tuple> findProperties(Collection<Long> ids, List<String> properties) {
+        String select = properties.stream()
+                .map(property -> "o." + property + " AS " + property)
+                .collect(Collectors.joining(", "));
+        return entityManager.createQuery("SELECT " + select + " FROM Order o WHERE o.id IN :ids", Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
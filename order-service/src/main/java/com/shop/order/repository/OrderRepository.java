@@ -1,17 +1,36 @@
 package com.shop.order.repository;
 
+import com.shop.order.dto.OrderExportRow;
 import com.shop.order.model.Order;
 import com.shop.order.model.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderProjections {
+
+    interface PendingReservation {
+        Long getId();
+
+        LocalDateTime getReservationExpiresAt();
+    }
 
     // Find orders by user id
     List<Order> findByUserId(Long userId);
@@ -36,4 +55,63 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     // Find orders created between dates with pagination
     Page<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    // Two-phase paging, phase 1: page over order IDs only, so LIMIT/OFFSET apply to orders, not joined rows
+    @Query(value = "SELECT o.id FROM Order o", countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Long> findIdPage(Pageable pageable);
+
+    // Bounded by creation time, so MySQL reads only the monthly partitions the range covers
+    @Query(value = "SELECT o.id FROM Order o " +
+                   "WHERE (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to)",
+           countQuery = "SELECT COUNT(o) FROM Order o " +
+                   "WHERE (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to)")
+    Page<Long> findIdPageCreatedBetween(@Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM Order o WHERE o.userId = :userId",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.userId = :userId")
+    Page<Long> findIdPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Status changes lock the order row, so they serialise with expireReservation's conditional UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdateById(@Param("id") Long id);
+
+    // Two-phase paging, phase 2: load the orders of one ID page together with their items in one query
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    // Stock holds of unpaid orders, see StockReservationService
+    @Query("SELECT o.id AS id, o.reservationExpiresAt AS reservationExpiresAt FROM Order o " +
+           "WHERE o.reservationExpiresAt IS NOT NULL AND o.status = com.shop.order.model.enums.OrderStatus.NEW " +
+           "ORDER BY o.id")
+    List<PendingReservation> findPendingReservations(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.reservationExpiresAt <= :now " +
+           "AND o.status = com.shop.order.model.enums.OrderStatus.NEW ORDER BY o.reservationExpiresAt")
+    List<Long> findExpiredReservationIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Cancels the order only if it is still unpaid and its hold has expired; returns 0 when
+    // a payment or another instance got there first
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.shop.order.model.enums.OrderStatus.CANCELED, " +
+           "o.reservationExpiresAt = NULL, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = com.shop.order.model.enums.OrderStatus.NEW " +
+           "AND o.reservationExpiresAt <= :now")
+    int expireReservation(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Order lines for exports as a forward-only result stream (MySQL streams rows only with
+    // fetch size Integer.MIN_VALUE). Constructor projections keep the persistence context empty.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.shop.order.dto.OrderExportRow(o.id, o.userId, o.userEmail, o.status, o.totalAmount, " +
+           "o.createdAt, i.id, i.productId, i.productName, i.quantity, i.unitPrice, i.subtotal, i.currency) " +
+           "FROM Order o LEFT JOIN o.orderItems i " +
+           "WHERE (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to) " +
+           "ORDER BY o.id, i.id")
+    Stream<OrderExportRow> streamOrderLinesForExport(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
 }
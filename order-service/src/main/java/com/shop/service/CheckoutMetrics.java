@@ -0,0 +1,60 @@
+package com.shop.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-phase timers of order placement and status changes, published as
+ * {@code order.checkout.phase} with the tags {@code operation}, {@code phase} and
+ * {@code outcome} (success or failure).
+ * <p>
+ * The percentile histogram and SLO buckets are configured in application.properties under
+ * {@code management.metrics.distribution.*.order.checkout.phase}, so they can be tuned per
+ * environment without a rebuild.
+ */
+@Component
+public class CheckoutMetrics {
+
+    public static final String TIMER = "order.checkout.phase";
+
+    public static final String CREATE = "create";
+    public static final String UPDATE_STATUS = "update_status";
+    public static final String EXPIRE_RESERVATION = "expire_reservation";
+
+    private final MeterRegistry meterRegistry;
+
+    public CheckoutMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String operation, String phase, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer(operation, phase, outcome));
+        }
+    }
+
+    public void time(String operation, String phase, Runnable action) {
+        time(operation, phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private Timer timer(String operation, String phase, String outcome) {
+        return Timer.builder(TIMER)
+                .description("Time spent in one phase of an order operation")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
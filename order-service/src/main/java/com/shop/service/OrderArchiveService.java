@@ -0,0 +1,279 @@
+package com.shop.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code orders} and moves completed orders out of them.
+ * <p>
+ * Partitions for the coming months are split off the {@code p_future} catch-all while it is
+ * still empty, which is a metadata-only change. DELIVERED and CANCELED orders in partitions
+ * older than the retention period are copied with their items to the compressed archive
+ * tables and deleted in small batches; a partition left empty is then dropped. The hot table
+ * therefore holds a bounded number of months however long the shop runs.
+ * <p>
+ * Every step is idempotent (archive inserts ignore rows that are already there), so a run that
+ * is interrupted is completed by the next one. Runs are serialised across instances with a MySQL
+ * named lock; an instance that does not get it skips the run. Partition changes that another
+ * instance, or a run without the lock, already made are accepted rather than reported as errors.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{6}");
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final String ARCHIVABLE_IDS_SQL =
+            "SELECT id FROM orders PARTITION (%s) WHERE status IN ('DELIVERED', 'CANCELED') ORDER BY id LIMIT ?";
+
+    private static final String ARCHIVE_ITEMS_SQL =
+            "INSERT IGNORE INTO order_items_archive " +
+            "(id, order_id, product_id, product_name, quantity, unit_price, subtotal, currency) " +
+            "SELECT id, order_id, product_id, product_name, quantity, unit_price, subtotal, currency " +
+            "FROM order_items WHERE order_id IN (:ids)";
+
+    private static final String ARCHIVE_ORDERS_SQL =
+            "INSERT IGNORE INTO orders_archive (id, user_id, user_email, total_amount, discount_amount, currency, " +
+            "status, created_at, updated_at) " +
+            "SELECT id, user_id, user_email, total_amount, discount_amount, currency, status, created_at, updated_at " +
+            "FROM orders PARTITION (%s) WHERE id IN (:ids)";
+
+    private static final String DELETE_ITEMS_SQL =
+            "DELETE FROM order_items WHERE order_id IN (:ids)";
+
+    private static final String DELETE_ORDERS_SQL =
+            "DELETE FROM orders PARTITION (%s) WHERE id IN (:ids)";
+
+    private static final String PARTITION_HAS_ROWS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM orders PARTITION (%s))";
+
+    private static final String LOCK_NAME = "order_partition_maintenance";
+
+    private record Partition(String name, String description) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int partitionsAhead;
+    private final int batchSize;
+
+    public OrderArchiveService(JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${order.archive.enabled:true}") boolean enabled,
+                               @Value("${order.archive.retention-months:12}") int retentionMonths,
+                               @Value("${order.archive.partitions-ahead:3}") int partitionsAhead,
+                               @Value("${order.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.partitionsAhead = partitionsAhead;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Failures are logged rather than failing startup: orders still land in {@code p_future},
+     * and the daily run retries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            withLock(this::ensurePartitions);
+        } catch (DataAccessException ex) {
+            logger.error("Orders partition maintenance failed on startup", ex);
+        }
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}", zone = "UTC")
+    public void runMaintenance() {
+        if (!enabled) {
+            return;
+        }
+        withLock(() -> {
+            ensurePartitions();
+            archive();
+        });
+    }
+
+    /**
+     * Run the task holding the MySQL named lock of the job, or skip it if another instance holds
+     * it. The lock belongs to the connection it was taken on, which is kept for the duration.
+     */
+    private void withLock(Runnable task) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!namedLock(connection, "SELECT GET_LOCK(?, 0)")) {
+                logger.info("Orders partition maintenance is running on another instance, skipping");
+                return null;
+            }
+            try {
+                task.run();
+            } finally {
+                namedLock(connection, "SELECT RELEASE_LOCK(?)");
+            }
+            return null;
+        });
+    }
+
+    private static boolean namedLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    /**
+     * Split a partition for each of the current and next {@code partitionsAhead} months off
+     * {@code p_future}. Orders are never rejected when this falls behind: they land in
+     * {@code p_future} until the month gets its own partition.
+     */
+    public void ensurePartitions() {
+        List<Partition> partitions = loadPartitions();
+        if (partitions.isEmpty() || !"p_future".equals(partitions.get(partitions.size() - 1).name())) {
+            logger.warn("orders is not partitioned by month, skipping partition maintenance");
+            return;
+        }
+        YearMonth last = partitions.stream()
+                .map(Partition::name)
+                .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name.substring(1), DateTimeFormatter.ofPattern("yyyyMM")))
+                .max(YearMonth::compareTo)
+                .orElse(null);
+        YearMonth target = YearMonth.now(ZoneOffset.UTC).plusMonths(partitionsAhead);
+        YearMonth next = last != null ? last.plusMonths(1) : YearMonth.now(ZoneOffset.UTC);
+
+        while (!next.isAfter(target)) {
+            String name = next.format(PARTITION_NAME);
+            try {
+                jdbcTemplate.execute("ALTER TABLE orders REORGANIZE PARTITION p_future INTO (" +
+                        "PARTITION " + name + " VALUES LESS THAN ('" + next.plusMonths(1).atDay(1) + "'), " +
+                        "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+                logger.info("Added orders partition {}", name);
+            } catch (DataAccessException ex) {
+                if (!hasPartition(name)) {
+                    throw ex;
+                }
+                logger.info("Orders partition {} was added concurrently", name);
+            }
+            next = next.plusMonths(1);
+        }
+    }
+
+    /**
+     * Archive completed orders from every partition that lies entirely before the retention
+     * cutoff and drop the partitions that end up empty. Returns the number of archived orders.
+     */
+    public long archive() {
+        LocalDate cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths).atDay(1);
+        long archived = 0;
+        // Partitions are listed oldest first, so the first one reaching past the cutoff ends the run
+        for (Partition partition : loadPartitions()) {
+            if (upperBound(partition).isAfter(cutoff.atStartOfDay())) {
+                break;
+            }
+            archived += archivePartition(partition.name());
+        }
+        if (archived > 0) {
+            logger.info("Archived {} orders created before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private long archivePartition(String partition) {
+        long archived = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(ARCHIVABLE_IDS_SQL.formatted(partition), Long.class, batchSize);
+            if (!ids.isEmpty()) {
+                MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+                transactionTemplate.executeWithoutResult(status -> {
+                    namedParameterJdbcTemplate.update(ARCHIVE_ITEMS_SQL, params);
+                    namedParameterJdbcTemplate.update(ARCHIVE_ORDERS_SQL.formatted(partition), params);
+                    namedParameterJdbcTemplate.update(DELETE_ITEMS_SQL, params);
+                    namedParameterJdbcTemplate.update(DELETE_ORDERS_SQL.formatted(partition), params);
+                });
+                archived += ids.size();
+            }
+        } while (ids.size() == batchSize);
+
+        Boolean hasRows = jdbcTemplate.queryForObject(PARTITION_HAS_ROWS_SQL.formatted(partition), Boolean.class);
+        if (Boolean.FALSE.equals(hasRows)) {
+            // The emptied range falls to the next partition, which only matters for back-dated inserts
+            try {
+                jdbcTemplate.execute("ALTER TABLE orders DROP PARTITION " + partition);
+                logger.info("Dropped archived orders partition {}", partition);
+            } catch (DataAccessException ex) {
+                if (hasPartition(partition)) {
+                    throw ex;
+                }
+                logger.info("Orders partition {} was dropped concurrently", partition);
+            }
+        } else {
+            logger.info("Orders partition {} still holds orders that are not completed", partition);
+        }
+        return archived;
+    }
+
+    private boolean hasPartition(String name) {
+        return loadPartitions().stream().anyMatch(partition -> partition.name().equals(name));
+    }
+
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString(1), rs.getString(2)));
+    }
+
+    /**
+     * Exclusive upper bound of a partition; descriptions look like {@code '2026-02-01 00:00:00'}
+     * or {@code MAXVALUE}.
+     */
+    private static LocalDateTime upperBound(Partition partition) {
+        String value = partition.description().replace("'", "").trim();
+        if (value.equalsIgnoreCase("MAXVALUE")) {
+            return LocalDateTime.MAX;
+        }
+        return value.length() <= 10
+                ? LocalDate.parse(value).atStartOfDay()
+                : LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+}
@@ -0,0 +1,180 @@
+package com.shop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.order.dto.OrderCreateDTO;
+import com.shop.order.exception.IdempotencyKeyInProgressException;
+import com.shop.order.exception.IdempotencyKeyReusedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Idempotency-Key handling for order creation, so a client may retry a timed-out request
+ * without creating a second order or reserving stock twice.
+ * <p>
+ * The first request claims the key in its own short transaction before any remote call.
+ * The order ID is attached to the key in the transaction that saves the order, so the
+ * key and the order commit together. A request that fails or rolls back releases its
+ * claim, which makes the key usable again.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final int CLEANUP_BATCH_SIZE = 5000;
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO order_idempotency_keys (key_hash, request_hash, expires_at) VALUES (?, ?, ?)";
+
+    // An expired key may be claimed again as if it had never been used
+    private static final String RECLAIM_EXPIRED_SQL =
+            "UPDATE order_idempotency_keys SET request_hash = ?, order_id = NULL, created_at = ?, expires_at = ? " +
+            "WHERE key_hash = ? AND expires_at < ?";
+
+    private static final String FIND_SQL =
+            "SELECT request_hash, order_id FROM order_idempotency_keys WHERE key_hash = ?";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE order_idempotency_keys SET order_id = ? WHERE key_hash = ?";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM order_idempotency_keys WHERE key_hash = ? AND order_id IS NULL";
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM order_idempotency_keys WHERE expires_at < ? LIMIT " + CLEANUP_BATCH_SIZE;
+
+    /**
+     * Outcome of claiming a key: either the current request owns it, or it replays the
+     * order created by an earlier request.
+     */
+    public record Claim(byte[] keyHash, Long replayOrderId) {
+
+        public boolean isReplay() {
+            return replayOrderId != null;
+        }
+    }
+
+    private record StoredKey(byte[] requestHash, Long orderId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int ttlHours;
+
+    public OrderIdempotencyService(JdbcTemplate jdbcTemplate,
+                                   ObjectMapper objectMapper,
+                                   @Value("${order.idempotency.ttl-hours:24}") int ttlHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlHours = ttlHours;
+    }
+
+    /**
+     * Claim a key for a new order, or find the order that an earlier request with the same
+     * key and body created.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Claim claim(Long userId, String idempotencyKey, OrderCreateDTO request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        byte[] keyHash = sha256((userId + ":" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        byte[] requestHash = fingerprint(request);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Timestamp expiresAt = Timestamp.valueOf(now.plusHours(ttlHours));
+
+        try {
+            jdbcTemplate.update(CLAIM_SQL, keyHash, requestHash, expiresAt);
+            return new Claim(keyHash, null);
+        } catch (DuplicateKeyException ex) {
+            // Key seen before: reclaim it if expired, otherwise replay or reject below
+        }
+
+        if (jdbcTemplate.update(RECLAIM_EXPIRED_SQL, requestHash, Timestamp.valueOf(now), expiresAt,
+                keyHash, Timestamp.valueOf(now)) == 1) {
+            return new Claim(keyHash, null);
+        }
+
+        List<StoredKey> stored = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new StoredKey(rs.getBytes(1), rs.getObject(2, Long.class)), keyHash);
+        if (stored.isEmpty()) {
+            // Released by a failed request in the meantime; the client should simply retry
+            throw new IdempotencyKeyInProgressException();
+        }
+        StoredKey key = stored.get(0);
+        if (!Arrays.equals(key.requestHash(), requestHash)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        if (key.orderId() == null) {
+            throw new IdempotencyKeyInProgressException();
+        }
+        logger.info("Replaying order {} for user ID {} from its Idempotency-Key", key.orderId(), userId);
+        return new Claim(keyHash, key.orderId());
+    }
+
+    /**
+     * Attach the created order to the key. Runs in the caller's transaction, so the key
+     * only points at an order that was actually committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(Claim claim, Long orderId) {
+        jdbcTemplate.update(COMPLETE_SQL, orderId, claim.keyHash());
+    }
+
+    /**
+     * Give the key back after a failed request so that a retry runs again.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(Claim claim) {
+        jdbcTemplate.update(RELEASE_SQL, claim.keyHash());
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpiredKeys() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(CLEANUP_SQL, now);
+            deleted += batch;
+        } while (batch == CLEANUP_BATCH_SIZE);
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private byte[] fingerprint(OrderCreateDTO request) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Order request cannot be serialized", ex);
+        }
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
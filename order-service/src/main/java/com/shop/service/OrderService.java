@@ -3,37 +3,49 @@ package com.shop.service;
 import com.shop.mapper.OrderMapper;
 import com.shop.mapper.OrderMapper.ProductSnapshot;
 import com.shop.events.avro.OrderEvent;
+import com.shop.events.avro.OrderEventItem;
+import com.shop.order.dto.CartQuoteDTO;
 import com.shop.order.dto.OrderCreateDTO;
 import com.shop.order.dto.OrderDTO;
+import com.shop.order.dto.OrderFields;
 import com.shop.order.dto.OrderStatusUpdateDTO;
-import com.shop.order.dto.ProductDTO;
+import com.shop.order.exception.OrderTotalChangedException;
 import com.shop.order.exception.ResourceNotFoundException;
 import com.shop.order.model.Order;
 import com.shop.order.model.OrderItem;
 import com.shop.order.model.enums.OrderStatus;
+import com.shop.order.repository.OrderItemRepository;
 import com.shop.order.repository.OrderRepository;
+import jakarta.persistence.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClientException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,184 +54,512 @@ public class OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final OrderMapper orderMapper;
     private final RestTemplate restTemplate;
     private final String productServiceUrl;
     private final KafkaTemplate<String, OrderEvent> orderEventKafkaTemplate;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final StockReservationService stockReservationService;
+    private final PendingStockReservationService pendingStockReservationService;
+    private final CheckoutMetrics checkoutMetrics;
 
     public OrderService(OrderRepository orderRepository,
+                        OrderItemRepository orderItemRepository,
                         OrderMapper orderMapper,
+                        OrderIdempotencyService orderIdempotencyService,
+                        TransactionTemplate transactionTemplate,
+                        StockReservationService stockReservationService,
+                        PendingStockReservationService pendingStockReservationService,
+                        CheckoutMetrics checkoutMetrics,
+                        RestTemplateBuilder restTemplateBuilder,
                         @Value("${product-service.url:http://product-service:8084}") String productServiceUrl,
+                        @Value("${product-service.connect-timeout-ms:1000}") int connectTimeoutMillis,
+                        @Value("${product-service.read-timeout-ms:3000}") int readTimeoutMillis,
                         @Qualifier("orderEventKafkaTemplate") KafkaTemplate<String, OrderEvent> orderEventKafkaTemplate) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
         this.orderMapper = orderMapper;
-        this.restTemplate = new RestTemplate();
+        // Built by Boot's builder so calls are timed and carry the trace context
+        this.restTemplate = restTemplateBuilder
+                .requestFactory(() -> requestFactory(connectTimeoutMillis, readTimeoutMillis))
+                .build();
         this.productServiceUrl = productServiceUrl;
         this.orderEventKafkaTemplate = orderEventKafkaTemplate;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.stockReservationService = stockReservationService;
+        this.pendingStockReservationService = pendingStockReservationService;
+        this.checkoutMetrics = checkoutMetrics;
+    }
+
+    /**
+     * Remote calls fail fast; order creation is safe to retry with an idempotency key.
+     */
+    private static SimpleClientHttpRequestFactory requestFactory(int connectTimeoutMillis, int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMillis);
+        factory.setReadTimeout(readTimeoutMillis);
+        return factory;
     }
 
     @Transactional(readOnly = true)
-    public Page<OrderDTO> getAllOrders(Pageable pageable) {
+    public Page<OrderDTO> getAllOrders(LocalDateTime from, LocalDateTime to, Pageable pageable, OrderFields fields) {
         logger.info("Fetching all orders with pagination");
-        return orderRepository.findAll(pageable).map(orderMapper::toDTO);
+        if (from == null && to == null) {
+            return loadOrders(orderRepository.findIdPage(pageable), fields);
+        }
+        return loadOrders(orderRepository.findIdPageCreatedBetween(from, to, pageable), fields);
     }
 
     @Transactional(readOnly = true)
-    public Page<OrderDTO> getOrdersByUserId(Long userId, Pageable pageable) {
+    public Page<OrderDTO> getOrdersByUserId(Long userId, Pageable pageable, OrderFields fields) {
         logger.info("Fetching orders for user ID: {}", userId);
-        return orderRepository.findByUserId(userId, pageable).map(orderMapper::toDTO);
+        return loadOrders(orderRepository.findIdPageByUserId(userId, pageable), fields);
     }
 
     @Transactional(readOnly = true)
-    public OrderDTO getOrderById(Long id) {
+    public OrderDTO getOrderById(Long id, OrderFields fields) {
         logger.info("Fetching order with ID: {}", id);
-        return orderMapper.toDTO(findOrderById(id));
+        if (fields.isAll()) {
+            return orderMapper.toDTO(findOrderById(id));
+        }
+        List<OrderDTO> orders = loadOrderFields(List.of(id), fields);
+        if (orders.isEmpty()) {
+            throw new ResourceNotFoundException("Order", "id", id);
+        }
+        return orders.get(0);
     }
 
-    @Transactional
-    public OrderDTO createOrder(OrderCreateDTO orderCreateDTO, Long userId, String userEmail) {
+    /**
+     * Create an order. With an idempotency key, a retry of an earlier request returns the order
+     * that request created instead of placing it, and reserving its stock, a second time.
+     */
+    public OrderDTO createOrder(OrderCreateDTO orderCreateDTO, Long userId, String userEmail, String idempotencyKey) {
         logger.info("Creating new order for user ID: {}", userId);
         if (orderCreateDTO == null || orderCreateDTO.getItems() == null || orderCreateDTO.getItems().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
+        if (idempotencyKey == null) {
+            return placeOrder(orderCreateDTO, userId, userEmail, null);
+        }
 
-        List<Long> productIds = orderCreateDTO.getItems().stream()
-                .map(OrderCreateDTO.OrderItemCreateDTO::getProductId)
-                .toList();
-
-        List<ProductDTO> products = fetchProducts(productIds);
-        validateStock(orderCreateDTO, products);
+        OrderIdempotencyService.Claim claim = checkoutMetrics.time(CheckoutMetrics.CREATE, "idempotency_claim",
+                () -> orderIdempotencyService.claim(userId, idempotencyKey, orderCreateDTO));
+        if (claim.isReplay()) {
+            return transactionTemplate.execute(status -> orderMapper.toDTO(findOrderById(claim.replayOrderId())));
+        }
+        try {
+            return placeOrder(orderCreateDTO, userId, userEmail, claim);
+        } catch (RuntimeException ex) {
+            orderIdempotencyService.release(claim);
+            throw ex;
+        }
+    }
 
-        Order order = orderMapper.createOrderFromDTO(orderCreateDTO, userId, userEmail, orderMapper.toSnapshots(products));
-        reserveStock(orderCreateDTO, products);
+    /**
+     * Order creation pipeline. The product lookups and stock reservations are remote calls
+     * and run before any transaction is opened, so no database connection waits on
+     * product-service. The local transaction only inserts the order and completes the
+     * idempotency key. If that transaction fails, the reserved stock is released again.
+     * <p>
+     * The reservation carries a token that is recorded as pending before product-service is
+     * called, so reserve and release requests may be retried or overtake each other, and a
+     * reservation whose checkout died before storing the order is released by the sweep.
+     * <p>
+     * With an expected total, an order whose quoted total differs is refused with 412.
+     */
+    private OrderDTO placeOrder(OrderCreateDTO orderCreateDTO, Long userId, String userEmail,
+                                OrderIdempotencyService.Claim claim) {
+
+        // 1. Remote validation: one quote prices every line and reports its stock
+        CartQuoteDTO quote = checkoutMetrics.time(CheckoutMetrics.CREATE, "fetch_products",
+                () -> quoteOrder(orderCreateDTO));
+        checkoutMetrics.time(CheckoutMetrics.CREATE, "validate_stock", () -> validateStock(orderCreateDTO, quote));
+
+        Order order = orderMapper.createOrderFromDTO(orderCreateDTO, userId, userEmail, orderMapper.toSnapshots(quote.getLines()));
+        if (quote.getDiscount() != null) {
+            order.setDiscountAmount(quote.getDiscount());
+            order.recalculateTotalAmount();
+        }
+        // Refused before any stock is taken, so nothing has to be given back
+        if (orderCreateDTO.getExpectedTotal() != null
+                && orderCreateDTO.getExpectedTotal().compareTo(order.getTotalAmount()) != 0) {
+            throw new OrderTotalChangedException(orderCreateDTO.getExpectedTotal(), order.getTotalAmount());
+        }
+        order.setReservationExpiresAt(stockReservationService.newExpiry());
+        order.setReservationToken(UUID.randomUUID().toString());
+        Map<Long, Integer> quantities = orderCreateDTO.getItems().stream()
+                .collect(Collectors.toMap(OrderCreateDTO.OrderItemCreateDTO::getProductId,
+                        OrderCreateDTO.OrderItemCreateDTO::getQuantity, Integer::sum, LinkedHashMap::new));
+
+        // 2. Remote reservation; undoes its own partial work when a line cannot be reserved
+        checkoutMetrics.time(CheckoutMetrics.CREATE, "reserve_stock",
+                () -> reserveStock(order.getReservationToken(), quantities, order.getReservationExpiresAt()));
+
+        // 3. Short local transaction
+        Order savedOrder;
+        try {
+            savedOrder = checkoutMetrics.time(CheckoutMetrics.CREATE, "save", () -> transactionTemplate.execute(status -> {
+                if (!pendingStockReservationService.takeOver(order.getReservationToken())) {
+                    throw new IllegalStateException("Stock reservation expired before the order was stored");
+                }
+                Order saved = orderRepository.save(order);
+                if (claim != null) {
+                    orderIdempotencyService.complete(claim, saved.getId());
+                }
+                stockReservationService.holdAfterCommit(saved.getId(), saved.getReservationExpiresAt());
+                return saved;
+            }));
+        } catch (RuntimeException ex) {
+            // 4. Compensation: the order was not stored, so its stock goes back
+            logger.error("Storing order for user ID {} failed, releasing its reserved stock", userId, ex);
+            checkoutMetrics.time(CheckoutMetrics.CREATE, "release_stock",
+                    () -> releaseStock(order.getReservationToken(), quantities));
+            throw ex;
+        }
 
-        Order savedOrder = orderRepository.save(order);
         logger.info("Order created with ID: {}", savedOrder.getId());
-        sendOrderCreatedEvent(savedOrder);
+        sendOrderEvent(savedOrder, CheckoutMetrics.CREATE);
         return orderMapper.toDTO(savedOrder);
     }
 
+    /**
+     * The order is read with a row lock held until commit. An expiry of its stock hold either
+     * completed before, and the order is seen as CANCELED, or waits and then finds it no longer
+     * NEW; the stock is never both released by the expiry and kept by a payment or released twice.
+     * <p>
+     * The stock of a canceled order is released and the order event sent only after commit, so
+     * neither happens for a change that rolls back. The release is recorded in the transaction,
+     * and the reservation sweep makes it if product-service cannot be reached at that point.
+     */
     @Transactional
     public OrderDTO updateOrderStatus(Long id, OrderStatusUpdateDTO statusUpdateDTO) {
         logger.info("Updating status for order ID: {} to {}", id, statusUpdateDTO.getStatus());
 
-        Order order = findOrderById(id);
+        Order order = checkoutMetrics.time(CheckoutMetrics.UPDATE_STATUS, "load",
+                () -> orderRepository.findForUpdateById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id)));
 
         if (statusUpdateDTO.getStatus() == OrderStatus.CANCELED) {
             if (!order.canBeCanceled()) {
                 throw new IllegalStateException("Cannot cancel order in status: " + order.getStatus());
             }
             order.cancel();
-            restoreStock(order.getOrderItems());
+            restoreStockAfterCommit(order, CheckoutMetrics.UPDATE_STATUS);
         } else {
+            // A canceled order may have had its stock returned by an expired reservation
+            if (order.getStatus() == OrderStatus.CANCELED) {
+                throw new IllegalStateException("Cannot change status of a canceled order to: " + statusUpdateDTO.getStatus());
+            }
             orderMapper.updateOrderStatus(order, statusUpdateDTO);
         }
+        // Leaving NEW commits the stock hold (paid) or releases it (canceled)
+        if (order.getStatus() != OrderStatus.NEW) {
+            order.setReservationExpiresAt(null);
+            AfterCommit.run(() -> stockReservationService.forget(id));
+        }
 
-        return orderMapper.toDTO(orderRepository.save(order));
+        // Flushed here so the timed phase includes the UPDATE rather than leaving it to the commit
+        Order updatedOrder = checkoutMetrics.time(CheckoutMetrics.UPDATE_STATUS, "save",
+                () -> orderRepository.saveAndFlush(order));
+        OrderEvent event = toOrderEvent(updatedOrder);
+        AfterCommit.run(() -> sendOrderEvent(updatedOrder, event, CheckoutMetrics.UPDATE_STATUS));
+        return orderMapper.toDTO(updatedOrder);
     }
 
-    private Order findOrderById(Long id) {
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    /**
+     * Cancel an unpaid order whose stock hold has expired and return its stock. As with a
+     * cancellation, the stock is released and the event sent only after commit.
+     *
+     * @return false if the order was paid, canceled or expired elsewhere in the meantime
+     */
+    @Transactional
+    public boolean expireReservation(Long id) {
+        if (orderRepository.expireReservation(id, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        Order order = findOrderById(id);
+        restoreStockAfterCommit(order, CheckoutMetrics.EXPIRE_RESERVATION);
+        OrderEvent event = toOrderEvent(order);
+        AfterCommit.run(() -> sendOrderEvent(order, event, CheckoutMetrics.EXPIRE_RESERVATION));
+        return true;
     }
 
-    private List<ProductDTO> fetchProducts(List<Long> productIds) {
-        List<ProductDTO> products = new ArrayList<>();
-        for (Long productId : productIds) {
-            products.add(fetchProduct(productId));
+    /**
+     * Release the stock of a checkout that never stored its order, or of a canceled order whose
+     * release failed after commit. Its pending lines stay locked until commit, so a checkout that
+     * is still running cannot store the order meanwhile; a failed release rolls back and is
+     * retried by the next sweep.
+     *
+     * @return false if the order was stored or the reservation released elsewhere in the meantime
+     */
+    @Transactional
+    public boolean releasePendingReservation(String reservation) {
+        Map<Long, Integer> quantities = pendingStockReservationService.lock(reservation);
+        if (quantities.isEmpty()) {
+            return false;
         }
-        return products;
+        quantities.forEach((productId, quantity) -> adjustProductStock(productId, quantity, "release", reservation));
+        pendingStockReservationService.delete(reservation);
+        return true;
     }
 
-    private ProductDTO fetchProduct(Long productId) {
+    /**
+     * Second phase of paged order loading: fetch the orders of an ID page with their items
+     * in a single query and restore the page order. A page costs three queries (count, IDs,
+     * orders with items) whatever its size, instead of one extra item query per order.
+     * Pages with only some fields requested are read column by column instead.
+     */
+    private Page<OrderDTO> loadOrders(Page<Long> idPage, OrderFields fields) {
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), idPage.getPageable(), idPage.getTotalElements());
+        }
+        if (!fields.isAll()) {
+            return new PageImpl<>(loadOrderFields(idPage.getContent(), fields), idPage.getPageable(),
+                    idPage.getTotalElements());
+        }
+
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findWithItemsByIdIn(idPage.getContent())) {
+            ordersById.put(order.getId(), order);
+        }
+
+        List<OrderDTO> orders = new ArrayList<>(idPage.getNumberOfElements());
+        for (Long id : idPage.getContent()) {
+            Order order = ordersById.get(id);
+            if (order != null) {
+                orders.add(orderMapper.toDTO(order));
+            }
+        }
+        return new PageImpl<>(orders, idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    /**
+     * Second phase for clients that asked for some fields only: the requested columns are read
+     * as tuples, and items in one more query only if they were asked for.
+     */
+    private List<OrderDTO> loadOrderFields(List<Long> ids, OrderFields fields) {
+        Map<Long, OrderDTO> ordersById = new HashMap<>();
+        for (Tuple tuple : orderRepository.findProperties(ids, fields.properties())) {
+            OrderDTO order = orderMapper.toDTO(tuple, fields.properties());
+            ordersById.put(order.getId(), order);
+        }
+        if (fields.items()) {
+            for (OrderItem item : orderItemRepository.findByOrderIdInOrderById(ids)) {
+                OrderDTO order = ordersById.get(item.getOrder().getId());
+                if (order != null) {
+                    order.getOrderItems().add(orderMapper.toOrderItemDTO(item));
+                }
+            }
+        }
+
+        List<OrderDTO> orders = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrderDTO order = ordersById.get(id);
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+
+    private Order findOrderById(Long id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    /**
+     * Price the order in product-service with its current promotions, in a single call whatever
+     * the number of lines. The items of an order have the shape of a quote request.
+     */
+    private CartQuoteDTO quoteOrder(OrderCreateDTO orderCreateDTO) {
         try {
-            ResponseEntity<ProductDTO> response = restTemplate.getForEntity(
-                    productServiceUrl + "/api/products/" + productId,
-                    ProductDTO.class
+            ResponseEntity<CartQuoteDTO> response = restTemplate.postForEntity(
+                    productServiceUrl + "/api/products/quote",
+                    orderCreateDTO,
+                    CartQuoteDTO.class
             );
-            ProductDTO product = response.getBody();
-            if (product == null) {
-                throw new ResourceNotFoundException("Product", "id", productId);
+            CartQuoteDTO quote = response.getBody();
+            if (quote == null || quote.getLines() == null || quote.getLines().size() != orderCreateDTO.getItems().size()) {
+                throw new IllegalStateException("Incomplete price quote for order");
             }
-            return product;
-        } catch (RestClientException ex) {
-            throw new ResourceNotFoundException("Product", "id", productId);
+            return quote;
+        } catch (HttpClientErrorException.NotFound ex) {
+            // One of the products is missing or inactive
+            throw new ResourceNotFoundException("Product", "id", orderCreateDTO.getItems().stream()
+                    .map(OrderCreateDTO.OrderItemCreateDTO::getProductId)
+                    .toList());
         }
     }
 
-    private void validateStock(OrderCreateDTO orderCreateDTO, List<ProductDTO> products) {
-        for (OrderCreateDTO.OrderItemCreateDTO item : orderCreateDTO.getItems()) {
-            ProductDTO product = products.stream()
-                    .filter(p -> Objects.equals(p.getId(), item.getProductId()))
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", item.getProductId()));
-
-            if (product.getStockQuantity() == null || product.getStockQuantity() < item.getQuantity()) {
-                throw new IllegalStateException("Product " + product.getName() + " is out of stock. Available: "
-                        + product.getStockQuantity() + ", Requested: " + item.getQuantity());
+    /**
+     * Quote lines come back in request order, so every item is checked against its own line.
+     */
+    private void validateStock(OrderCreateDTO orderCreateDTO, CartQuoteDTO quote) {
+        List<OrderCreateDTO.OrderItemCreateDTO> items = orderCreateDTO.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            OrderCreateDTO.OrderItemCreateDTO item = items.get(i);
+            CartQuoteDTO.Line line = quote.getLines().get(i);
+            if (!Objects.equals(line.getProductId(), item.getProductId())) {
+                throw new IllegalStateException("Price quote does not match order line " + i);
+            }
+            if (line.getStockQuantity() == null || line.getStockQuantity() < item.getQuantity()) {
+                throw new IllegalStateException("Product " + line.getName() + " is out of stock. Available: "
+                        + line.getStockQuantity() + ", Requested: " + item.getQuantity());
             }
         }
     }
 
-    private void reserveStock(OrderCreateDTO orderCreateDTO, List<ProductDTO> products) {
-        for (OrderCreateDTO.OrderItemCreateDTO item : orderCreateDTO.getItems()) {
-            ProductDTO product = products.stream()
-                    .filter(p -> Objects.equals(p.getId(), item.getProductId()))
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", item.getProductId()));
+    /**
+     * Take the stock of every product with atomic reservations in product-service, after
+     * recording the reservation as pending. If a product cannot be reserved, the products
+     * attempted so far are released again, including the one whose request failed, as it
+     * may have been applied anyway.
+     */
+    private void reserveStock(String reservation, Map<Long, Integer> quantities, LocalDateTime expiresAt) {
+        pendingStockReservationService.open(reservation, quantities, expiresAt);
+        Map<Long, Integer> attempted = new LinkedHashMap<>();
+        Long productId = null;
+        try {
+            for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+                productId = line.getKey();
+                attempted.put(productId, line.getValue());
+                adjustProductStock(productId, line.getValue(), "reserve", reservation);
+            }
+        } catch (RuntimeException ex) {
+            releaseStock(reservation, attempted);
+            if (ex instanceof HttpClientErrorException.Conflict) {
+                throw new IllegalStateException("Product " + productId + " is out of stock");
+            }
+            throw ex;
+        }
+    }
 
-            updateProductStock(product, product.getStockQuantity() - item.getQuantity());
+    /**
+     * Best-effort compensation of a reservation: every line is attempted, and the original
+     * failure is not hidden. Lines that were never reserved are refused by product-service if
+     * their reservation arrives late. When a line cannot be released, the pending reservation
+     * is kept for the sweep to release.
+     */
+    private void releaseStock(String reservation, Map<Long, Integer> quantities) {
+        boolean released = true;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            try {
+                adjustProductStock(line.getKey(), line.getValue(), "release", reservation);
+            } catch (RuntimeException ex) {
+                released = false;
+                logger.error("Failed to release {} units of product {} of reservation {}: {}",
+                        line.getValue(), line.getKey(), reservation, ex.getMessage());
+            }
+        }
+        if (released) {
+            pendingStockReservationService.discard(reservation);
+        } else {
+            logger.warn("Stock reservation {} left for the reservation sweep", reservation);
         }
     }
 
-    private void restoreStock(List<OrderItem> orderItems) {
+    /**
+     * Return the stock of an order canceled in the current transaction once it commits. Orders
+     * with a reservation token record the release as pending first, so a release that fails then
+     * is made by the reservation sweep; older orders are released without a token and only once.
+     */
+    private void restoreStockAfterCommit(Order order, String operation) {
+        List<OrderItem> orderItems = order.getOrderItems();
         if (orderItems == null || orderItems.isEmpty()) {
             return;
         }
 
-        for (OrderItem item : orderItems) {
-            ProductDTO product = fetchProduct(item.getProductId());
-            Integer currentStock = product.getStockQuantity() == null ? 0 : product.getStockQuantity();
-            updateProductStock(product, currentStock + item.getQuantity());
+        Map<Long, Integer> quantities = orderItems.stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum, LinkedHashMap::new));
+        String reservation = order.getReservationToken();
+        if (reservation != null) {
+            pendingStockReservationService.openRelease(reservation, quantities);
         }
+        Long orderId = order.getId();
+        AfterCommit.run(() -> {
+            try {
+                checkoutMetrics.time(operation, "restore_stock", () -> {
+                    if (reservation != null) {
+                        releaseStock(reservation, quantities);
+                    } else {
+                        quantities.forEach((productId, quantity) ->
+                                adjustProductStock(productId, quantity, "release", null));
+                    }
+                });
+            } catch (RuntimeException ex) {
+                logger.error("Failed to restore the stock of canceled order {}: {}", orderId, ex.getMessage());
+            }
+        });
     }
 
-    private void updateProductStock(ProductDTO product, int stockQuantity) {
+    private void adjustProductStock(Long productId, int quantity, String operation, String reservation) {
         Map<String, Object> payload = new HashMap<>();
-        payload.put("name", product.getName());
-        payload.put("description", product.getDescription());
-        payload.put("price", product.getPrice());
-        payload.put("currency", product.getCurrency());
-        payload.put("stockQuantity", stockQuantity);
-        payload.put("imageUrl", null);
-        payload.put("categoryId", product.getCategoryId());
-        payload.put("isActive", product.getIsActive());
-
-        restTemplate.exchange(
-                productServiceUrl + "/api/products/" + product.getId(),
-                HttpMethod.PUT,
-                new HttpEntity<>(payload),
+        payload.put("quantity", quantity);
+        if (reservation != null) {
+            payload.put("reservation", reservation);
+        }
+
+        restTemplate.postForEntity(
+                productServiceUrl + "/api/products/" + productId + "/stock/" + operation,
+                payload,
                 Void.class
         );
     }
 
-    private void sendOrderCreatedEvent(Order order) {
+    /**
+     * Publish the current state of an order, including its lines, on creation and on every
+     * status change. Consumers such as the product sales counters rely on the items.
+     * The timed send covers serialization and handing the record to the producer, not the broker ack.
+     */
+    private void sendOrderEvent(Order order, String operation) {
+        sendOrderEvent(order, toOrderEvent(order), operation);
+    }
+
+    /**
+     * Built while the order is still attached, so its items can be read; sent after commit.
+     */
+    private OrderEvent toOrderEvent(Order order) {
         String createdAtIso = order.getCreatedAt() != null
                 ? order.getCreatedAt().atOffset(ZoneOffset.UTC).toString()
                 : OffsetDateTime.now(ZoneOffset.UTC).toString();
 
-        OrderEvent event = OrderEvent.newBuilder()
+        OrderEvent.Builder event = OrderEvent.newBuilder()
                 .setOrderId(order.getId())
                 .setUserId(order.getUserId())
                 .setUserEmail(order.getUserEmail())
                 .setStatus(com.shop.events.avro.OrderStatus.valueOf(order.getStatus().name()))
                 .setTotalAmount(order.getTotalAmount().doubleValue())
+                .setTotalAmountDecimal(eventAmount(order.getTotalAmount()))
                 .setCreatedAt(createdAtIso)
-                .build();
+                .setItems(order.getOrderItems().stream()
+                        .map(item -> OrderEventItem.newBuilder()
+                                .setProductId(item.getProductId())
+                                .setQuantity(item.getQuantity())
+                                .setSubtotal(item.getSubtotal().doubleValue())
+                                .setSubtotalDecimal(eventAmount(item.getSubtotal()))
+                                .setProductName(item.getProductName())
+                                .build())
+                        .toList());
+        // Orders placed before orders had a currency keep the schema default, the base currency
+        if (order.getCurrency() != null) {
+            event.setCurrency(order.getCurrency());
+        }
+        return event.build();
+    }
+
+    // The decimal fields of order events have scale 2, the scale of order amounts
+    private static BigDecimal eventAmount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
 
+    private void sendOrderEvent(Order order, OrderEvent event, String operation) {
         try {
-            orderEventKafkaTemplate.send("order-events-avro", order.getId().toString(), event);
-            logger.info("Kafka order event sent for order {}", order.getId());
+            checkoutMetrics.time(operation, "kafka_send",
+                    () -> orderEventKafkaTemplate.send("order-events-avro", order.getId().toString(), event));
+            logger.info("Kafka order event {} sent for order {}", order.getStatus(), order.getId());
         } catch (Exception ex) {
             logger.warn("Failed to send Kafka order event for order {}: {}", order.getId(), ex.getMessage());
         }
@@ -0,0 +1,116 @@
+package com.shop.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock reservations of checkouts that have not stored their order yet.
+ * <p>
+ * A checkout writes its reservation token and lines here before product-service is asked for
+ * any stock, and the transaction that stores the order deletes them, handing the token over to
+ * the order. A checkout that fails releases its reservation and deletes the rows itself. If that
+ * release fails, or the instance dies mid-checkout, the rows stay behind and the reservation
+ * sweep releases them once they have expired (see {@link OrderService#releasePendingReservation}).
+ * <p>
+ * Canceling an order writes its lines here again, already expired, so a release that fails
+ * after the cancellation committed is made by the same sweep.
+ */
+@Service
+public class PendingStockReservationService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO pending_stock_reservations (reservation, product_id, quantity, expires_at) VALUES (?, ?, ?, ?)";
+
+    private static final String LOCK_SQL =
+            "SELECT product_id, quantity FROM pending_stock_reservations WHERE reservation = ? " +
+            "ORDER BY product_id FOR UPDATE";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM pending_stock_reservations WHERE reservation = ?";
+
+    private static final String EXPIRED_SQL =
+            "SELECT DISTINCT reservation FROM pending_stock_reservations WHERE expires_at <= ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PendingStockReservationService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Record a reservation before it is made. Commits on its own, so the record survives a
+     * checkout that fails or dies afterwards.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void open(String reservation, Map<Long, Integer> quantities, LocalDateTime expiresAt) {
+        insert(reservation, quantities, expiresAt);
+    }
+
+    /**
+     * Record, in the caller's transaction, that the reservation of a canceled order is to be
+     * released. The release is made after commit; the rows are already expired, so if it fails
+     * the next sweep makes it with the same token.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void openRelease(String reservation, Map<Long, Integer> quantities) {
+        insert(reservation, quantities, LocalDateTime.now());
+    }
+
+    /**
+     * Hand the reservation over to the order stored in the caller's transaction.
+     *
+     * @return false if the sweep released the reservation in the meantime
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean takeOver(String reservation) {
+        return jdbcTemplate.update(DELETE_SQL, reservation) > 0;
+    }
+
+    /**
+     * Lock the lines of a reservation until the caller's transaction ends, which keeps its
+     * checkout from storing the order meanwhile.
+     *
+     * @return product IDs and quantities; empty if the order was stored or the reservation released
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Integer> lock(String reservation) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        jdbcTemplate.query(LOCK_SQL, rs -> {
+            quantities.put(rs.getLong(1), rs.getInt(2));
+        }, reservation);
+        return quantities;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(String reservation) {
+        jdbcTemplate.update(DELETE_SQL, reservation);
+    }
+
+    /**
+     * Forget a reservation whose stock the failed checkout released itself.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void discard(String reservation) {
+        jdbcTemplate.update(DELETE_SQL, reservation);
+    }
+
+    public List<String> findExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(EXPIRED_SQL, String.class, Timestamp.valueOf(now), limit);
+    }
+
+    private void insert(String reservation, Map<Long, Integer> quantities, LocalDateTime expiresAt) {
+        Timestamp expires = Timestamp.valueOf(expiresAt);
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> rows.add(new Object[]{reservation, productId, quantity, expires}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
@@ -0,0 +1,184 @@
+package com.shop.service;
+
+import com.shop.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stock reservations of unpaid orders.
+ * <p>
+ * Creating an order takes the stock off the shelf as a hold that expires after
+ * {@code order.reservation.ttl-minutes}. Paying (or otherwise moving the order past NEW)
+ * commits the hold; a hold that expires cancels the order and returns its stock, so stock
+ * of abandoned checkouts becomes available again without admin intervention.
+ * <p>
+ * Pending holds are tracked in a timing wheel, which fires each expiry within a second at
+ * a constant cost per tick however many holds are open. The wheel is rebuilt from the
+ * database on startup, and a periodic sweep catches holds that no wheel is tracking, such
+ * as those of an instance that went away. Expiry is a conditional update on the order, so
+ * several instances expiring the same hold release its stock once. Status changes lock the
+ * order row first (see {@link OrderService#updateOrderStatus}), so a concurrent payment or
+ * cancellation either waits for the expiry and sees the order canceled, or makes it fail.
+ * Expiries that fail are logged, counted in {@code order.reservation.expiry.failures} and
+ * retried by the sweep.
+ * <p>
+ * The sweep also releases reservations of checkouts that never stored their order, such as
+ * those of an instance that died between reserving stock and saving (see
+ * {@link PendingStockReservationService}).
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private static final String EXPIRY_FAILURES = "order.reservation.expiry.failures";
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final PendingStockReservationService pendingStockReservationService;
+    private final long ttlMinutes;
+    private final int sweepBatchSize;
+    private final ExecutorService expiryExecutor;
+    private final Counter expiryFailures;
+    private final TimingWheel<Long> timingWheel;
+
+    public StockReservationService(OrderRepository orderRepository,
+                                   @Lazy OrderService orderService,
+                                   PendingStockReservationService pendingStockReservationService,
+                                   @Value("${order.reservation.ttl-minutes:15}") long ttlMinutes,
+                                   @Value("${order.reservation.tick-millis:1000}") long tickMillis,
+                                   @Value("${order.reservation.wheel-size:1024}") int wheelSize,
+                                   @Value("${order.reservation.expiry-threads:2}") int expiryThreads,
+                                   @Value("${order.reservation.sweep-batch-size:500}") int sweepBatchSize,
+                                   MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.pendingStockReservationService = pendingStockReservationService;
+        this.ttlMinutes = ttlMinutes;
+        this.sweepBatchSize = sweepBatchSize;
+        this.expiryExecutor = Executors.newFixedThreadPool(expiryThreads);
+        this.expiryFailures = Counter.builder(EXPIRY_FAILURES)
+                .description("Stock reservation expiries that failed and were left for the sweep")
+                .register(meterRegistry);
+        this.timingWheel = new TimingWheel<>("stock-reservation-wheel", tickMillis, wheelSize, this::submitExpiry);
+    }
+
+    /**
+     * Expiry time for a hold taken now.
+     */
+    public LocalDateTime newExpiry() {
+        return LocalDateTime.now().plusMinutes(ttlMinutes);
+    }
+
+    /**
+     * Track a hold once the transaction that created it has committed, so the wheel never
+     * fires for an order that does not exist yet.
+     */
+    public void holdAfterCommit(Long orderId, LocalDateTime expiresAt) {
+        AfterCommit.run(() -> hold(orderId, expiresAt));
+    }
+
+    /**
+     * Stop tracking a hold that was committed or released with its order.
+     */
+    public void forget(Long orderId) {
+        timingWheel.cancel(orderId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingReservations() {
+        int page = 0;
+        long loaded = 0;
+        List<OrderRepository.PendingReservation> reservations;
+        do {
+            reservations = orderRepository.findPendingReservations(PageRequest.of(page++, LOAD_PAGE_SIZE));
+            for (OrderRepository.PendingReservation reservation : reservations) {
+                hold(reservation.getId(), reservation.getReservationExpiresAt());
+                loaded++;
+            }
+        } while (reservations.size() == LOAD_PAGE_SIZE);
+        logger.info("Tracking {} pending stock reservations", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${order.reservation.sweep-interval-ms:60000}")
+    public void sweepExpiredReservations() {
+        List<Long> expired = orderRepository.findExpiredReservationIds(LocalDateTime.now(),
+                PageRequest.of(0, sweepBatchSize));
+        for (Long orderId : expired) {
+            expire(orderId);
+        }
+        if (!expired.isEmpty()) {
+            logger.info("Sweep expired {} stock reservations", expired.size());
+        }
+
+        List<String> abandoned = pendingStockReservationService.findExpired(LocalDateTime.now(), sweepBatchSize);
+        for (String reservation : abandoned) {
+            releaseAbandoned(reservation);
+        }
+        if (!abandoned.isEmpty()) {
+            logger.info("Sweep found {} stock reservations of unfinished checkouts", abandoned.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.close();
+        expiryExecutor.shutdown();
+    }
+
+    private void hold(Long orderId, LocalDateTime expiresAt) {
+        timingWheel.schedule(orderId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void submitExpiry(Long orderId) {
+        try {
+            expiryExecutor.execute(() -> expire(orderId));
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; left in place for the next sweep
+            expiryFailures.increment();
+            logger.warn("Expiry of the stock reservation of order {} not run: {}", orderId, ex.getMessage());
+        }
+    }
+
+    private void expire(Long orderId) {
+        try {
+            if (orderService.expireReservation(orderId)) {
+                logger.info("Stock reservation of order {} expired, order canceled", orderId);
+            }
+        } catch (RuntimeException ex) {
+            // Left in place for the next sweep
+            expiryFailures.increment();
+            logger.warn("Failed to expire stock reservation of order {}: {}", orderId, ex.getMessage());
+        }
+    }
+
+    private void releaseAbandoned(String reservation) {
+        try {
+            if (orderService.releasePendingReservation(reservation)) {
+                logger.info("Stock reservation {} of an unfinished checkout released", reservation);
+            }
+        } catch (RuntimeException ex) {
+            // Left in place for the next sweep
+            logger.warn("Failed to release stock reservation {}: {}", reservation, ex.getMessage());
+        }
+    }
+}
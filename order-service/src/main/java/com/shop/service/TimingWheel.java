@@ -0,0 +1,116 @@
+package com.shop.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of timeouts that are usually cancelled before they fire.
+ * <p>
+ * A deadline is hashed into one of a fixed ring of slots by its tick. Scheduling and cancelling
+ * are O(1); every tick only looks at the entries of one slot, so the cost of a tick does not grow
+ * with the number of pending timeouts. Entries due in a later rotation of the ring simply stay
+ * in their slot until then. Expired keys are handed to the callback on the wheel's own thread,
+ * which should pass slow work on to another executor.
+ */
+public class TimingWheel<K> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final String name;
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<K, Long>> slots;
+    private final Map<K, Integer> slotByKey = new HashMap<>();
+    private final Consumer<K> onExpiry;
+    private final long startMillis;
+    private final ScheduledExecutorService ticker;
+    private long processedTick = -1;
+
+    /**
+     * @param tickMillis resolution of the wheel; timeouts fire up to one tick late
+     * @param wheelSize  number of slots, rounded up to a power of two
+     */
+    public TimingWheel(String name, long tickMillis, int wheelSize, Consumer<K> onExpiry) {
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new LinkedHashMap<>());
+        }
+        this.onExpiry = onExpiry;
+        this.startMillis = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedule (or reschedule) the timeout of a key for the given epoch millis.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max((deadlineMillis - startMillis + tickMillis - 1) / tickMillis, processedTick + 1);
+        int slot = (int) (tick & mask);
+        slots.get(slot).put(key, deadlineMillis);
+        slotByKey.put(key, slot);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Integer slot = slotByKey.remove(key);
+        return slot != null && slots.get(slot).remove(key) != null;
+    }
+
+    public synchronized int size() {
+        return slotByKey.size();
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<K> expired = new ArrayList<>();
+        synchronized (this) {
+            long currentTick = (now - startMillis) / tickMillis;
+            // Catch up on ticks missed while the thread was delayed, at most one full rotation
+            long firstTick = Math.max(processedTick + 1, currentTick - mask);
+            for (long tick = firstTick; tick <= currentTick; tick++) {
+                Map<K, Long> slot = slots.get((int) (tick & mask));
+                slot.entrySet().removeIf(entry -> {
+                    if (entry.getValue() <= now) {
+                        expired.add(entry.getKey());
+                        slotByKey.remove(entry.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            processedTick = currentTick;
+        }
+        for (K key : expired) {
+            try {
+                onExpiry.accept(key);
+            } catch (RuntimeException ex) {
+                // Never let one failing callback stop the wheel
+                logger.warn("Expiry callback of {} failed for {}", name, key, ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
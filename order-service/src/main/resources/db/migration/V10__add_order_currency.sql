@@ -0,0 +1,3 @@
+-- Currency of the order: every item is priced in it when the order is placed, and total_amount
+-- is in it. NULL for orders placed before orders had a currency.
+ALTER TABLE orders ADD COLUMN currency VARCHAR(10) NULL;
@@ -0,0 +1,16 @@
+-- Token of the order's stock reservation in product-service. Releases pass it, so stock is
+-- returned once however often a release is retried. NULL for orders placed before tokens.
+ALTER TABLE orders ADD COLUMN reservation_token VARCHAR(36) NULL;
+
+-- Stock reservations of checkouts that have not stored their order yet (see
+-- PendingStockReservationService). Written before any stock is reserved and deleted in the
+-- transaction that stores the order; rows of failed or crashed checkouts are released by the
+-- reservation sweep once expires_at has passed.
+CREATE TABLE pending_stock_reservations (
+    reservation VARCHAR(36) NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    expires_at DATETIME NOT NULL,
+    PRIMARY KEY (reservation, product_id),
+    INDEX idx_pending_stock_reservations_expires (expires_at)
+) ENGINE=InnoDB;
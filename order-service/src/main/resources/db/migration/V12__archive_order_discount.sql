@@ -0,0 +1,3 @@
+-- The archive keeps the cart promotion discount (V9), so that total_amount of an archived
+-- order can still be told apart from the sum of its item subtotals.
+ALTER TABLE orders_archive ADD COLUMN discount_amount DECIMAL(10,2) NOT NULL DEFAULT 0.00 AFTER total_amount;
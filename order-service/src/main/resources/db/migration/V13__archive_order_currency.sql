@@ -0,0 +1,3 @@
+-- The archive keeps the order currency (V10), in which total_amount and discount_amount are
+-- expressed. NULL, as on orders, for orders placed before orders had a currency.
+ALTER TABLE orders_archive ADD COLUMN currency VARCHAR(10) NULL AFTER discount_amount;
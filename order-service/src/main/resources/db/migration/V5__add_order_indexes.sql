@@ -0,0 +1,15 @@
+-- Secondary indexes for the order repository queries.
+-- InnoDB appends the primary key to every secondary index, so (x, created_at) also
+-- serves "ORDER BY created_at" within x and the ID-only page queries without table lookups.
+
+-- findByUserId / findIdPageByUserId ordered by created_at
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at);
+
+-- findByStatus / findByUserIdAndStatus callers filtering on status, newest first
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+
+-- findByCreatedAtBetween, admin list sorted by created_at, export date ranges
+CREATE INDEX idx_orders_created ON orders (created_at);
+
+-- findByProductId / countByProductId / sumQuantityByProductId (covering: quantity is in the index)
+CREATE INDEX idx_order_items_product_quantity ON order_items (product_id, quantity);
@@ -0,0 +1,57 @@
+-- Monthly RANGE partitioning of orders on created_at, plus compressed archive tables
+-- for completed orders moved out by the archival job (OrderArchiveService).
+
+-- MySQL does not allow foreign keys on partitioned tables. Items are deleted together with
+-- their order by the application (orphan removal, archival job), so the cascade can go;
+-- the index that backed the foreign key is kept for item lookups by order.
+ALTER TABLE order_items DROP FOREIGN KEY fk_order_items_order;
+ALTER TABLE order_items RENAME INDEX fk_order_items_order TO idx_order_items_order;
+
+-- Every unique key of a partitioned table must contain the partitioning column.
+-- IDs stay unique through AUTO_INCREMENT.
+ALTER TABLE orders DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- Partitions are named pYYYYMM and hold that month. OrderArchiveService keeps a few
+-- months ahead split off p_future and drops old partitions once they are archived.
+ALTER TABLE orders PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE TABLE orders_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    user_email VARCHAR(255) NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NULL,
+    archived_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    INDEX idx_orders_archive_user_created (user_id, created_at)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE order_items_archive (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_order_items_archive_order (order_id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,12 @@
+-- Idempotency-Key records for order creation. Keys are stored as SHA-256 of "userId:key"
+-- and requests as SHA-256 of the request body, so rows stay small and fixed-size.
+-- order_id is NULL while the first request is still being processed.
+CREATE TABLE order_idempotency_keys (
+    key_hash BINARY(32) NOT NULL,
+    request_hash BINARY(32) NOT NULL,
+    order_id BIGINT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at DATETIME NOT NULL,
+    PRIMARY KEY (key_hash),
+    INDEX idx_order_idempotency_keys_expires (expires_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,6 @@
+-- Expiry of the stock hold of an unpaid (NEW) order; NULL once the hold is committed or released.
+-- Orders created before reservations existed keep NULL and never expire.
+ALTER TABLE orders ADD COLUMN reservation_expires_at DATETIME NULL;
+
+-- Sweep for expired holds and the startup load of pending ones
+CREATE INDEX idx_orders_reservation_expires ON orders (reservation_expires_at);
@@ -0,0 +1,3 @@
+-- Discount of cart promotions, taken off the sum of the item subtotals in total_amount.
+-- Orders created before cart promotions existed keep 0.
+ALTER TABLE orders ADD COLUMN discount_amount DECIMAL(10,2) NOT NULL DEFAULT 0.00;
@@ -0,0 +1,318 @@
+package com.shop.order.repository;
+
+import com.shop.order.model.enums.OrderStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the repository queries are served by the indexes of the Flyway migrations.
+ * <p>
+ * The schema is migrated into MySQL 8 (a Testcontainers container, or the empty database given
+ * with {@code -Dquery-plans.url=jdbc:mysql://...} and {@code -Dquery-plans.username/password},
+ * whose user may set global variables). A year of orders is inserted with a realistic skew: many
+ * users and products, few unpaid orders. Each test runs repository methods with the general log
+ * on, then EXPLAINs the SQL that was sent and asserts which indexes the plan uses and that no
+ * table is read in full. The class is skipped without Docker or an explicit database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIf("databaseAvailable")
+class QueryPlanTest {
+
+    private static final String URL = System.getProperty("query-plans.url");
+
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("order_service")
+            .withUsername("root")
+            .withPassword("root");
+
+    private static final int ORDERS = 20_000;
+    private static final int USERS = 500;
+    private static final int PRODUCTS = 1_000;
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 7, 1, 12, 0);
+
+    private static final Long USER_ID = 42L;
+    private static final Long PRODUCT_ID = 13L;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    static boolean databaseAvailable() {
+        return URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (URL != null) {
+            registry.add("spring.datasource.url", () -> URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("query-plans.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("query-plans.password", ""));
+        } else {
+            MYSQL.start();
+            registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true");
+            registry.add("spring.datasource.username", MYSQL::getUsername);
+            registry.add("spring.datasource.password", MYSQL::getPassword);
+        }
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Object[]> orders = new ArrayList<>(ORDERS);
+            List<Object[]> items = new ArrayList<>(ORDERS * 2);
+            long secondsPerOrder = 365L * 24 * 3600 / ORDERS;
+            for (long id = 1; id <= ORDERS; id++) {
+                LocalDateTime createdAt = YEAR_START.plusSeconds(id * secondsPerOrder);
+                // 1% unpaid orders holding stock, half of them expired; most orders are delivered
+                OrderStatus status = id % 100 == 0 ? OrderStatus.NEW
+                        : id % 100 == 1 ? OrderStatus.CANCELED
+                        : id % 10 == 2 ? OrderStatus.PAID
+                        : OrderStatus.DELIVERED;
+                LocalDateTime expiresAt = status == OrderStatus.NEW
+                        ? NOW.plusMinutes(id % 200 == 0 ? 10 : -10)
+                        : null;
+                orders.add(new Object[]{id, id % USERS, "user" + id % USERS + "@example.com", "20.00", status.name(),
+                        Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt),
+                        expiresAt != null ? Timestamp.valueOf(expiresAt) : null});
+                for (long line = 0; line < 2; line++) {
+                    long productId = (id * 7 + line * 13) % PRODUCTS + 1;
+                    items.add(new Object[]{id, productId, "Product " + productId, 1 + line, "10.00", "10.00"});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, user_email, total_amount, status, created_at, "
+                    + "updated_at, reservation_expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", orders);
+            jdbcTemplate.batchUpdate("INSERT INTO order_items (order_id, product_id, product_name, quantity, "
+                    + "unit_price, subtotal, currency) VALUES (?, ?, ?, ?, ?, ?, 'USD')", items);
+        });
+        jdbcTemplate.execute("ANALYZE TABLE orders, order_items");
+        jdbcTemplate.execute("SET GLOBAL log_output = 'TABLE'");
+        jdbcTemplate.execute("SET GLOBAL general_log = 'ON'");
+    }
+
+    @AfterAll
+    void stopLogging() {
+        jdbcTemplate.execute("SET GLOBAL general_log = 'OFF'");
+    }
+
+    @Test
+    void ordersOfUser() {
+        Plan plan = explain(() -> orderRepository.findByUserId(USER_ID));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_user_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void pageOfOrdersOfUserNewestFirst() {
+        Plan plan = explain(() -> orderRepository.findIdPageByUserId(USER_ID,
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_user_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void pageOfOrdersByStatusNewestFirst() {
+        Plan plan = explain(() -> orderRepository.findByStatus(OrderStatus.NEW,
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_status_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void ordersOfUserByStatus() {
+        Plan plan = explain(() -> orderRepository.findByUserIdAndStatus(USER_ID, OrderStatus.DELIVERED));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_user_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void ordersCreatedOnOneDay() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 10, 0, 0);
+        Plan plan = explain(() -> orderRepository.findByCreatedAtBetween(from, from.plusDays(1)));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void pageOfOrderIdsCreatedOnOneDay() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 10, 0, 0);
+        Plan plan = explain(() -> orderRepository.findIdPageCreatedBetween(from, from.plusDays(1),
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void pageOfOrdersWithItems() {
+        List<Long> ids = LongStream.rangeClosed(101, 120).boxed().toList();
+        Plan plan = explain(() -> orderRepository.findWithItemsByIdIn(ids));
+        assertThat(plan.keys()).as(plan::toString).contains("PRIMARY", "idx_order_items_order");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void selectedColumnsOfOrders() {
+        List<Long> ids = LongStream.rangeClosed(101, 120).boxed().toList();
+        Plan plan = explain(() -> orderRepository.findProperties(ids, List.of("status", "totalAmount")));
+        assertThat(plan.keys()).as(plan::toString).contains("PRIMARY");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void itemsOfOrders() {
+        List<Long> ids = LongStream.rangeClosed(101, 120).boxed().toList();
+        Plan plan = explain(() -> orderItemRepository.findByOrderIdInOrderById(ids));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_order_items_order");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void expiredStockHolds() {
+        Plan plan = explain(() -> orderRepository.findExpiredReservationIds(NOW, PageRequest.of(0, 100)));
+        assertThat(plan.keys()).as(plan::toString).containsAnyOf("idx_orders_reservation_expires", "idx_orders_status_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void pendingStockHolds() {
+        Plan plan = explain(() -> orderRepository.findPendingReservations(PageRequest.of(0, 100)));
+        assertThat(plan.keys()).as(plan::toString).containsAnyOf("idx_orders_reservation_expires", "idx_orders_status_created");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void exportOfOneDay() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 10, 0, 0);
+        Plan plan = explain(() -> transactionTemplate.executeWithoutResult(tx -> {
+            try (Stream<?> rows = orderRepository.streamOrderLinesForExport(from, from.plusDays(1))) {
+                rows.forEach(row -> {
+                });
+            }
+        }));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_orders_created", "idx_order_items_order");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void itemsOfProduct() {
+        Plan plan = explain(() -> orderItemRepository.findByProductId(PRODUCT_ID));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_order_items_product_quantity");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void quantitySoldOfProduct() {
+        Plan plan = explain(() -> orderItemRepository.sumQuantityByProductId(PRODUCT_ID));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_order_items_product_quantity");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.coveringOnly()).as(plan::toString).isTrue();
+    }
+
+    @Test
+    void itemCountOfProduct() {
+        Plan plan = explain(() -> orderItemRepository.countByProductId(PRODUCT_ID));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_order_items_product_quantity");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.coveringOnly()).as(plan::toString).isTrue();
+    }
+
+    /**
+     * Run the call with the general log on and EXPLAIN every SELECT it sent. The driver inlines
+     * parameters into client-side prepared statements, so the logged SQL can be explained as is.
+     */
+    private Plan explain(Runnable call) {
+        jdbcTemplate.execute("TRUNCATE TABLE mysql.general_log");
+        call.run();
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log "
+                        + "WHERE command_type = 'Query' AND CONVERT(argument USING utf8mb4) LIKE 'select%' "
+                        + "AND CONVERT(argument USING utf8mb4) NOT LIKE '%general_log%' ORDER BY event_time",
+                String.class);
+        assertThat(statements).as("statements sent").isNotEmpty();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String statement : statements) {
+            rows.addAll(jdbcTemplate.queryForList("EXPLAIN " + statement));
+        }
+        return new Plan(statements, rows);
+    }
+
+    /**
+     * EXPLAIN rows of all statements of one repository call
+     */
+    private record Plan(List<String> statements, List<Map<String, Object>> rows) {
+
+        Set<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (Map<String, Object> row : rows) {
+                if (row.get("key") != null) {
+                    keys.add(row.get("key").toString());
+                }
+            }
+            return keys;
+        }
+
+        List<Object> fullScans() {
+            return rows.stream().filter(row -> "ALL".equals(row.get("type"))).map(row -> row.get("table")).toList();
+        }
+
+        List<Object> filesorts() {
+            return rows.stream().filter(row -> extra(row).contains("Using filesort")).map(row -> row.get("table")).toList();
+        }
+
+        boolean coveringOnly() {
+            return rows.stream().allMatch(row -> extra(row).contains("Using index"));
+        }
+
+        private static String extra(Map<String, Object> row) {
+            return Objects.toString(row.get("Extra"), "");
+        }
+
+        @Override
+        public String toString() {
+            return String.join("\n", statements) + "\n" + rows;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.shop.product.benchmark;
+
+import com.shop.product.mapper.PromotionMapper;
+import com.shop.product.model.CategoryReplica;
+import com.shop.product.model.Product;
+import com.shop.product.model.Promotion;
+import com.shop.product.model.enums.DiscountType;
+import com.shop.product.model.enums.PromotionScope;
+import com.shop.product.pricing.Money;
+import com.shop.product.pricing.PricingPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing a listing page of 20 products against the compiled plan, with product promotions on
+ * half of the catalog, stackable category promotions on a parent category and a cart promotion;
+ * and compiling the plan itself, which runs after every promotion change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingPlanBenchmark {
+
+    @Param({"10", "1000"})
+    private int promotionCount;
+
+    private final PromotionMapper promotionMapper = new PromotionMapper();
+
+    private List<Promotion> promotions;
+    private List<CategoryReplica> categories;
+    private PricingPlan plan;
+    private List<Product> page;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        now = LocalDateTime.of(2026, 3, 15, 12, 0);
+        categories = List.of(
+                new CategoryReplica(1L, "Clothing", null, "/1/"),
+                new CategoryReplica(2L, "Shirts", 1L, "/1/2/"),
+                new CategoryReplica(3L, "Shoes", 1L, "/1/3/"));
+
+        promotions = new ArrayList<>();
+        for (long id = 1; id <= promotionCount; id++) {
+            Promotion promotion = promotion(id, id % 2 == 0 ? DiscountType.PERCENTAGE : DiscountType.FIXED_AMOUNT);
+            promotion.setProductId(id * 2);
+            promotions.add(promotion);
+        }
+        Promotion clothing = promotion(promotionCount + 1L, DiscountType.PERCENTAGE);
+        clothing.setScope(PromotionScope.CATEGORY);
+        clothing.setCategoryId(1L);
+        clothing.setStackable(true);
+        promotions.add(clothing);
+        Promotion shirts = promotion(promotionCount + 2L, DiscountType.FIXED_AMOUNT);
+        shirts.setScope(PromotionScope.CATEGORY);
+        shirts.setCategoryId(2L);
+        shirts.setStackable(true);
+        promotions.add(shirts);
+        Promotion cart = promotion(promotionCount + 3L, DiscountType.PERCENTAGE);
+        cart.setScope(PromotionScope.CART);
+        cart.setMinCartAmount(new BigDecimal("100.00"));
+        promotions.add(cart);
+
+        plan = compile();
+
+        page = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Product product = ProductMapperBenchmark.product(id);
+            product.setCategoryId(id % 3 == 0 ? 3L : 2L);
+            page.add(product);
+        }
+    }
+
+    @Benchmark
+    public void quotePage(Blackhole blackhole) {
+        for (Product product : page) {
+            blackhole.consume(plan.quote(product.getId(), product.getCategoryId(),
+                    Money.toMinorUnits(product.getPrice()), now));
+        }
+    }
+
+    @Benchmark
+    public PricingPlan.Quote quoteCart() {
+        return plan.quoteCart(12_500, now);
+    }
+
+    @Benchmark
+    public PricingPlan compile() {
+        return PricingPlan.compile(promotions, categories, promotionMapper::toDTO, now);
+    }
+
+    private static Promotion promotion(long id, DiscountType type) {
+        Promotion promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setTitle("Promotion " + id);
+        promotion.setDiscountType(type);
+        promotion.setDiscountValue(new BigDecimal(type == DiscountType.PERCENTAGE ? "10.00" : "2.50"));
+        promotion.setStartAt(LocalDateTime.of(2026, 3, 1, 0, 0));
+        promotion.setEndAt(LocalDateTime.of(2026, 3, 31, 23, 59));
+        promotion.setPriority((int) (id % 5));
+        promotion.setCreatedAt(LocalDateTime.of(2026, 2, 1, 0, 0).plusMinutes(id));
+        return promotion;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shop.product.benchmark;
+
+import com.shop.product.dto.ProductDTO;
+import com.shop.product.dto.PromotionDTO;
+import com.shop.product.mapper.ProductMapper;
+import com.shop.product.model.Product;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.model.enums.DiscountType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of every product in a listing page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private Product product;
+    private List<PromotionDTO> promotions;
+    private BigDecimal effectivePrice;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        product = product(1L);
+        PromotionDTO promotion = new PromotionDTO();
+        promotion.setId(7L);
+        promotion.setProductId(1L);
+        promotion.setTitle("Spring sale");
+        promotion.setDiscountType(DiscountType.PERCENTAGE);
+        promotion.setDiscountValue(new BigDecimal("15.00"));
+        promotion.setStartAt(LocalDateTime.of(2026, 3, 1, 0, 0));
+        promotion.setEndAt(LocalDateTime.of(2026, 3, 31, 23, 59));
+        promotion.setActive(true);
+        promotion.setPriority(1);
+        promotions = List.of(promotion);
+        effectivePrice = new BigDecimal("84.99");
+
+        page = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            page.add(product(id));
+        }
+    }
+
+    @Benchmark
+    public ProductDTO toDTO() {
+        return productMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public ProductDTO toDTOWithPromotion() {
+        return productMapper.toDTO(product, effectivePrice, promotions);
+    }
+
+    @Benchmark
+    public List<ProductDTO> toDTOListOfPage() {
+        return productMapper.toDTOList(page);
+    }
+
+    static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Wireless headphones " + id);
+        product.setDescription("Over-ear wireless headphones with active noise cancelling and a 30 hour battery.");
+        product.setPrice(new BigDecimal("99.99"));
+        product.setCurrency(Currency.EUR);
+        product.setStockQuantity(250);
+        product.setImageUrl("https://cdn.example.com/products/" + id + ".jpg");
+        product.setCategoryId(3L);
+        product.setCategoryName("Audio");
+        product.setCreatedAt(LocalDateTime.of(2026, 1, 15, 10, 30));
+        product.setUpdatedAt(LocalDateTime.of(2026, 2, 1, 8, 0));
+        product.setIsActive(true);
+        return product;
+    }
+}
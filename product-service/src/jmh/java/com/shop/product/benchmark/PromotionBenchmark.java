@@ -0,0 +1,79 @@
+package com.shop.product.benchmark;
+
+import com.shop.product.model.Promotion;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.model.enums.DiscountType;
+import com.shop.product.pricing.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Promotion pricing, run for every promoted product of a listing: the discount on minor units,
+ * the same through the {@code BigDecimal} entry point, and the listing path from the entity price
+ * to the DTO price.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromotionBenchmark {
+
+    private Promotion percentage;
+    private Promotion fixedAmount;
+    private BigDecimal basePrice;
+    private long baseMinorUnits;
+
+    @Setup
+    public void setUp() {
+        percentage = promotion(DiscountType.PERCENTAGE, "15.00");
+        fixedAmount = promotion(DiscountType.FIXED_AMOUNT, "10.00");
+        basePrice = new BigDecimal("99.99");
+        baseMinorUnits = Money.toMinorUnits(basePrice);
+    }
+
+    @Benchmark
+    public BigDecimal applyPercentage() {
+        return percentage.applyTo(basePrice);
+    }
+
+    @Benchmark
+    public BigDecimal applyFixedAmount() {
+        return fixedAmount.applyTo(basePrice);
+    }
+
+    @Benchmark
+    public long applyPercentageMinorUnits() {
+        return percentage.applyTo(baseMinorUnits);
+    }
+
+    @Benchmark
+    public long applyFixedAmountMinorUnits() {
+        return fixedAmount.applyTo(baseMinorUnits);
+    }
+
+    @Benchmark
+    public BigDecimal listingPrice() {
+        Money price = Money.of(basePrice, Currency.EUR);
+        return new Money(percentage.applyTo(price.minorUnits()), price.currency()).toBigDecimal();
+    }
+
+    private static Promotion promotion(DiscountType type, String value) {
+        Promotion promotion = new Promotion();
+        promotion.setDiscountType(type);
+        promotion.setDiscountValue(new BigDecimal(value));
+        return promotion;
+    }
+}
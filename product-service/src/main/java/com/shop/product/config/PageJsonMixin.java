@@ -0,0 +1,14 @@
+package com.shop.product.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.boot.jackson.JsonMixin;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Pages are read by the backend's Feign decoder, which only needs the content, number, size,
+ * total and sort; {@code pageable} repeats those and the remaining flags are derived from them.
+ */
+@JsonMixin(PageImpl.class)
+@JsonIgnoreProperties({"pageable", "first", "last", "numberOfElements", "empty"})
+abstract class PageJsonMixin {
+}
@@ -0,0 +1,38 @@
+package com.shop.product.controller;
+
+import com.shop.product.dto.ExchangeRateDTO;
+import com.shop.product.dto.ExchangeRateUpdateDTO;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.service.ExchangeRateService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class ExchangeRateController {
+
+    private final ExchangeRateService exchangeRateService;
+
+    public ExchangeRateController(ExchangeRateService exchangeRateService) {
+        this.exchangeRateService = exchangeRateService;
+    }
+
+    @GetMapping("/exchange-rates")
+    public ResponseEntity<List<ExchangeRateDTO>> getRates() {
+        return ResponseEntity.ok(exchangeRateService.getRates());
+    }
+
+    @PutMapping("/admin/exchange-rates/{currency}")
+    public ResponseEntity<ExchangeRateDTO> updateRate(@PathVariable Currency currency,
+                                                      @Valid @RequestBody ExchangeRateUpdateDTO dto) {
+        return ResponseEntity.ok(exchangeRateService.updateRate(currency, dto.getRate()));
+    }
+}
@@ -1,9 +1,20 @@
 package com.shop.product.controller;
 
+import com.shop.product.dto.CartQuoteDTO;
+import com.shop.product.dto.CartQuoteRequestDTO;
 import com.shop.product.dto.ProductDTO;
+import com.shop.product.dto.ProductFields;
 import com.shop.product.dto.ProductCreateDTO;
+import com.shop.product.dto.ProductImportResultDTO;
+import com.shop.product.dto.ProductSummaryDTO;
 import com.shop.product.dto.ProductUpdateDTO;
+import com.shop.product.dto.StockAdjustmentDTO;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.service.PricingService;
+import com.shop.product.service.ProductExportService;
+import com.shop.product.service.ProductImportService;
 import com.shop.product.service.ProductService;
+import com.shop.product.service.ProductStockService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,55 +22,127 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
+    private static final String BEST_SELLING_SORT = "bestSelling";
+    private static final String SUMMARY_VIEW = "summary";
     private final ProductService productService;
-
-    public ProductController(ProductService productService) {
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductStockService productStockService;
+    private final PricingService pricingService;
+
+    public ProductController(ProductService productService,
+                             ProductImportService productImportService,
+                             ProductExportService productExportService,
+                             ProductStockService productStockService,
+                             PricingService pricingService) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.productStockService = productStockService;
+        this.pricingService = pricingService;
     }
 
+    /**
+     * Listing of active products; {@code view=summary} returns {@link ProductSummaryDTO}s,
+     * which skip the description and the promotion details. Otherwise {@code fields=} and
+     * {@code include=promotions} select what is returned, see {@link ProductFields}.
+     */
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> getProducts(
+    public ResponseEntity<MappingJacksonValue> getProducts(
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sort,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> include) {
 
         Pageable pageable = PageRequest.of(page, size, buildSort(sort, direction));
 
+        if (SUMMARY_VIEW.equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(new MappingJacksonValue(productService.getProductSummaries(categoryId, minPrice,
+                    maxPrice, name, includeDescendants, pageable, currency)));
+        }
+
+        ProductFields productFields = ProductFields.of(fields, include);
         Page<ProductDTO> products;
-        if (categoryId != null || minPrice != null || maxPrice != null || name != null) {
-            products = productService.getProductsWithFilters(categoryId, minPrice, maxPrice, name, pageable);
+        if (!productFields.isAll()) {
+            products = productService.getProductFields(categoryId, minPrice, maxPrice, name, includeDescendants, pageable,
+                    currency, productFields);
+        } else if (categoryId != null || minPrice != null || maxPrice != null || name != null) {
+            products = productService.getProductsWithFilters(categoryId, minPrice, maxPrice, name, includeDescendants, pageable,
+                    currency);
         } else {
-            products = productService.getAllProducts(pageable);
+            products = productService.getAllProducts(pageable, currency);
         }
 
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(productFields.write(products));
+    }
+
+    /**
+     * Stream the whole catalog as NDJSON or CSV, gzip-compressed when the client accepts it
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ProductExportService.Format exportFormat = ProductExportService.Format.from(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        logger.info("Starting {} product export (gzip={})", exportFormat, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.extension())
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> productExportService.export(out, exportFormat, gzip));
     }
 
+    /**
+     * A single product is read whole; {@code fields=} and {@code include=} only trim the response
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<MappingJacksonValue> getProductById(@PathVariable Long id,
+                                                              @RequestParam(required = false) Currency currency,
+                                                              @RequestParam(required = false) List<String> fields,
+                                                              @RequestParam(required = false) List<String> include) {
         logger.info("Fetching product with ID: {}", id);
-        return ResponseEntity.ok(productService.getProductById(id));
+        ProductFields productFields = ProductFields.of(fields, include);
+        return ResponseEntity.ok(productFields.write(productService.getProductById(id, currency)));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<java.util.List<ProductDTO>> getProductsByCategoryId(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(productService.getProductsByCategoryId(categoryId));
+    public ResponseEntity<java.util.List<ProductDTO>> getProductsByCategoryId(@PathVariable Long categoryId,
+                                                                           @RequestParam(required = false) Currency currency) {
+        return ResponseEntity.ok(productService.getProductsByCategoryId(categoryId, currency));
     }
 
     @PostMapping
@@ -67,6 +150,26 @@ public class ProductController {
         return ResponseEntity.ok(productService.createProduct(productCreateDTO));
     }
 
+    /**
+     * Price a cart with line and cart promotions, without reserving anything
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<CartQuoteDTO> quoteCart(@Valid @RequestBody CartQuoteRequestDTO request) {
+        return ResponseEntity.ok(pricingService.quoteCart(request));
+    }
+
+    /**
+     * Bulk import from a streamed text/csv or application/x-ndjson body
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<ProductImportResultDTO> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        ProductImportService.Format format = ProductImportService.Format.fromContentType(contentType);
+        logger.info("Starting {} product import", format);
+        return ResponseEntity.ok(productImportService.importProducts(body, format));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(
             @PathVariable Long id,
@@ -80,7 +183,41 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Atomically take stock for an order; 409 when there is not enough. With a reservation
+     * token a repeated request takes nothing more.
+     */
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<Void> reserveStock(@PathVariable Long id, @Valid @RequestBody StockAdjustmentDTO adjustment) {
+        productStockService.reserve(id, adjustment.getQuantity(), adjustment.getReservation());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Atomically return stock, e.g. of a canceled order. With a reservation token it returns
+     * what that reservation took, once, and nothing if the reservation never arrived.
+     */
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<Void> releaseStock(@PathVariable Long id, @Valid @RequestBody StockAdjustmentDTO adjustment) {
+        productStockService.release(id, adjustment.getQuantity(), adjustment.getReservation());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Split the stock of a hot product over {@code count} rows; 0 turns sharding off
+     */
+    @PutMapping("/{id}/stock/shards")
+    public ResponseEntity<ProductDTO> setStockShards(@PathVariable Long id, @RequestParam int count) {
+        logger.info("Setting stock shards of product {} to {}", id, count);
+        productStockService.setShards(id, count);
+        return ResponseEntity.ok(productService.getProductById(id, null));
+    }
+
     private Sort buildSort(String sort, String direction) {
+        if (sort != null && sort.split(",")[0].trim().equalsIgnoreCase(BEST_SELLING_SORT)) {
+            // Most sold first; both keys descending so idx_products_active_sold can be scanned backwards
+            return Sort.by(Sort.Direction.DESC, "soldQuantity", "id");
+        }
         if (sort != null && sort.contains(",")) {
             String[] parts = Arrays.stream(sort.split(","))
                     .map(String::trim)
@@ -32,6 +32,16 @@ public class PromotionController {
         return ResponseEntity.ok(promotionService.getPromotionsByProductId(productId));
     }
 
+    @GetMapping("/category/{categoryId}")
+    public ResponseEntity<List<PromotionDTO>> getPromotionsByCategoryId(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(promotionService.getPromotionsByCategoryId(categoryId));
+    }
+
+    @GetMapping("/cart")
+    public ResponseEntity<List<PromotionDTO>> getCartPromotions() {
+        return ResponseEntity.ok(promotionService.getCartPromotions());
+    }
+
     @PostMapping
     public ResponseEntity<PromotionDTO> createPromotion(@Valid @RequestBody PromotionCreateDTO dto) {
         return ResponseEntity.ok(promotionService.createPromotion(dto));
@@ -4,6 +4,8 @@ public class CategoryDTO {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
+    private String path;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -11,4 +13,8 @@ public class CategoryDTO {
     public void setName(String name) { this.name = name; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
 }
@@ -0,0 +1,25 @@
+package com.shop.product.dto;
+
+import com.shop.product.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Units of a currency per unit of the base currency
+ */
+public class ExchangeRateDTO {
+    private Currency currency;
+    private Currency base;
+    private BigDecimal rate;
+    private LocalDateTime updatedAt;
+
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+    public Currency getBase() { return base; }
+    public void setBase(Currency base) { this.base = base; }
+    public BigDecimal getRate() { return rate; }
+    public void setRate(BigDecimal rate) { this.rate = rate; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,15 @@
+package com.shop.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class ExchangeRateUpdateDTO {
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0", inclusive = false, message = "Rate must be greater than 0")
+    private BigDecimal rate;
+
+    public BigDecimal getRate() { return rate; }
+    public void setRate(BigDecimal rate) { this.rate = rate; }
+}
@@ -0,0 +1,23 @@
+package com.shop.product.dto;
+
+import com.shop.product.model.enums.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * Product representation with prices, which are converted the same way for every view
+ */
+public interface PricedDTO {
+
+    BigDecimal getBasePrice();
+
+    void setBasePrice(BigDecimal basePrice);
+
+    BigDecimal getPrice();
+
+    void setPrice(BigDecimal price);
+
+    Currency getCurrency();
+
+    void setCurrency(Currency currency);
+}
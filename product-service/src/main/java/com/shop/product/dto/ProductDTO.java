@@ -1,13 +1,17 @@
 package com.shop.product.dto;
 
 import com.shop.product.model.enums.Currency;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
+// Written through the ProductFields filter, so responses carry only the fields asked for
+@JsonFilter(ProductFields.FILTER)
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class ProductDTO {
+public class ProductDTO implements PricedDTO {
     private Long id;
     private String name;
     private String description;
@@ -19,9 +23,11 @@ public class ProductDTO {
     private Long categoryId;
     private String categoryName;
     private PromotionDTO activePromotion;
+    private List<PromotionDTO> appliedPromotions;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Boolean isActive;
+    private Long soldQuantity;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -45,10 +51,14 @@ public class ProductDTO {
     public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
     public PromotionDTO getActivePromotion() { return activePromotion; }
     public void setActivePromotion(PromotionDTO activePromotion) { this.activePromotion = activePromotion; }
+    public List<PromotionDTO> getAppliedPromotions() { return appliedPromotions; }
+    public void setAppliedPromotions(List<PromotionDTO> appliedPromotions) { this.appliedPromotions = appliedPromotions; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    public Long getSoldQuantity() { return soldQuantity; }
+    public void setSoldQuantity(Long soldQuantity) { this.soldQuantity = soldQuantity; }
 }
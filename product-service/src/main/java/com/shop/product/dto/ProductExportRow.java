@@ -0,0 +1,58 @@
+package com.shop.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.shop.product.model.Product;
+import com.shop.product.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat catalog row written by the export endpoint (one NDJSON line or CSV record per product)
+ */
+@JsonPropertyOrder({"id", "name", "description", "price", "currency", "stockQuantity", "imageUrl",
+        "categoryId", "categoryName", "isActive", "createdAt", "updatedAt"})
+public class ProductExportRow {
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Currency currency;
+    private Integer stockQuantity;
+    private String imageUrl;
+    private Long categoryId;
+    private String categoryName;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static ProductExportRow from(Product product) {
+        ProductExportRow row = new ProductExportRow();
+        row.id = product.getId();
+        row.name = product.getName();
+        row.description = product.getDescription();
+        row.price = product.getPrice();
+        row.currency = product.getCurrency();
+        row.stockQuantity = product.getStockQuantity();
+        row.imageUrl = product.getImageUrl();
+        row.categoryId = product.getCategoryId();
+        row.categoryName = product.getCategoryName();
+        row.isActive = product.getIsActive();
+        row.createdAt = product.getCreatedAt();
+        row.updatedAt = product.getUpdatedAt();
+        return row;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public BigDecimal getPrice() { return price; }
+    public Currency getCurrency() { return currency; }
+    public Integer getStockQuantity() { return stockQuantity; }
+    public String getImageUrl() { return imageUrl; }
+    public Long getCategoryId() { return categoryId; }
+    public String getCategoryName() { return categoryName; }
+    public Boolean getIsActive() { return isActive; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,122 @@
+package com.shop.product.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.shop.product.exception.InvalidFieldException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parts of a product a client asked for with {@code fields=} and {@code include=}.
+ * <p>
+ * Without {@code fields} every property is returned, otherwise only the listed ones and the id.
+ * Promotions ({@code activePromotion}, {@code appliedPromotions}) come with
+ * {@code include=promotions}, or when neither parameter is given. Listings whose fields are all
+ * listing columns are read through the summary projection, so the description and audit
+ * columns are not loaded.
+ */
+public final class ProductFields {
+
+    /**
+     * Jackson filter id of {@link ProductDTO}
+     */
+    public static final String FILTER = "productFields";
+
+    public static final String PROMOTIONS = "promotions";
+
+    public static final List<String> PROPERTIES = List.of("id", "name", "description", "basePrice", "price",
+            "currency", "stockQuantity", "imageUrl", "categoryId", "categoryName", "createdAt", "updatedAt",
+            "isActive", "soldQuantity");
+
+    // Properties filled from ProductRepository.ProductSummary
+    private static final Set<String> SUMMARY_PROPERTIES = Set.of("id", "name", "basePrice", "price", "currency",
+            "stockQuantity", "imageUrl", "categoryId", "categoryName");
+
+    public static final ProductFields ALL = new ProductFields(PROPERTIES, true);
+
+    private final List<String> properties;
+    private final boolean promotions;
+
+    private ProductFields(List<String> properties, boolean promotions) {
+        this.properties = properties;
+        this.promotions = promotions;
+    }
+
+    /**
+     * @param fields  requested properties, or null for all
+     * @param include requested nested data, or null for the default
+     * @throws InvalidFieldException for a name products do not have
+     */
+    public static ProductFields of(Collection<String> fields, Collection<String> include) {
+        boolean promotions = fields == null;
+        if (include != null) {
+            promotions = false;
+            for (String name : include) {
+                String trimmed = name.trim();
+                if (trimmed.equals(PROMOTIONS)) {
+                    promotions = true;
+                } else if (!trimmed.isEmpty()) {
+                    throw new InvalidFieldException("Unknown include '" + trimmed + "', expected " + PROMOTIONS);
+                }
+            }
+        }
+        if (fields == null) {
+            return promotions ? ALL : new ProductFields(PROPERTIES, false);
+        }
+
+        List<String> selected = new ArrayList<>(PROPERTIES.size());
+        selected.add("id");
+        for (String name : fields) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || selected.contains(trimmed)) {
+                continue;
+            }
+            if (!PROPERTIES.contains(trimmed)) {
+                throw new InvalidFieldException("Unknown product field '" + trimmed + "', expected one of " + PROPERTIES);
+            }
+            selected.add(trimmed);
+        }
+        return new ProductFields(List.copyOf(selected), promotions);
+    }
+
+    public boolean isAll() {
+        return promotions && properties.size() == PROPERTIES.size();
+    }
+
+    /**
+     * Whether the summary projection has every requested column
+     */
+    public boolean summaryColumnsOnly() {
+        return SUMMARY_PROPERTIES.containsAll(properties);
+    }
+
+    public List<String> properties() {
+        return properties;
+    }
+
+    public boolean promotions() {
+        return promotions;
+    }
+
+    /**
+     * Response body that writes only the requested properties, or everything when all were asked for
+     */
+    public MappingJacksonValue write(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (isAll()) {
+            return value;
+        }
+        Set<String> written = new HashSet<>(properties);
+        if (promotions) {
+            written.add("activePromotion");
+            written.add("appliedPromotions");
+        }
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(written)));
+        return value;
+    }
+}
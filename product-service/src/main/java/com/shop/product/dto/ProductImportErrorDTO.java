@@ -0,0 +1,19 @@
+package com.shop.product.dto;
+
+public class ProductImportErrorDTO {
+    private long row;
+    private String message;
+
+    public ProductImportErrorDTO() {
+    }
+
+    public ProductImportErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,23 @@
+package com.shop.product.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResultDTO {
+    private long processed;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+    public List<ProductImportErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<ProductImportErrorDTO> errors) { this.errors = errors; }
+}
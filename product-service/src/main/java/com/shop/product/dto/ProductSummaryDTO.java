@@ -0,0 +1,45 @@
+package com.shop.product.dto;
+
+import com.shop.product.model.enums.Currency;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Product as a listing shows it ({@code ?view=summary}): no description, and of the applied
+ * promotions only the title of the first one.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductSummaryDTO implements PricedDTO {
+    private Long id;
+    private String name;
+    private BigDecimal basePrice;
+    private BigDecimal price;
+    private Currency currency;
+    private Integer stockQuantity;
+    private String imageUrl;
+    private Long categoryId;
+    private String categoryName;
+    private String promotionTitle;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public BigDecimal getBasePrice() { return basePrice; }
+    public void setBasePrice(BigDecimal basePrice) { this.basePrice = basePrice; }
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    public String getPromotionTitle() { return promotionTitle; }
+    public void setPromotionTitle(String promotionTitle) { this.promotionTitle = promotionTitle; }
+}
@@ -1,6 +1,7 @@
 package com.shop.product.dto;
 
 import com.shop.product.model.enums.DiscountType;
+import com.shop.product.model.enums.PromotionScope;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,8 +10,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class PromotionCreateDTO {
-    @NotNull(message = "Product ID is required")
+    private PromotionScope scope = PromotionScope.PRODUCT;
+
     private Long productId;
+    private Long categoryId;
 
     private String title;
     private String description;
@@ -30,6 +33,18 @@ public class PromotionCreateDTO {
 
     private Boolean active = true;
     private Integer priority = 0;
+    private Boolean stackable = false;
+
+    @DecimalMin(value = "0.00", message = "Minimum cart amount must not be negative")
+    private BigDecimal minCartAmount;
+
+    public PromotionScope getScope() {
+        return scope;
+    }
+
+    public void setScope(PromotionScope scope) {
+        this.scope = scope;
+    }
 
     public Long getProductId() {
         return productId;
@@ -39,6 +54,14 @@ public class PromotionCreateDTO {
         this.productId = productId;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -102,4 +125,20 @@ public class PromotionCreateDTO {
     public void setPriority(Integer priority) {
         this.priority = priority;
     }
+
+    public Boolean getStackable() {
+        return stackable;
+    }
+
+    public void setStackable(Boolean stackable) {
+        this.stackable = stackable;
+    }
+
+    public BigDecimal getMinCartAmount() {
+        return minCartAmount;
+    }
+
+    public void setMinCartAmount(BigDecimal minCartAmount) {
+        this.minCartAmount = minCartAmount;
+    }
 }
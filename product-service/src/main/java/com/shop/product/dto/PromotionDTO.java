@@ -2,6 +2,7 @@ package com.shop.product.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.shop.product.model.enums.DiscountType;
+import com.shop.product.model.enums.PromotionScope;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,7 +10,9 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PromotionDTO {
     private Long id;
+    private PromotionScope scope;
     private Long productId;
+    private Long categoryId;
     private String title;
     private String description;
     private DiscountType discountType;
@@ -18,6 +21,8 @@ public class PromotionDTO {
     private LocalDateTime endAt;
     private Boolean active;
     private Integer priority;
+    private Boolean stackable;
+    private BigDecimal minCartAmount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -29,6 +34,14 @@ public class PromotionDTO {
         this.id = id;
     }
 
+    public PromotionScope getScope() {
+        return scope;
+    }
+
+    public void setScope(PromotionScope scope) {
+        this.scope = scope;
+    }
+
     public Long getProductId() {
         return productId;
     }
@@ -37,6 +50,14 @@ public class PromotionDTO {
         this.productId = productId;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -101,6 +122,22 @@ public class PromotionDTO {
         this.priority = priority;
     }
 
+    public Boolean getStackable() {
+        return stackable;
+    }
+
+    public void setStackable(Boolean stackable) {
+        this.stackable = stackable;
+    }
+
+    public BigDecimal getMinCartAmount() {
+        return minCartAmount;
+    }
+
+    public void setMinCartAmount(BigDecimal minCartAmount) {
+        this.minCartAmount = minCartAmount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,13 +1,16 @@
 package com.shop.product.dto;
 
 import com.shop.product.model.enums.DiscountType;
+import com.shop.product.model.enums.PromotionScope;
 import jakarta.validation.constraints.DecimalMin;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class PromotionUpdateDTO {
+    private PromotionScope scope;
     private Long productId;
+    private Long categoryId;
     private String title;
     private String description;
     private DiscountType discountType;
@@ -17,6 +20,17 @@ public class PromotionUpdateDTO {
     private LocalDateTime endAt;
     private Boolean active;
     private Integer priority;
+    private Boolean stackable;
+    @DecimalMin(value = "0.00", message = "Minimum cart amount must not be negative")
+    private BigDecimal minCartAmount;
+
+    public PromotionScope getScope() {
+        return scope;
+    }
+
+    public void setScope(PromotionScope scope) {
+        this.scope = scope;
+    }
 
     public Long getProductId() {
         return productId;
@@ -26,6 +40,14 @@ public class PromotionUpdateDTO {
         this.productId = productId;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -89,4 +111,20 @@ public class PromotionUpdateDTO {
     public void setPriority(Integer priority) {
         this.priority = priority;
     }
+
+    public Boolean getStackable() {
+        return stackable;
+    }
+
+    public void setStackable(Boolean stackable) {
+        this.stackable = stackable;
+    }
+
+    public BigDecimal getMinCartAmount() {
+        return minCartAmount;
+    }
+
+    public void setMinCartAmount(BigDecimal minCartAmount) {
+        this.minCartAmount = minCartAmount;
+    }
 }
@@ -0,0 +1,28 @@
+package com.shop.product.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class StockAdjustmentDTO {
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Optional token of the caller's checkout; makes reserve and release safe to retry
+    @Size(min = 1, max = 36, message = "Reservation must be 1 to 36 characters")
+    private String reservation;
+
+    public StockAdjustmentDTO() {
+    }
+
+    public StockAdjustmentDTO(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public String getReservation() { return reservation; }
+    public void setReservation(String reservation) { this.reservation = reservation; }
+}
@@ -0,0 +1,30 @@
+package com.shop.product.events;
+
+import com.shop.events.avro.CategoryEvent;
+import com.shop.product.service.CategoryReplicaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CategoryEventsListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryEventsListener.class);
+
+    private final CategoryReplicaService categoryReplicaService;
+
+    public CategoryEventsListener(CategoryReplicaService categoryReplicaService) {
+        this.categoryReplicaService = categoryReplicaService;
+    }
+
+    @KafkaListener(topics = "category-events-avro",
+            groupId = "product-service",
+            containerFactory = "categoryEventListenerContainerFactory")
+    public void handleCategoryEvents(List<CategoryEvent> events) {
+        log.info("Received {} category kafka events", events.size());
+        categoryReplicaService.applyEvents(events);
+    }
+}
@@ -0,0 +1,30 @@
+package com.shop.product.events;
+
+import com.shop.events.avro.OrderEvent;
+import com.shop.product.service.ProductSalesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class OrderEventsListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventsListener.class);
+
+    private final ProductSalesService productSalesService;
+
+    public OrderEventsListener(ProductSalesService productSalesService) {
+        this.productSalesService = productSalesService;
+    }
+
+    @KafkaListener(topics = "order-events-avro",
+            groupId = "product-service",
+            containerFactory = "orderEventListenerContainerFactory")
+    public void handleOrderEvents(List<OrderEvent> events) {
+        log.info("Received {} order kafka events", events.size());
+        productSalesService.applyOrderEvents(events);
+    }
+}
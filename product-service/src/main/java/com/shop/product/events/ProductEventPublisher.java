@@ -0,0 +1,94 @@
+package com.shop.product.events;
+
+import com.shop.events.avro.ProductEvent;
+import com.shop.events.avro.ProductEventType;
+import com.shop.product.model.Product;
+import com.shop.product.repository.ProductRepository;
+import com.shop.product.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Publishes product lifecycle events consumed by category-service to maintain
+ * per-category product counts.
+ */
+@Service
+public class ProductEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductEventPublisher.class);
+
+    private static final int REPUBLISH_PAGE_SIZE = 500;
+
+    private final KafkaTemplate<String, ProductEvent> productEventKafkaTemplate;
+    private final ProductRepository productRepository;
+    private final boolean republishOnStartup;
+
+    public ProductEventPublisher(@Qualifier("productEventKafkaTemplate") KafkaTemplate<String, ProductEvent> productEventKafkaTemplate,
+                                 ProductRepository productRepository,
+                                 @Value("${product.events.republish-on-startup:false}") boolean republishOnStartup) {
+        this.productEventKafkaTemplate = productEventKafkaTemplate;
+        this.productRepository = productRepository;
+        this.republishOnStartup = republishOnStartup;
+    }
+
+    /**
+     * Publish once the surrounding transaction has committed. The event is built only then,
+     * so it carries the {@code updated_at} version that was actually written.
+     */
+    public void publishAfterCommit(Product product, ProductEventType type) {
+        AfterCommit.run(() -> send(product, type));
+    }
+
+    /**
+     * Re-announce the state of every product. Consumers apply events idempotently,
+     * so this is safe to run at any time and seeds counts for pre-existing products.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void republishOnStartup() {
+        if (republishOnStartup) {
+            republishAll();
+        }
+    }
+
+    public void republishAll() {
+        int page = 0;
+        long sent = 0;
+        Page<Product> products;
+        do {
+            products = productRepository.findAll(PageRequest.of(page++, REPUBLISH_PAGE_SIZE, Sort.by("id")));
+            for (Product product : products) {
+                send(product, ProductEventType.SNAPSHOT);
+                sent++;
+            }
+        } while (products.hasNext());
+        log.info("Republished {} product events", sent);
+    }
+
+    private void send(Product product, ProductEventType type) {
+        ProductEvent event = ProductEvent.newBuilder()
+                .setProductId(product.getId())
+                .setCategoryId(product.getCategoryId())
+                .setActive(Boolean.TRUE.equals(product.getIsActive()))
+                .setType(type)
+                .setVersion(product.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli())
+                .setOccurredAt(OffsetDateTime.now(ZoneOffset.UTC).toString())
+                .build();
+        try {
+            productEventKafkaTemplate.send("product-events-avro", String.valueOf(event.getProductId()), event);
+        } catch (Exception ex) {
+            log.warn("Failed to send Kafka product event for product {}: {}", event.getProductId(), ex.getMessage());
+        }
+    }
+}
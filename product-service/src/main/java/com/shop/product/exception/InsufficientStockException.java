@@ -0,0 +1,11 @@
+package com.shop.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(Long productId, int requested) {
+        super("Not enough stock for product " + productId + ": requested " + requested);
+    }
+}
@@ -0,0 +1,11 @@
+package com.shop.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StockLayoutChangedException extends RuntimeException {
+    public StockLayoutChangedException(Long productId) {
+        super("Stock shards of product " + productId + " kept changing, try again");
+    }
+}
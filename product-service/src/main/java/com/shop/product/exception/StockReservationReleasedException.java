@@ -0,0 +1,11 @@
+package com.shop.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StockReservationReleasedException extends RuntimeException {
+    public StockReservationReleasedException(String reservation, Long productId) {
+        super("Stock reservation " + reservation + " of product " + productId + " was already released");
+    }
+}
@@ -2,9 +2,11 @@ package com.shop.product.mapper;
 
 import com.shop.product.dto.ProductCreateDTO;
 import com.shop.product.dto.ProductDTO;
+import com.shop.product.dto.ProductSummaryDTO;
 import com.shop.product.dto.PromotionDTO;
 import com.shop.product.dto.ProductUpdateDTO;
 import com.shop.product.model.Product;
+import com.shop.product.repository.ProductRepository;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -16,10 +18,13 @@ import java.util.stream.Collectors;
 public class ProductMapper {
 
     public ProductDTO toDTO(Product product) {
-        return toDTO(product, product != null ? product.getPrice() : null, null);
+        return toDTO(product, product != null ? product.getPrice() : null, List.of());
     }
 
-    public ProductDTO toDTO(Product product, BigDecimal effectivePrice, PromotionDTO activePromotion) {
+    /**
+     * Product with its promoted price; the first applied promotion is reported as the active one.
+     */
+    public ProductDTO toDTO(Product product, BigDecimal effectivePrice, List<PromotionDTO> appliedPromotions) {
         if (product == null) {
             return null;
         }
@@ -35,10 +40,48 @@ public class ProductMapper {
         dto.setImageUrl(product.getImageUrl());
         dto.setCategoryId(product.getCategoryId());
         dto.setCategoryName(product.getCategoryName());
-        dto.setActivePromotion(activePromotion);
+        dto.setActivePromotion(appliedPromotions.isEmpty() ? null : appliedPromotions.get(0));
+        dto.setAppliedPromotions(appliedPromotions);
         dto.setCreatedAt(product.getCreatedAt());
         dto.setUpdatedAt(product.getUpdatedAt());
         dto.setIsActive(product.getIsActive());
+        dto.setSoldQuantity(product.getSoldQuantity());
+        return dto;
+    }
+
+    /**
+     * Product read through the summary projection; the columns it does not have stay unset.
+     */
+    public ProductDTO toDTO(ProductRepository.ProductSummary product, BigDecimal effectivePrice,
+                            List<PromotionDTO> appliedPromotions) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setBasePrice(product.getPrice());
+        dto.setPrice(effectivePrice);
+        dto.setCurrency(product.getCurrency());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setImageUrl(product.getImageUrl());
+        dto.setCategoryId(product.getCategoryId());
+        dto.setCategoryName(product.getCategoryName());
+        dto.setActivePromotion(appliedPromotions.isEmpty() ? null : appliedPromotions.get(0));
+        dto.setAppliedPromotions(appliedPromotions);
+        return dto;
+    }
+
+    public ProductSummaryDTO toSummaryDTO(ProductRepository.ProductSummary product, BigDecimal effectivePrice,
+                                          List<PromotionDTO> appliedPromotions) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setBasePrice(product.getPrice());
+        dto.setPrice(effectivePrice);
+        dto.setCurrency(product.getCurrency());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setImageUrl(product.getImageUrl());
+        dto.setCategoryId(product.getCategoryId());
+        dto.setCategoryName(product.getCategoryName());
+        dto.setPromotionTitle(appliedPromotions.isEmpty() ? null : appliedPromotions.get(0).getTitle());
         return dto;
     }
 
@@ -16,7 +16,9 @@ public class PromotionMapper {
 
         PromotionDTO dto = new PromotionDTO();
         dto.setId(promotion.getId());
+        dto.setScope(promotion.getScope());
         dto.setProductId(promotion.getProductId());
+        dto.setCategoryId(promotion.getCategoryId());
         dto.setTitle(promotion.getTitle());
         dto.setDescription(promotion.getDescription());
         dto.setDiscountType(promotion.getDiscountType());
@@ -25,6 +27,8 @@ public class PromotionMapper {
         dto.setEndAt(promotion.getEndAt());
         dto.setActive(promotion.getActive());
         dto.setPriority(promotion.getPriority());
+        dto.setStackable(promotion.getStackable());
+        dto.setMinCartAmount(promotion.getMinCartAmount());
         dto.setCreatedAt(promotion.getCreatedAt());
         dto.setUpdatedAt(promotion.getUpdatedAt());
         return dto;
@@ -36,7 +40,11 @@ public class PromotionMapper {
         }
 
         Promotion promotion = new Promotion();
+        if (dto.getScope() != null) {
+            promotion.setScope(dto.getScope());
+        }
         promotion.setProductId(dto.getProductId());
+        promotion.setCategoryId(dto.getCategoryId());
         promotion.setTitle(dto.getTitle());
         promotion.setDescription(dto.getDescription());
         promotion.setDiscountType(dto.getDiscountType());
@@ -45,6 +53,10 @@ public class PromotionMapper {
         promotion.setEndAt(dto.getEndAt());
         promotion.setActive(dto.getActive());
         promotion.setPriority(dto.getPriority());
+        if (dto.getStackable() != null) {
+            promotion.setStackable(dto.getStackable());
+        }
+        promotion.setMinCartAmount(dto.getMinCartAmount());
         return promotion;
     }
 
@@ -53,9 +65,15 @@ public class PromotionMapper {
             return;
         }
 
+        if (dto.getScope() != null) {
+            promotion.setScope(dto.getScope());
+        }
         if (dto.getProductId() != null) {
             promotion.setProductId(dto.getProductId());
         }
+        if (dto.getCategoryId() != null) {
+            promotion.setCategoryId(dto.getCategoryId());
+        }
         if (dto.getTitle() != null) {
             promotion.setTitle(dto.getTitle());
         }
@@ -80,5 +98,11 @@ public class PromotionMapper {
         if (dto.getPriority() != null) {
             promotion.setPriority(dto.getPriority());
         }
+        if (dto.getStackable() != null) {
+            promotion.setStackable(dto.getStackable());
+        }
+        if (dto.getMinCartAmount() != null) {
+            promotion.setMinCartAmount(dto.getMinCartAmount());
+        }
     }
 }
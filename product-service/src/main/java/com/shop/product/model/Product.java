@@ -11,17 +11,24 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+// Only changed columns are written, so saving a product never overwrites stock that
+// ProductStockService adjusted atomically in the meantime
 @Entity
+@DynamicUpdate
 @Table(name = "products")
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id")
+    @TableGenerator(name = "product_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "products", allocationSize = 100)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -58,6 +65,17 @@ public class Product {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Sales counters are maintained by ProductSalesService with atomic increments only
+    @Column(name = "sold_quantity", nullable = false, insertable = false, updatable = false)
+    private Long soldQuantity = 0L;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2, insertable = false, updatable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    // Number of stock shards, 0 when unsharded; changed only through ProductStockService
+    @Column(name = "stock_shards", nullable = false, insertable = false, updatable = false)
+    private Integer stockShards = 0;
+
     public Product() {
     }
 
@@ -168,6 +186,22 @@ public class Product {
         this.isActive = isActive;
     }
 
+    public Long getSoldQuantity() {
+        return soldQuantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public Integer getStockShards() {
+        return stockShards;
+    }
+
+    public boolean isStockSharded() {
+        return stockShards != null && stockShards > 0;
+    }
+
     public boolean isInStock() {
         return stockQuantity > 0;
     }
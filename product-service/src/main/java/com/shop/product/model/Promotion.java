@@ -1,6 +1,9 @@
 package com.shop.product.model;
 
 import com.shop.product.model.enums.DiscountType;
+import com.shop.product.model.enums.PromotionScope;
+import com.shop.product.pricing.Discounts;
+import com.shop.product.pricing.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,9 +11,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,9 +29,16 @@ public class Promotion {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "product_id", nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 16)
+    private PromotionScope scope = PromotionScope.PRODUCT;
+
+    @Column(name = "product_id")
     private Long productId;
 
+    @Column(name = "category_id")
+    private Long categoryId;
+
     @Column(name = "title")
     private String title;
 
@@ -52,12 +64,24 @@ public class Promotion {
     @Column(name = "priority", nullable = false)
     private Integer priority = 0;
 
+    // Stackable promotions combine with each other; the others only apply alone
+    @Column(name = "stackable", nullable = false)
+    private Boolean stackable = false;
+
+    // Cart promotions only: the cart subtotal from which the promotion applies
+    @Column(name = "min_cart_amount", precision = 10, scale = 2)
+    private BigDecimal minCartAmount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // discountValue in hundredths, kept in step with it so pricing a product does no BigDecimal work
+    @Transient
+    private long discountMinorUnits;
+
     public Promotion() {
     }
 
@@ -71,6 +95,12 @@ public class Promotion {
         if (this.priority == null) {
             this.priority = 0;
         }
+        if (this.scope == null) {
+            this.scope = PromotionScope.PRODUCT;
+        }
+        if (this.stackable == null) {
+            this.stackable = false;
+        }
     }
 
     @PreUpdate
@@ -78,6 +108,15 @@ public class Promotion {
         this.updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        cacheDiscount();
+    }
+
+    private void cacheDiscount() {
+        this.discountMinorUnits = discountValue != null ? Money.toMinorUnits(discountValue) : 0;
+    }
+
     public boolean isCurrentlyActive(LocalDateTime now) {
         return Boolean.TRUE.equals(active)
                 && startAt != null
@@ -86,23 +125,23 @@ public class Promotion {
                 && !now.isAfter(endAt);
     }
 
-    public BigDecimal applyTo(BigDecimal basePrice) {
-        if (basePrice == null || discountValue == null || discountType == null) {
+    /**
+     * The discounted price, in minor units, of a price in minor units.
+     */
+    public long applyTo(long basePrice) {
+        if (discountValue == null || discountType == null) {
             return basePrice;
         }
+        return discountType == DiscountType.PERCENTAGE
+                ? Discounts.percentageOff(basePrice, discountMinorUnits)
+                : Discounts.amountOff(basePrice, discountMinorUnits);
+    }
 
-        BigDecimal effectivePrice;
-        if (discountType == DiscountType.PERCENTAGE) {
-            BigDecimal discount = basePrice.multiply(discountValue).divide(BigDecimal.valueOf(100));
-            effectivePrice = basePrice.subtract(discount);
-        } else {
-            effectivePrice = basePrice.subtract(discountValue);
-        }
-
-        if (effectivePrice.compareTo(BigDecimal.ZERO) < 0) {
-            return BigDecimal.ZERO;
+    public BigDecimal applyTo(BigDecimal basePrice) {
+        if (basePrice == null || discountValue == null || discountType == null) {
+            return basePrice;
         }
-        return effectivePrice;
+        return Money.toAmount(applyTo(Money.toMinorUnits(basePrice)));
     }
 
     public Long getId() {
@@ -113,6 +152,14 @@ public class Promotion {
         this.id = id;
     }
 
+    public PromotionScope getScope() {
+        return scope;
+    }
+
+    public void setScope(PromotionScope scope) {
+        this.scope = scope;
+    }
+
     public Long getProductId() {
         return productId;
     }
@@ -121,6 +168,14 @@ public class Promotion {
         this.productId = productId;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -151,6 +206,7 @@ public class Promotion {
 
     public void setDiscountValue(BigDecimal discountValue) {
         this.discountValue = discountValue;
+        cacheDiscount();
     }
 
     public LocalDateTime getStartAt() {
@@ -185,6 +241,22 @@ public class Promotion {
         this.priority = priority;
     }
 
+    public Boolean getStackable() {
+        return stackable;
+    }
+
+    public void setStackable(Boolean stackable) {
+        this.stackable = stackable;
+    }
+
+    public BigDecimal getMinCartAmount() {
+        return minCartAmount;
+    }
+
+    public void setMinCartAmount(BigDecimal minCartAmount) {
+        this.minCartAmount = minCartAmount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
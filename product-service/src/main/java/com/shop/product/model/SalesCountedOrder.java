@@ -0,0 +1,40 @@
+package com.shop.product.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Tracks whether an order's lines are currently included in the product sales counters.
+ */
+@Entity
+@Table(name = "sales_counted_orders")
+public class SalesCountedOrder {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "counted", nullable = false)
+    private boolean counted;
+
+    public SalesCountedOrder() {
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public boolean isCounted() {
+        return counted;
+    }
+
+    public void setCounted(boolean counted) {
+        this.counted = counted;
+    }
+}
@@ -0,0 +1,7 @@
+package com.shop.product.model.enums;
+
+public enum PromotionScope {
+    PRODUCT,
+    CATEGORY,
+    CART
+}
@@ -0,0 +1,77 @@
+package com.shop.product.pricing;
+
+import com.shop.product.model.ExchangeRate;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.repository.ExchangeRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ExchangeRates}. The table is loaded from the database after every
+ * committed rate change and swapped in atomically, so converting prices for a request reads
+ * memory only. A periodic reload picks up changes made through other instances.
+ */
+@Component
+public class CurrencyConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyConverter.class);
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final Currency baseCurrency;
+    private final AtomicReference<ExchangeRates> current = new AtomicReference<>();
+
+    public CurrencyConverter(ExchangeRateRepository exchangeRateRepository,
+                             @Value("${product.currency.base:USD}") Currency baseCurrency) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * Current rates, loaded on first access.
+     */
+    public ExchangeRates rates() {
+        ExchangeRates rates = current.get();
+        if (rates == null) {
+            synchronized (this) {
+                rates = current.get();
+                if (rates == null) {
+                    rates = refresh();
+                }
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Reload the rates. Runs in its own transaction because it is triggered from after-commit
+     * callbacks of the transaction that changed a rate.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public ExchangeRates refresh() {
+        Map<Currency, BigDecimal> rates = new EnumMap<>(Currency.class);
+        for (ExchangeRate rate : exchangeRateRepository.findAll()) {
+            rates.put(rate.getCurrency(), rate.getRate());
+        }
+        ExchangeRates table = ExchangeRates.of(baseCurrency, rates, LocalDateTime.now());
+        current.set(table);
+        logger.debug("Exchange rates loaded: {} currencies against {}", table.rates().size(), baseCurrency);
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${product.currency.refresh-interval-ms:300000}",
+            initialDelayString = "${product.currency.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+}
@@ -0,0 +1,33 @@
+package com.shop.product.pricing;
+
+/**
+ * Discount arithmetic on prices in minor units. Nothing here allocates, so it can run for every
+ * product of a listing.
+ * <p>
+ * Percentages are in hundredths of a percent ({@code 1550} is 15.50 %), the same scale as the
+ * stored discount value. A percentage discount rounds the discounted price half up to the minor
+ * unit; the result is the same as the exact {@code BigDecimal} computation rounded to two decimals.
+ * Prices never go below zero.
+ */
+public final class Discounts {
+
+    private static final long HUNDRED_PERCENT = 100_00;
+
+    private Discounts() {
+    }
+
+    public static long percentageOff(long price, long percentage) {
+        if (percentage >= HUNDRED_PERCENT || price <= 0) {
+            return 0;
+        }
+        if (percentage <= 0) {
+            return price;
+        }
+        // price is below 10^10 (DECIMAL(10, 2)) and the factor at most 10^4, so this cannot overflow
+        return (price * (HUNDRED_PERCENT - percentage) + HUNDRED_PERCENT / 2) / HUNDRED_PERCENT;
+    }
+
+    public static long amountOff(long price, long amount) {
+        return Math.max(price - amount, 0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.shop.product.pricing;
+
+import com.shop.product.exception.InvalidCurrencyException;
+import com.shop.product.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable table of exchange rates. Rates are given as units of each currency per unit of the
+ * base currency; the cross rate of every pair is computed once here, so converting an amount is
+ * an array lookup and one multiplication.
+ */
+public final class ExchangeRates {
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final Currency base;
+    private final Map<Currency, BigDecimal> rates;
+    private final BigDecimal[][] cross;
+    private final LocalDateTime loadedAt;
+
+    private ExchangeRates(Currency base, Map<Currency, BigDecimal> rates, LocalDateTime loadedAt) {
+        this.base = base;
+        this.rates = Collections.unmodifiableMap(rates);
+        this.loadedAt = loadedAt;
+        this.cross = new BigDecimal[CURRENCIES.length][CURRENCIES.length];
+        for (Map.Entry<Currency, BigDecimal> from : rates.entrySet()) {
+            for (Map.Entry<Currency, BigDecimal> to : rates.entrySet()) {
+                cross[from.getKey().ordinal()][to.getKey().ordinal()] =
+                        to.getValue().divide(from.getValue(), MathContext.DECIMAL128);
+            }
+        }
+    }
+
+    /**
+     * Build a table from rates against {@code base}. Rates are rescaled so that the base currency
+     * is exactly 1, and the base currency is always convertible even without a rate of its own.
+     */
+    public static ExchangeRates of(Currency base, Map<Currency, BigDecimal> rates, LocalDateTime loadedAt) {
+        BigDecimal baseRate = rates.getOrDefault(base, BigDecimal.ONE);
+        Map<Currency, BigDecimal> normalized = new EnumMap<>(Currency.class);
+        rates.forEach((currency, rate) -> {
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("Exchange rate of " + currency + " must be positive");
+            }
+            normalized.put(currency, rate.divide(baseRate, MathContext.DECIMAL128));
+        });
+        normalized.put(base, BigDecimal.ONE);
+        return new ExchangeRates(base, normalized, loadedAt);
+    }
+
+    public static ExchangeRates baseOnly(Currency base) {
+        return of(base, Map.of(), LocalDateTime.now());
+    }
+
+    /**
+     * Convert an amount in minor units, rounding half up to the minor unit of the target currency.
+     */
+    public long convert(long minorUnits, Currency from, Currency to) {
+        if (from == to) {
+            return minorUnits;
+        }
+        return BigDecimal.valueOf(minorUnits)
+                .multiply(crossRate(from, to))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    public BigDecimal convert(BigDecimal amount, Currency from, Currency to) {
+        if (amount == null || from == to) {
+            return amount;
+        }
+        return Money.toAmount(convert(Money.toMinorUnits(amount), from, to));
+    }
+
+    public boolean supports(Currency currency) {
+        return currency != null && rates.containsKey(currency);
+    }
+
+    /**
+     * Fail fast on a currency without a rate, before any amount is converted into it
+     */
+    public Currency require(Currency currency) {
+        if (!supports(currency)) {
+            throw new InvalidCurrencyException("No exchange rate for currency " + currency);
+        }
+        return currency;
+    }
+
+    public Currency base() {
+        return base;
+    }
+
+    public Map<Currency, BigDecimal> rates() {
+        return rates;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    private BigDecimal crossRate(Currency from, Currency to) {
+        BigDecimal rate = cross[from.ordinal()][to.ordinal()];
+        if (rate == null) {
+            throw new InvalidCurrencyException("No exchange rate from " + from + " to " + to);
+        }
+        return rate;
+    }
+}
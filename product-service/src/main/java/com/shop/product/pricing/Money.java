@@ -0,0 +1,43 @@
+package com.shop.product.pricing;
+
+import com.shop.product.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * An amount in minor units (hundredths) of a currency.
+ * <p>
+ * Prices and discount values are stored as {@code DECIMAL(10, 2)} for every currency, so the minor
+ * unit is always the hundredth, also for currencies such as JPY that are not quoted in cents.
+ * Price arithmetic is done on the {@code long}; {@link BigDecimal} is only used at the edges,
+ * to read entities and write DTOs.
+ */
+public record Money(long minorUnits, Currency currency) {
+
+    public static final int SCALE = 2;
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(toMinorUnits(amount), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toAmount(minorUnits);
+    }
+
+    /**
+     * Hundredths of an amount, rounding half up values with more than two decimals as the database does.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
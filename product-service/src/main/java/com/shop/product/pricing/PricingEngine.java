@@ -0,0 +1,83 @@
+package com.shop.product.pricing;
+
+import com.shop.product.mapper.PromotionMapper;
+import com.shop.product.model.CategoryReplica;
+import com.shop.product.model.Promotion;
+import com.shop.product.model.enums.PromotionScope;
+import com.shop.product.repository.CategoryReplicaRepository;
+import com.shop.product.repository.PromotionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link PricingPlan}. The plan is compiled from the database after every
+ * committed promotion or category change and swapped in atomically, so pricing a page of
+ * products reads memory only. A periodic rebuild picks up changes made through other
+ * instances and drops promotions that have ended.
+ */
+@Component
+public class PricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingEngine.class);
+
+    private final PromotionRepository promotionRepository;
+    private final CategoryReplicaRepository categoryReplicaRepository;
+    private final PromotionMapper promotionMapper;
+    private final AtomicReference<PricingPlan> current = new AtomicReference<>();
+
+    public PricingEngine(PromotionRepository promotionRepository,
+                         CategoryReplicaRepository categoryReplicaRepository,
+                         PromotionMapper promotionMapper) {
+        this.promotionRepository = promotionRepository;
+        this.categoryReplicaRepository = categoryReplicaRepository;
+        this.promotionMapper = promotionMapper;
+    }
+
+    /**
+     * Current plan, compiled on first access.
+     */
+    public PricingPlan plan() {
+        PricingPlan plan = current.get();
+        if (plan == null) {
+            synchronized (this) {
+                plan = current.get();
+                if (plan == null) {
+                    plan = refresh();
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Recompile the plan. Runs in its own transaction because it is triggered from after-commit
+     * callbacks of the transaction that changed the promotions or categories.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public PricingPlan refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Promotion> promotions = promotionRepository.findByActiveTrueAndEndAtGreaterThanEqual(now);
+        // The category tree is only needed to expand category promotions to descendants
+        List<CategoryReplica> categories = promotions.stream().anyMatch(p -> p.getScope() == PromotionScope.CATEGORY)
+                ? categoryReplicaRepository.findAll()
+                : List.of();
+        PricingPlan plan = PricingPlan.compile(promotions, categories, promotionMapper::toDTO, now);
+        current.set(plan);
+        logger.debug("Pricing plan compiled: {} promotions", plan.ruleCount());
+        return plan;
+    }
+
+    @Scheduled(fixedDelayString = "${product.pricing.refresh-interval-ms:60000}",
+            initialDelayString = "${product.pricing.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+}
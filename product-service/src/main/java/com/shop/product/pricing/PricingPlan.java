@@ -0,0 +1,222 @@
+package com.shop.product.pricing;
+
+import com.shop.product.dto.PromotionDTO;
+import com.shop.product.model.CategoryReplica;
+import com.shop.product.model.Promotion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable evaluation plan for all promotions that are running or scheduled.
+ * <p>
+ * Product promotions are indexed by product. Category promotions are indexed by every category
+ * they reach, which is the category itself and all of its descendants, so a product needs two map
+ * lookups whatever the number of promotions. Each index entry is sorted in the order promotions
+ * are considered: highest priority first, then the newest.
+ * <p>
+ * Walking that order, the first promotion that is running decides: if it does not stack, it
+ * applies alone; if it stacks, it and every following stackable promotion apply one after the
+ * other, while promotions that do not stack are skipped. With only non-stackable promotions this
+ * is the single highest-priority promotion, as before promotions could stack.
+ * <p>
+ * Cart promotions are evaluated the same way against the cart subtotal, once line promotions
+ * are applied, and only those whose threshold the subtotal reaches are considered.
+ */
+public final class PricingPlan {
+
+    private static final Comparator<Promotion> ORDER = Comparator
+            .comparing(Promotion::getPriority, Comparator.reverseOrder())
+            .thenComparing(Promotion::getCreatedAt, Comparator.nullsFirst(Comparator.reverseOrder()))
+            .thenComparing(Promotion::getId, Comparator.nullsFirst(Comparator.reverseOrder()));
+
+    private static final PromotionRule[] NONE = new PromotionRule[0];
+
+    private final Map<Long, PromotionRule[]> productRules;
+    private final Map<Long, PromotionRule[]> categoryRules;
+    private final PromotionRule[] cartRules;
+    private final int ruleCount;
+    private final LocalDateTime builtAt;
+
+    private PricingPlan(Map<Long, PromotionRule[]> productRules,
+                        Map<Long, PromotionRule[]> categoryRules,
+                        PromotionRule[] cartRules,
+                        int ruleCount,
+                        LocalDateTime builtAt) {
+        this.productRules = productRules;
+        this.categoryRules = categoryRules;
+        this.cartRules = cartRules;
+        this.ruleCount = ruleCount;
+        this.builtAt = builtAt;
+    }
+
+    public static PricingPlan empty() {
+        return new PricingPlan(Map.of(), Map.of(), NONE, 0, LocalDateTime.now());
+    }
+
+    /**
+     * Compile promotions against the category tree they may target.
+     */
+    public static PricingPlan compile(List<Promotion> promotions,
+                                      List<CategoryReplica> categories,
+                                      Function<Promotion, PromotionDTO> toDTO,
+                                      LocalDateTime builtAt) {
+        List<Promotion> ordered = new ArrayList<>(promotions);
+        ordered.sort(ORDER);
+
+        Map<Long, List<PromotionRule>> byProduct = new HashMap<>();
+        Map<Long, List<PromotionRule>> byCategory = new HashMap<>();
+        List<PromotionRule> cart = new ArrayList<>();
+        int rank = 0;
+        for (Promotion promotion : ordered) {
+            PromotionRule rule = toRule(promotion, rank++, toDTO);
+            switch (promotion.getScope()) {
+                case PRODUCT -> {
+                    if (promotion.getProductId() != null) {
+                        byProduct.computeIfAbsent(promotion.getProductId(), k -> new ArrayList<>()).add(rule);
+                    }
+                }
+                case CATEGORY -> {
+                    if (promotion.getCategoryId() != null) {
+                        byCategory.computeIfAbsent(promotion.getCategoryId(), k -> new ArrayList<>()).add(rule);
+                    }
+                }
+                case CART -> cart.add(rule);
+            }
+        }
+
+        Map<Long, PromotionRule[]> productRules = new HashMap<>();
+        byProduct.forEach((productId, rules) -> productRules.put(productId, rules.toArray(NONE)));
+
+        return new PricingPlan(Map.copyOf(productRules), Map.copyOf(expand(byCategory, categories)),
+                cart.toArray(NONE), ordered.size(), builtAt);
+    }
+
+    /**
+     * Price of one product in minor units, with the promotions that were applied.
+     */
+    public Quote quote(Long productId, Long categoryId, long price, LocalDateTime now) {
+        PromotionRule[] forProduct = productRules.getOrDefault(productId, NONE);
+        PromotionRule[] forCategory = categoryId != null ? categoryRules.getOrDefault(categoryId, NONE) : NONE;
+        if (forProduct.length == 0 && forCategory.length == 0) {
+            return new Quote(price, List.of());
+        }
+
+        long result = price;
+        List<PromotionDTO> applied = null;
+        int p = 0;
+        int c = 0;
+        while (p < forProduct.length || c < forCategory.length) {
+            PromotionRule rule = c == forCategory.length
+                    || (p < forProduct.length && forProduct[p].rank() < forCategory[c].rank())
+                    ? forProduct[p++] : forCategory[c++];
+            if (!rule.activeAt(now)) {
+                continue;
+            }
+            if (!rule.stackable()) {
+                if (applied == null) {
+                    return new Quote(rule.apply(price), rule.alone());
+                }
+                continue;
+            }
+            result = rule.apply(result);
+            applied = add(applied, rule);
+        }
+        return new Quote(result, applied != null ? applied : List.of());
+    }
+
+    /**
+     * Cart discount on a subtotal in minor units, with the promotions that were applied.
+     */
+    public Quote quoteCart(long subtotal, LocalDateTime now) {
+        long result = subtotal;
+        List<PromotionDTO> applied = null;
+        for (PromotionRule rule : cartRules) {
+            if (!rule.activeAt(now) || subtotal < rule.threshold()) {
+                continue;
+            }
+            if (!rule.stackable()) {
+                if (applied == null) {
+                    return new Quote(rule.apply(subtotal), rule.alone());
+                }
+                continue;
+            }
+            result = rule.apply(result);
+            applied = add(applied, rule);
+        }
+        return new Quote(result, applied != null ? applied : List.of());
+    }
+
+    public boolean discounts(Long productId, Long categoryId) {
+        return productRules.containsKey(productId) || (categoryId != null && categoryRules.containsKey(categoryId));
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    private static PromotionRule toRule(Promotion promotion, int rank, Function<Promotion, PromotionDTO> toDTO) {
+        return new PromotionRule(
+                promotion.getId() != null ? promotion.getId() : -1L,
+                rank,
+                promotion.getDiscountType(),
+                Money.toMinorUnits(promotion.getDiscountValue()),
+                promotion.getStartAt(),
+                promotion.getEndAt(),
+                Boolean.TRUE.equals(promotion.getStackable()),
+                promotion.getMinCartAmount() != null ? Money.toMinorUnits(promotion.getMinCartAmount()) : 0,
+                toDTO.apply(promotion));
+    }
+
+    /**
+     * Index category rules by every category they reach: each category gets the rules of its
+     * own path, i.e. of itself and its ancestors, merged in rank order.
+     */
+    private static Map<Long, PromotionRule[]> expand(Map<Long, List<PromotionRule>> byCategory,
+                                                     List<CategoryReplica> categories) {
+        Map<Long, PromotionRule[]> expanded = new HashMap<>();
+        if (byCategory.isEmpty()) {
+            return expanded;
+        }
+        for (CategoryReplica category : categories) {
+            List<PromotionRule> rules = new ArrayList<>();
+            for (String segment : category.getPath().split("/")) {
+                if (!segment.isEmpty()) {
+                    rules.addAll(byCategory.getOrDefault(Long.valueOf(segment), List.of()));
+                }
+            }
+            if (!rules.isEmpty()) {
+                rules.sort(Comparator.comparingInt(PromotionRule::rank));
+                expanded.put(category.getId(), rules.toArray(NONE));
+            }
+        }
+        // Categories not replicated yet still get their own promotions
+        byCategory.forEach((categoryId, rules) -> expanded.putIfAbsent(categoryId, rules.toArray(NONE)));
+        return expanded;
+    }
+
+    private static List<PromotionDTO> add(List<PromotionDTO> applied, PromotionRule rule) {
+        if (applied == null) {
+            return rule.alone();
+        }
+        List<PromotionDTO> more = new ArrayList<>(applied.size() + 1);
+        more.addAll(applied);
+        more.add(rule.promotion());
+        return more;
+    }
+
+    /**
+     * A price in minor units and the promotions applied to reach it, in the order they were applied.
+     */
+    public record Quote(long price, List<PromotionDTO> applied) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.shop.product.pricing;
+
+import com.shop.product.dto.PromotionDTO;
+import com.shop.product.model.enums.DiscountType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A promotion compiled for evaluation: amounts in minor units, its position in the priority order,
+ * and the DTO reported for it. The DTO is shared by every response that applies the rule and must
+ * not be modified.
+ *
+ * @param rank      position in the order promotions are considered: priority, then newest first
+ * @param value     discount in hundredths of a percent or minor units, depending on the type
+ * @param threshold cart promotions only: the cart subtotal, in minor units, from which it applies
+ */
+public record PromotionRule(long id,
+                            int rank,
+                            DiscountType type,
+                            long value,
+                            LocalDateTime startAt,
+                            LocalDateTime endAt,
+                            boolean stackable,
+                            long threshold,
+                            PromotionDTO promotion,
+                            List<PromotionDTO> alone) {
+
+    public PromotionRule(long id, int rank, DiscountType type, long value, LocalDateTime startAt, LocalDateTime endAt,
+                         boolean stackable, long threshold, PromotionDTO promotion) {
+        this(id, rank, type, value, startAt, endAt, stackable, threshold, promotion, List.of(promotion));
+    }
+
+    public boolean activeAt(LocalDateTime now) {
+        return !now.isBefore(startAt) && !now.isAfter(endAt);
+    }
+
+    public long apply(long price) {
+        return type == DiscountType.PERCENTAGE
+                ? Discounts.percentageOff(price, value)
+                : Discounts.amountOff(price, value);
+    }
+}
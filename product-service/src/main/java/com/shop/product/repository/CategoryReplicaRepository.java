@@ -0,0 +1,16 @@
+package com.shop.product.repository;
+
+import com.shop.product.model.CategoryReplica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryReplicaRepository extends JpaRepository<CategoryReplica, Long> {
+
+    @Query("SELECT c.id FROM CategoryReplica c WHERE c.path LIKE CONCAT(:path, '%')")
+    List<Long> findSubtreeIds(@Param("path") String path);
+}
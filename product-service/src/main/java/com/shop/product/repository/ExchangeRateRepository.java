@@ -0,0 +1,10 @@
+package com.shop.product.repository;
+
+import com.shop.product.model.ExchangeRate;
+import com.shop.product.model.enums.Currency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Currency> {
+}
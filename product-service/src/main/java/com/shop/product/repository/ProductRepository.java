@@ -1,25 +1,62 @@
 package com.shop.product.repository;
 
 import com.shop.product.model.Product;
+import com.shop.product.model.enums.Currency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    // Columns a listing shows; the description TEXT and audit columns are never read
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.name AS name, p.price AS price, p.currency AS currency, " +
+            "p.stockQuantity AS stockQuantity, p.imageUrl AS imageUrl, p.categoryId AS categoryId, " +
+            "p.categoryName AS categoryName FROM Product p WHERE ";
+
+    String FILTERS = "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+            "p.isActive = true";
+
+    interface ProductSummary {
+        Long getId();
+
+        String getName();
+
+        BigDecimal getPrice();
+
+        Currency getCurrency();
+
+        Integer getStockQuantity();
+
+        String getImageUrl();
+
+        Long getCategoryId();
+
+        String getCategoryName();
+    }
+
     List<Product> findByCategoryId(Long categoryId);
 
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
     List<Product> findByIsActiveTrue();
 
+    // Spelled out: the derived query renders "WHERE p.is_active", which MySQL cannot match to an index prefix
+    @Query(value = "SELECT p FROM Product p WHERE p.isActive = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
     Page<Product> findByIsActiveTrue(Pageable pageable);
 
     List<Product> findByNameContainingIgnoreCase(String name);
@@ -42,4 +79,49 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             @Param("maxPrice") BigDecimal maxPrice,
             @Param("name") String name,
             Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE " +
+           "p.categoryId IN :categoryIds AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+           "p.isActive = true")
+    Page<Product> findProductsByCategoryIdsAndFilters(
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("name") String name,
+            Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "p.isActive = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
+    Page<ProductSummary> findSummariesByIsActiveTrue(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "(:categoryId IS NULL OR p.categoryId = :categoryId) AND " + FILTERS,
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                   "(:categoryId IS NULL OR p.categoryId = :categoryId) AND " + FILTERS)
+    Page<ProductSummary> findSummariesByFilters(
+            @Param("categoryId") Long categoryId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("name") String name,
+            Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "p.categoryId IN :categoryIds AND " + FILTERS,
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.categoryId IN :categoryIds AND " + FILTERS)
+    Page<ProductSummary> findSummariesByCategoryIdsAndFilters(
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("name") String name,
+            Pageable pageable);
+
+    // Forward-only result stream for exports: MySQL only streams rows when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllForExport();
 }
@@ -1,19 +1,23 @@
 package com.shop.product.repository;
 
 import com.shop.product.model.Promotion;
+import com.shop.product.model.enums.PromotionScope;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface PromotionRepository extends JpaRepository<Promotion, Long> {
     List<Promotion> findByProductId(Long productId);
 
-    Optional<Promotion> findFirstByProductIdAndActiveTrueAndStartAtLessThanEqualAndEndAtGreaterThanEqualOrderByPriorityDescCreatedAtDesc(
-            Long productId,
-            LocalDateTime startAt,
-            LocalDateTime endAt);
+    List<Promotion> findByCategoryId(Long categoryId);
+
+    List<Promotion> findByScope(PromotionScope scope);
+
+    /**
+     * Promotions that are running or scheduled, compiled into the pricing plan.
+     */
+    List<Promotion> findByActiveTrueAndEndAtGreaterThanEqual(LocalDateTime now);
 }
@@ -0,0 +1,9 @@
+package com.shop.product.repository;
+
+import com.shop.product.model.SalesCountedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalesCountedOrderRepository extends JpaRepository<SalesCountedOrder, Long> {
+}
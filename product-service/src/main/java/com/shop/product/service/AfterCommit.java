@@ -0,0 +1,44 @@
+package com.shop.product.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work that follows a database change, such as cache refreshes and events, until the
+ * current transaction has committed.
+ */
+public final class AfterCommit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AfterCommit.class);
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or right away outside a transaction.
+     * The change is committed by then, so a failing action is logged rather than thrown; the
+     * caches it refreshes catch up on their scheduled refresh.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runLogged(action);
+                }
+            });
+        } else {
+            runLogged(action);
+        }
+    }
+
+    private static void runLogged(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            logger.error("Action after commit failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.shop.product.service;
+
+import com.shop.events.avro.CategoryEvent;
+import com.shop.events.avro.CategoryEventType;
+import com.shop.product.dto.CategoryDTO;
+import com.shop.product.exception.ResourceNotFoundException;
+import com.shop.product.model.CategoryReplica;
+import com.shop.product.pricing.PricingEngine;
+import com.shop.product.repository.CategoryReplicaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the local category read model in sync with category-service and
+ * propagates renames into the denormalized {@code products.category_name} column.
+ */
+@Service
+public class CategoryReplicaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryReplicaService.class);
+
+    private static final String UPSERT_REPLICA_SQL =
+            "INSERT INTO category_replicas (id, name, parent_id, path) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name = VALUES(name), parent_id = VALUES(parent_id), path = VALUES(path)";
+
+    // Fallback copies only fill gaps: a row written by an event in the meantime is newer and stays
+    private static final String INSERT_MISSING_REPLICA_SQL =
+            "INSERT IGNORE INTO category_replicas (id, name, parent_id, path) VALUES (?, ?, ?, ?)";
+
+    private static final String DELETE_REPLICA_SQL =
+            "DELETE FROM category_replicas WHERE id = ?";
+
+    private static final String RENAME_PRODUCTS_SQL =
+            "UPDATE products SET category_name = ? WHERE category_id = ? AND category_name <> ?";
+
+    private final CategoryReplicaRepository categoryReplicaRepository;
+    private final CategoryServiceClient categoryServiceClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final PricingEngine pricingEngine;
+
+    public CategoryReplicaService(CategoryReplicaRepository categoryReplicaRepository,
+                                  CategoryServiceClient categoryServiceClient,
+                                  JdbcTemplate jdbcTemplate,
+                                  PricingEngine pricingEngine) {
+        this.categoryReplicaRepository = categoryReplicaRepository;
+        this.categoryServiceClient = categoryServiceClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pricingEngine = pricingEngine;
+    }
+
+    /**
+     * Resolve a category from the local replica, falling back to category-service
+     * only for categories that have not been replicated yet.
+     */
+    @Transactional
+    public CategoryDTO getCategoryById(Long id) {
+        return categoryReplicaRepository.findById(id)
+                .map(this::toDTO)
+                .orElseGet(() -> {
+                    CategoryDTO category = categoryServiceClient.getCategoryById(id);
+                    int inserted = jdbcTemplate.update(INSERT_MISSING_REPLICA_SQL, category.getId(), category.getName(),
+                            category.getParentId(), pathOf(category.getId(), category.getPath()));
+                    if (inserted > 0) {
+                        logger.info("Replicated category {} from category service", category.getId());
+                    }
+                    return category;
+                });
+    }
+
+    /**
+     * Resolve many categories at once: one replica query for the whole set, with the
+     * remote fallback only for IDs that are not replicated. Unknown IDs are left out.
+     */
+    @Transactional
+    public Map<Long, CategoryDTO> getCategoriesByIds(Collection<Long> ids) {
+        Map<Long, CategoryDTO> categories = new HashMap<>();
+        for (CategoryReplica replica : categoryReplicaRepository.findAllById(ids)) {
+            categories.put(replica.getId(), toDTO(replica));
+        }
+        for (Long id : ids) {
+            if (!categories.containsKey(id)) {
+                try {
+                    categories.put(id, getCategoryById(id));
+                } catch (ResourceNotFoundException ex) {
+                    logger.warn("Category {} not found", id);
+                }
+            }
+        }
+        return categories;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return categoryReplicaRepository.existsById(id) || categoryServiceClient.existsById(id);
+    }
+
+    /**
+     * IDs of a category and all of its descendants, resolved with a path prefix match
+     * on the replica instead of a recursive query.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getSubtreeIds(Long id) {
+        String path = categoryReplicaRepository.findById(id)
+                .map(CategoryReplica::getPath)
+                .orElseGet(() -> pathOf(id, categoryServiceClient.getCategoryById(id).getPath()));
+        return categoryReplicaRepository.findSubtreeIds(path);
+    }
+
+    /**
+     * Apply a batch of category events. Events are collapsed to the latest state per
+     * category, then the replica and affected products are updated with JDBC batches.
+     */
+    @Transactional
+    public void applyEvents(List<CategoryEvent> events) {
+        Map<Long, CategoryEvent> latest = new LinkedHashMap<>();
+        for (CategoryEvent event : events) {
+            if (event != null) {
+                latest.put(event.getCategoryId(), event);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> renames = new ArrayList<>();
+        for (CategoryEvent event : latest.values()) {
+            if (event.getType() == CategoryEventType.DELETED) {
+                deletes.add(new Object[]{event.getCategoryId()});
+            } else {
+                upserts.add(new Object[]{event.getCategoryId(), event.getName(), event.getParentId(),
+                        pathOf(event.getCategoryId(), event.getPath())});
+                renames.add(new Object[]{event.getName(), event.getCategoryId(), event.getName()});
+            }
+        }
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_REPLICA_SQL, upserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_REPLICA_SQL, deletes);
+        }
+        if (!renames.isEmpty()) {
+            int[] updated = jdbcTemplate.batchUpdate(RENAME_PRODUCTS_SQL, renames);
+            logger.info("Propagated {} category names to {} products", renames.size(), sum(updated));
+        }
+        // Category promotions reach descendants by path, so a moved category changes who they apply to
+        AfterCommit.run(pricingEngine::refresh);
+    }
+
+    private CategoryDTO toDTO(CategoryReplica replica) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setId(replica.getId());
+        dto.setName(replica.getName());
+        dto.setParentId(replica.getParentId());
+        dto.setPath(replica.getPath());
+        return dto;
+    }
+
+    /**
+     * Events and DTOs from older category-service versions carry no path;
+     * those categories are top-level.
+     */
+    private static String pathOf(Long id, String path) {
+        return path == null || path.isBlank() ? "/" + id + "/" : path;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,68 @@
+package com.shop.product.service;
+
+import com.shop.product.dto.ExchangeRateDTO;
+import com.shop.product.exception.InvalidCurrencyException;
+import com.shop.product.model.ExchangeRate;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.pricing.CurrencyConverter;
+import com.shop.product.repository.ExchangeRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+public class ExchangeRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateService.class);
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final CurrencyConverter currencyConverter;
+    private final Currency baseCurrency;
+
+    public ExchangeRateService(ExchangeRateRepository exchangeRateRepository,
+                               CurrencyConverter currencyConverter,
+                               @Value("${product.currency.base:USD}") Currency baseCurrency) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.currencyConverter = currencyConverter;
+        this.baseCurrency = baseCurrency;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExchangeRateDTO> getRates() {
+        return exchangeRateRepository.findAll(Sort.by("currency")).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Set or add the rate of a currency. The base currency is fixed at 1.
+     */
+    @Transactional
+    public ExchangeRateDTO updateRate(Currency currency, BigDecimal rate) {
+        if (currency == baseCurrency && rate.compareTo(BigDecimal.ONE) != 0) {
+            throw new InvalidCurrencyException("The rate of the base currency " + baseCurrency + " is always 1");
+        }
+        ExchangeRate exchangeRate = exchangeRateRepository.findById(currency)
+                .orElseGet(() -> new ExchangeRate(currency, rate));
+        exchangeRate.setRate(rate);
+        ExchangeRate saved = exchangeRateRepository.save(exchangeRate);
+        logger.info("Exchange rate of {} set to {} per {}", currency, rate, baseCurrency);
+        AfterCommit.run(currencyConverter::refresh);
+        return toDTO(saved);
+    }
+
+    private ExchangeRateDTO toDTO(ExchangeRate exchangeRate) {
+        ExchangeRateDTO dto = new ExchangeRateDTO();
+        dto.setCurrency(exchangeRate.getCurrency());
+        dto.setBase(baseCurrency);
+        dto.setRate(exchangeRate.getRate());
+        dto.setUpdatedAt(exchangeRate.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,117 @@
+package com.shop.product.service;
+
+import com.shop.product.dto.CartQuoteDTO;
+import com.shop.product.dto.CartQuoteRequestDTO;
+import com.shop.product.exception.ResourceNotFoundException;
+import com.shop.product.model.Product;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.pricing.CurrencyConverter;
+import com.shop.product.pricing.ExchangeRates;
+import com.shop.product.pricing.Money;
+import com.shop.product.pricing.PricingEngine;
+import com.shop.product.pricing.PricingPlan;
+import com.shop.product.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices whole carts: one query for the products, then line and cart promotions from the
+ * current pricing plan, and conversion into the quote currency with the current exchange rates.
+ * <p>
+ * Line promotions apply in the product's currency and the promoted unit price is then converted,
+ * so line subtotals are the converted unit price times the quantity, as on the order. Cart
+ * promotion thresholds and fixed amounts are in the base currency, so the subtotal is evaluated
+ * in the base currency and the discount converted back.
+ */
+@Service
+public class PricingService {
+
+    private final ProductRepository productRepository;
+    private final PricingEngine pricingEngine;
+    private final CurrencyConverter currencyConverter;
+
+    public PricingService(ProductRepository productRepository,
+                          PricingEngine pricingEngine,
+                          CurrencyConverter currencyConverter) {
+        this.productRepository = productRepository;
+        this.pricingEngine = pricingEngine;
+        this.currencyConverter = currencyConverter;
+    }
+
+    @Transactional(readOnly = true)
+    public CartQuoteDTO quoteCart(CartQuoteRequestDTO request) {
+        ExchangeRates rates = currencyConverter.rates();
+        if (request.getCurrency() != null) {
+            rates.require(request.getCurrency());
+        }
+
+        List<Long> productIds = request.getItems().stream().map(CartQuoteRequestDTO.Item::getProductId).distinct().toList();
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        List<Product> lineProducts = new ArrayList<>(request.getItems().size());
+        Currency shared = null;
+        boolean singleCurrency = true;
+        for (CartQuoteRequestDTO.Item item : request.getItems()) {
+            Product product = products.get(item.getProductId());
+            if (product == null || !Boolean.TRUE.equals(product.getIsActive())) {
+                throw new ResourceNotFoundException("Product", "id", item.getProductId());
+            }
+            lineProducts.add(product);
+            if (shared == null) {
+                shared = product.getCurrency();
+            } else if (shared != product.getCurrency()) {
+                singleCurrency = false;
+            }
+        }
+        Currency currency = request.getCurrency() != null ? request.getCurrency()
+                : singleCurrency ? shared : rates.base();
+
+        PricingPlan plan = pricingEngine.plan();
+        LocalDateTime now = LocalDateTime.now();
+        List<CartQuoteDTO.Line> lines = new ArrayList<>(lineProducts.size());
+        long subtotal = 0;
+        for (int i = 0; i < lineProducts.size(); i++) {
+            Product product = lineProducts.get(i);
+            CartQuoteRequestDTO.Item item = request.getItems().get(i);
+            long basePrice = Money.toMinorUnits(product.getPrice());
+            PricingPlan.Quote quote = plan.quote(product.getId(), product.getCategoryId(), basePrice, now);
+            long unitPrice = rates.convert(quote.price(), product.getCurrency(), currency);
+            long lineSubtotal = Math.multiplyExact(unitPrice, item.getQuantity().longValue());
+
+            CartQuoteDTO.Line line = new CartQuoteDTO.Line();
+            line.setProductId(product.getId());
+            line.setName(product.getName());
+            line.setQuantity(item.getQuantity());
+            line.setBasePrice(Money.toAmount(rates.convert(basePrice, product.getCurrency(), currency)));
+            line.setUnitPrice(Money.toAmount(unitPrice));
+            line.setSubtotal(Money.toAmount(lineSubtotal));
+            line.setCurrency(currency);
+            line.setStockQuantity(product.getStockQuantity());
+            line.setAppliedPromotions(quote.applied());
+            lines.add(line);
+            subtotal += lineSubtotal;
+        }
+
+        long subtotalInBase = rates.convert(subtotal, currency, rates.base());
+        PricingPlan.Quote cart = plan.quoteCart(subtotalInBase, now);
+        long discount = Math.min(rates.convert(subtotalInBase - cart.price(), rates.base(), currency), subtotal);
+
+        CartQuoteDTO quote = new CartQuoteDTO();
+        quote.setLines(lines);
+        quote.setCurrency(currency);
+        quote.setSubtotal(Money.toAmount(subtotal));
+        quote.setDiscount(Money.toAmount(discount));
+        quote.setTotal(Money.toAmount(subtotal - discount));
+        quote.setCartPromotions(cart.applied());
+        return quote;
+    }
+}
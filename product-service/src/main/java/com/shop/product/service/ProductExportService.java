@@ -0,0 +1,121 @@
+package com.shop.product.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shop.product.dto.ProductExportRow;
+import com.shop.product.model.Product;
+import com.shop.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the whole catalog as NDJSON or CSV. Products are read through a forward-only
+ * MySQL result stream and detached as soon as they are written, so heap usage stays
+ * flat regardless of the catalog size.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (expected ndjson or csv)");
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public ProductExportService(ProductRepository productRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.ndjsonWriter = objectMapper.writerFor(ProductExportRow.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.csvWriter = csvMapper.writerFor(ProductExportRow.class)
+                .with(csvMapper.schemaFor(ProductExportRow.class).withHeader())
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Write every product to {@code out}. The stream is left open for the caller.
+     *
+     * @return number of exported products
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, Format format, boolean gzip) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : null;
+        OutputStream target = gzipOut != null ? gzipOut : out;
+
+        long count = 0;
+        ObjectWriter writer = format == Format.CSV ? csvWriter : ndjsonWriter;
+        try (Stream<Product> products = productRepository.streamAllForExport();
+             SequenceWriter rows = writer.writeValues(target)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                rows.write(ProductExportRow.from(product));
+                entityManager.detach(product);
+                count++;
+            }
+        }
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        target.flush();
+
+        logger.info("Exported {} products as {} in {} ms", count, format, System.currentTimeMillis() - startedAt);
+        return count;
+    }
+}
@@ -0,0 +1,243 @@
+package com.shop.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.shop.events.avro.ProductEventType;
+import com.shop.product.dto.CategoryDTO;
+import com.shop.product.dto.ProductCreateDTO;
+import com.shop.product.dto.ProductImportErrorDTO;
+import com.shop.product.dto.ProductImportResultDTO;
+import com.shop.product.events.ProductEventPublisher;
+import com.shop.product.mapper.ProductMapper;
+import com.shop.product.model.Product;
+import com.shop.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import of products from CSV (with a header row) or NDJSON.
+ * Rows are parsed one at a time and written in fixed-size batches, each in its own
+ * transaction, so memory use does not grow with the size of the upload. A bad row
+ * is reported with its row number (the line number for NDJSON, the data row after
+ * the header for CSV) and never fails the rest of the import.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null) {
+                String type = contentType.toLowerCase();
+                if (type.startsWith("text/csv")) {
+                    return CSV;
+                }
+                if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                    return NDJSON;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                    + " (expected text/csv or application/x-ndjson)");
+        }
+    }
+
+    private record PendingRow(long row, ProductCreateDTO product) {
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryReplicaService categoryReplicaService;
+    private final ProductMapper productMapper;
+    private final ProductEventPublisher productEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(ProductRepository productRepository,
+                                CategoryReplicaService categoryReplicaService,
+                                ProductMapper productMapper,
+                                ProductEventPublisher productEventPublisher,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${product.import.batch-size:500}") int batchSize,
+                                @Value("${product.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.categoryReplicaService = categoryReplicaService;
+        this.productMapper = productMapper;
+        this.productEventPublisher = productEventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ProductImportResultDTO importProducts(InputStream input, Format format) throws IOException {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        long startedAt = System.currentTimeMillis();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, result, batch);
+            } else {
+                readNdjson(reader, result, batch);
+            }
+        }
+        flush(batch, result);
+
+        logger.info("Product import finished in {} ms: {} rows, {} imported, {} failed",
+                System.currentTimeMillis() - startedAt, result.getProcessed(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void readCsv(BufferedReader reader, ProductImportResultDTO result, List<PendingRow> batch) throws IOException {
+        CsvMapper csvMapper = new CsvMapper();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerFor(Map.class).with(schema).readValues(reader)) {
+            long row = 0;
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                } catch (JsonProcessingException ex) {
+                    // The parser cannot find the start of another row, e.g. after an unclosed quote
+                    reject(row + 1, "Unreadable row: " + ex.getOriginalMessage(), result);
+                    break;
+                }
+                row++;
+                try {
+                    Map<String, String> values = rows.nextValue();
+                    values.values().removeIf(String::isEmpty);
+                    accept(row, objectMapper.convertValue(values, ProductCreateDTO.class), result, batch);
+                } catch (JsonProcessingException ex) {
+                    // Malformed row, e.g. more values than header columns; the iterator skips to the next row
+                    reject(row, "Unreadable row: " + ex.getOriginalMessage(), result);
+                } catch (RuntimeException ex) {
+                    reject(row, "Unreadable row: " + ex.getMessage(), result);
+                }
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ProductImportResultDTO result, List<PendingRow> batch) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(row, objectMapper.readValue(line, ProductCreateDTO.class), result, batch);
+            } catch (JsonProcessingException ex) {
+                reject(row, "Unreadable row: " + ex.getOriginalMessage(), result);
+            }
+        }
+    }
+
+    private void accept(long row, ProductCreateDTO product, ProductImportResultDTO result, List<PendingRow> batch) {
+        Set<ConstraintViolation<ProductCreateDTO>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            reject(row, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")), result);
+            return;
+        }
+        batch.add(new PendingRow(row, product));
+        if (batch.size() >= batchSize) {
+            flush(batch, result);
+        }
+    }
+
+    /**
+     * Resolve the categories of the whole batch with one lookup, then insert the
+     * batch in a single transaction using JDBC batching.
+     */
+    private void flush(List<PendingRow> batch, ProductImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<Long> categoryIds = new HashSet<>();
+        for (PendingRow pending : batch) {
+            categoryIds.add(pending.product().getCategoryId());
+        }
+        Map<Long, CategoryDTO> categories = categoryReplicaService.getCategoriesByIds(categoryIds);
+
+        List<Product> products = new ArrayList<>(batch.size());
+        for (PendingRow pending : batch) {
+            CategoryDTO category = categories.get(pending.product().getCategoryId());
+            if (category == null) {
+                reject(pending.row(), "Category not found with id: " + pending.product().getCategoryId(), result);
+                continue;
+            }
+            Product product = productMapper.toEntity(pending.product());
+            productMapper.setCategory(product, category.getId(), category.getName());
+            products.add(product);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                productRepository.saveAll(products);
+                entityManager.flush();
+                entityManager.clear();
+                for (Product product : products) {
+                    productEventPublisher.publishAfterCommit(product, ProductEventType.CREATED);
+                }
+            });
+            result.setImported(result.getImported() + products.size());
+            result.setProcessed(result.getProcessed() + products.size());
+        } catch (RuntimeException ex) {
+            logger.error("Product import batch of {} rows failed", products.size(), ex);
+            for (PendingRow pending : batch) {
+                if (categories.containsKey(pending.product().getCategoryId())) {
+                    reject(pending.row(), "Batch insert failed: " + ex.getMessage(), result);
+                }
+            }
+        }
+        batch.clear();
+        logger.info("Product import progress: {} rows, {} imported, {} failed",
+                result.getProcessed(), result.getImported(), result.getFailed());
+    }
+
+    private void reject(long row, String message, ProductImportResultDTO result) {
+        result.setProcessed(result.getProcessed() + 1);
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ProductImportErrorDTO(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.shop.product.service;
+
+import com.shop.events.avro.OrderEvent;
+import com.shop.events.avro.OrderEventItem;
+import com.shop.events.avro.OrderStatus;
+import com.shop.product.model.SalesCountedOrder;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.pricing.CurrencyConverter;
+import com.shop.product.pricing.ExchangeRates;
+import com.shop.product.repository.SalesCountedOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the per-product {@code sold_quantity} and {@code revenue} counters from order
+ * events, so best-seller sorting reads an indexed column instead of aggregating order items.
+ * An order's lines are counted while the order is not canceled; whether they currently are
+ * is remembered per order, which makes redelivered events harmless.
+ * <p>
+ * Orders are placed in several currencies, so {@code revenue} is kept in the base currency:
+ * line amounts are converted at the rates current when the event is applied. Lines in a
+ * currency without a rate count towards the quantity only.
+ */
+@Service
+public class ProductSalesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSalesService.class);
+
+    private static final String UPSERT_COUNTED_ORDER_SQL =
+            "INSERT INTO sales_counted_orders (order_id, counted) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE counted = VALUES(counted)";
+
+    // updated_at is kept as is: sales are not an edit of the product
+    private static final String ADJUST_SALES_SQL =
+            "UPDATE products SET sold_quantity = GREATEST(sold_quantity + ?, 0), revenue = revenue + ?, " +
+            "updated_at = updated_at WHERE id = ?";
+
+    private static final class SalesDelta {
+        private long quantity;
+        private BigDecimal revenue = BigDecimal.ZERO;
+    }
+
+    private final SalesCountedOrderRepository salesCountedOrderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CurrencyConverter currencyConverter;
+
+    public ProductSalesService(SalesCountedOrderRepository salesCountedOrderRepository,
+                               JdbcTemplate jdbcTemplate,
+                               CurrencyConverter currencyConverter) {
+        this.salesCountedOrderRepository = salesCountedOrderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.currencyConverter = currencyConverter;
+    }
+
+    @Transactional
+    public void applyOrderEvents(List<OrderEvent> events) {
+        // Events are keyed by order ID, so within a batch the last one is the latest state
+        Map<Long, OrderEvent> latest = new LinkedHashMap<>();
+        for (OrderEvent event : events) {
+            // Events published before order lines were included carry no items and cannot be counted
+            if (event != null && !event.getItems().isEmpty()) {
+                latest.put(event.getOrderId(), event);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Boolean> counted = new HashMap<>();
+        for (SalesCountedOrder order : salesCountedOrderRepository.findAllById(latest.keySet())) {
+            counted.put(order.getOrderId(), order.isCounted());
+        }
+
+        ExchangeRates rates = currencyConverter.rates();
+        Map<Long, SalesDelta> deltas = new HashMap<>();
+        List<Object[]> states = new ArrayList<>();
+        for (OrderEvent event : latest.values()) {
+            boolean wasCounted = counted.getOrDefault(event.getOrderId(), false);
+            boolean shouldCount = event.getStatus() != OrderStatus.CANCELED;
+            if (wasCounted == shouldCount) {
+                continue;
+            }
+            int sign = shouldCount ? 1 : -1;
+            Currency currency = convertibleCurrency(event, rates);
+            for (OrderEventItem item : event.getItems()) {
+                SalesDelta delta = deltas.computeIfAbsent(item.getProductId(), id -> new SalesDelta());
+                delta.quantity += (long) sign * item.getQuantity();
+                if (currency != null) {
+                    BigDecimal revenue = rates.convert(subtotal(item), currency, rates.base());
+                    delta.revenue = delta.revenue.add(revenue.multiply(BigDecimal.valueOf(sign)));
+                }
+            }
+            states.add(new Object[]{event.getOrderId(), shouldCount});
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> adjustments = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> adjustments.add(new Object[]{delta.quantity, delta.revenue, productId}));
+
+        jdbcTemplate.batchUpdate(UPSERT_COUNTED_ORDER_SQL, states);
+        jdbcTemplate.batchUpdate(ADJUST_SALES_SQL, adjustments);
+        logger.info("Applied sales of {} orders to {} products", states.size(), adjustments.size());
+    }
+
+    /**
+     * Currency of the order's amounts, or null if it has no rate and cannot go into the revenue
+     */
+    private static Currency convertibleCurrency(OrderEvent event, ExchangeRates rates) {
+        String code = event.getCurrency().toString();
+        for (Currency currency : Currency.values()) {
+            if (currency.name().equals(code) && rates.supports(currency)) {
+                return currency;
+            }
+        }
+        logger.warn("Order {} is in {}, which has no exchange rate; its revenue is not counted",
+                event.getOrderId(), code);
+        return null;
+    }
+
+    // Events written before the decimal fields only carry the double subtotal
+    private static BigDecimal subtotal(OrderEventItem item) {
+        return item.getSubtotalDecimal() != null
+                ? item.getSubtotalDecimal()
+                : BigDecimal.valueOf(item.getSubtotal());
+    }
+}
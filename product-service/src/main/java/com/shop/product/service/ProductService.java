@@ -1,13 +1,24 @@
 package com.shop.product.service;
 
+import com.shop.events.avro.ProductEventType;
 import com.shop.product.dto.CategoryDTO;
+import com.shop.product.dto.PricedDTO;
 import com.shop.product.dto.ProductCreateDTO;
 import com.shop.product.dto.ProductDTO;
+import com.shop.product.dto.ProductFields;
+import com.shop.product.dto.ProductSummaryDTO;
 import com.shop.product.dto.ProductUpdateDTO;
+import com.shop.product.dto.PromotionDTO;
+import com.shop.product.events.ProductEventPublisher;
 import com.shop.product.exception.ResourceNotFoundException;
 import com.shop.product.mapper.ProductMapper;
 import com.shop.product.model.Product;
-import com.shop.product.model.Promotion;
+import com.shop.product.model.enums.Currency;
+import com.shop.product.pricing.CurrencyConverter;
+import com.shop.product.pricing.ExchangeRates;
+import com.shop.product.pricing.Money;
+import com.shop.product.pricing.PricingEngine;
+import com.shop.product.pricing.PricingPlan;
 import com.shop.product.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +28,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.BiFunction;
 
 @Service
 public class ProductService {
@@ -25,24 +38,38 @@ public class ProductService {
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
     private final ProductRepository productRepository;
-    private final CategoryServiceClient categoryServiceClient;
-    private final PromotionService promotionService;
+    private final CategoryReplicaService categoryReplicaService;
+    private final PricingEngine pricingEngine;
+    private final CurrencyConverter currencyConverter;
     private final ProductMapper productMapper;
+    private final ProductEventPublisher productEventPublisher;
+    private final ProductStockService productStockService;
 
     public ProductService(ProductRepository productRepository,
-                          CategoryServiceClient categoryServiceClient,
-                          PromotionService promotionService,
-                          ProductMapper productMapper) {
+                          CategoryReplicaService categoryReplicaService,
+                          PricingEngine pricingEngine,
+                          CurrencyConverter currencyConverter,
+                          ProductMapper productMapper,
+                          ProductEventPublisher productEventPublisher,
+                          ProductStockService productStockService) {
         this.productRepository = productRepository;
-        this.categoryServiceClient = categoryServiceClient;
-        this.promotionService = promotionService;
+        this.categoryReplicaService = categoryReplicaService;
+        this.pricingEngine = pricingEngine;
+        this.currencyConverter = currencyConverter;
         this.productMapper = productMapper;
+        this.productEventPublisher = productEventPublisher;
+        this.productStockService = productStockService;
     }
 
+    /**
+     * Listing and single-product reads take an optional display currency: prices are converted
+     * into it from the product's own currency, or left as they are when it is null. Price filters
+     * always apply to the stored prices.
+     */
     @Transactional(readOnly = true)
-    public Page<ProductDTO> getAllProducts(Pageable pageable) {
+    public Page<ProductDTO> getAllProducts(Pageable pageable, Currency currency) {
         Page<Product> products = productRepository.findByIsActiveTrue(pageable);
-        return products.map(this::toProductDTO);
+        return toProductDTOs(products, currency);
     }
 
     @Transactional(readOnly = true)
@@ -50,33 +77,92 @@ public class ProductService {
                                                    BigDecimal minPrice,
                                                    BigDecimal maxPrice,
                                                    String name,
-                                                   Pageable pageable) {
-        Page<Product> products = productRepository.findProductsByFilters(categoryId, minPrice, maxPrice, name, pageable);
-        return products.map(this::toProductDTO);
+                                                   boolean includeDescendants,
+                                                   Pageable pageable,
+                                                   Currency currency) {
+        Page<Product> products;
+        if (categoryId != null && includeDescendants) {
+            List<Long> categoryIds = categoryReplicaService.getSubtreeIds(categoryId);
+            products = productRepository.findProductsByCategoryIdsAndFilters(categoryIds, minPrice, maxPrice, name, pageable);
+        } else {
+            products = productRepository.findProductsByFilters(categoryId, minPrice, maxPrice, name, pageable);
+        }
+        return toProductDTOs(products, currency);
     }
 
+    /**
+     * Listing as {@code ?view=summary} returns it: the projection reads only the columns a
+     * listing shows, and prices are worked out exactly as for full products.
+     */
     @Transactional(readOnly = true)
-    public ProductDTO getProductById(Long id) {
-        return toProductDTO(findProductById(id));
+    public Page<ProductSummaryDTO> getProductSummaries(Long categoryId,
+                                                       BigDecimal minPrice,
+                                                       BigDecimal maxPrice,
+                                                       String name,
+                                                       boolean includeDescendants,
+                                                       Pageable pageable,
+                                                       Currency currency) {
+        Page<ProductRepository.ProductSummary> products =
+                findSummaries(categoryId, minPrice, maxPrice, name, includeDescendants, pageable);
+        PagePricing pricing = pagePricing(currency);
+        return products.map(product -> priced(product, pricing,
+                (price, applied) -> productMapper.toSummaryDTO(product, price, applied)));
     }
 
+    /**
+     * Listing for {@code fields=}: read through the summary projection when it has every
+     * requested column, otherwise as full products. The response filters the rest out.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByCategoryId(Long categoryId) {
-        if (!categoryServiceClient.existsById(categoryId)) {
+    public Page<ProductDTO> getProductFields(Long categoryId,
+                                             BigDecimal minPrice,
+                                             BigDecimal maxPrice,
+                                             String name,
+                                             boolean includeDescendants,
+                                             Pageable pageable,
+                                             Currency currency,
+                                             ProductFields fields) {
+        if (!fields.summaryColumnsOnly()) {
+            return categoryId == null && minPrice == null && maxPrice == null && name == null
+                    ? getAllProducts(pageable, currency)
+                    : getProductsWithFilters(categoryId, minPrice, maxPrice, name, includeDescendants, pageable, currency);
+        }
+
+        Page<ProductRepository.ProductSummary> products =
+                findSummaries(categoryId, minPrice, maxPrice, name, includeDescendants, pageable);
+        PagePricing pricing = pagePricing(currency);
+        return products.map(product -> priced(product, pricing,
+                (price, applied) -> productMapper.toDTO(product, price, applied)));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductDTO getProductById(Long id, Currency currency) {
+        Product product = findProductById(id);
+        ProductDTO dto = toProductDTO(product, pagePricing(currency));
+        // Single-product reads report exact stock; listings use the consolidated column
+        dto.setStockQuantity(productStockService.getAvailable(id, product.getStockQuantity(), product.isStockSharded()));
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsByCategoryId(Long categoryId, Currency currency) {
+        if (!categoryReplicaService.existsById(categoryId)) {
             throw new ResourceNotFoundException("Category", "id", categoryId);
         }
+        PagePricing pricing = pagePricing(currency);
         return productRepository.findByCategoryId(categoryId).stream()
-                .map(this::toProductDTO)
+                .map(product -> toProductDTO(product, pricing))
                 .toList();
     }
 
     @Transactional
     public ProductDTO createProduct(ProductCreateDTO dto) {
-        CategoryDTO categoryDTO = categoryServiceClient.getCategoryById(dto.getCategoryId());
+        CategoryDTO categoryDTO = categoryReplicaService.getCategoryById(dto.getCategoryId());
         Product product = productMapper.toEntity(dto);
         productMapper.setCategory(product, categoryDTO.getId(), categoryDTO.getName());
         Product saved = productRepository.save(product);
         logger.info("Created product {}", saved.getId());
+        productEventPublisher.publishAfterCommit(saved, ProductEventType.CREATED);
         return toProductDTO(saved);
     }
 
@@ -86,13 +172,17 @@ public class ProductService {
 
         if (dto.getCategoryId() != null &&
                 (product.getCategoryId() == null || !product.getCategoryId().equals(dto.getCategoryId()))) {
-            CategoryDTO categoryDTO = categoryServiceClient.getCategoryById(dto.getCategoryId());
+            CategoryDTO categoryDTO = categoryReplicaService.getCategoryById(dto.getCategoryId());
             productMapper.setCategory(product, categoryDTO.getId(), categoryDTO.getName());
         }
 
         productMapper.updateEntity(product, dto);
+        if (product.isStockSharded() && dto.getStockQuantity() != null) {
+            productStockService.resetShardedStock(id, dto.getStockQuantity());
+        }
         Product updated = productRepository.save(product);
         logger.info("Updated product {}", updated.getId());
+        productEventPublisher.publishAfterCommit(updated, ProductEventType.UPDATED);
         return toProductDTO(updated);
     }
 
@@ -101,6 +191,7 @@ public class ProductService {
         Product product = findProductById(id);
         product.setIsActive(false);
         productRepository.save(product);
+        productEventPublisher.publishAfterCommit(product, ProductEventType.DEACTIVATED);
     }
 
     private Product findProductById(Long id) {
@@ -109,9 +200,91 @@ public class ProductService {
     }
 
     private ProductDTO toProductDTO(Product product) {
-        Promotion activePromotion = promotionService.getActivePromotionEntity(product.getId()).orElse(null);
-        BigDecimal effectivePrice = promotionService.calculateEffectivePrice(product.getPrice(), activePromotion);
-        var promotionDTO = activePromotion != null ? promotionService.toDTO(activePromotion) : null;
-        return productMapper.toDTO(product, effectivePrice, promotionDTO);
+        return toProductDTO(product, pagePricing(null));
+    }
+
+    private Page<ProductRepository.ProductSummary> findSummaries(Long categoryId,
+                                                                BigDecimal minPrice,
+                                                                BigDecimal maxPrice,
+                                                                String name,
+                                                                boolean includeDescendants,
+                                                                Pageable pageable) {
+        if (categoryId == null && minPrice == null && maxPrice == null && name == null) {
+            return productRepository.findSummariesByIsActiveTrue(pageable);
+        }
+        if (categoryId != null && includeDescendants) {
+            List<Long> categoryIds = categoryReplicaService.getSubtreeIds(categoryId);
+            return productRepository.findSummariesByCategoryIdsAndFilters(categoryIds, minPrice, maxPrice, name, pageable);
+        }
+        return productRepository.findSummariesByFilters(categoryId, minPrice, maxPrice, name, pageable);
+    }
+
+    private Page<ProductDTO> toProductDTOs(Page<Product> products, Currency currency) {
+        PagePricing pricing = pagePricing(currency);
+        return products.map(product -> toProductDTO(product, pricing));
+    }
+
+    /**
+     * One pricing plan, one rate table and one clock reading per request, so every product on a
+     * page is priced against the same promotions and rates. Rates are null when prices stay as
+     * stored, and the display currency is checked here once.
+     */
+    private PagePricing pagePricing(Currency currency) {
+        ExchangeRates rates = null;
+        if (currency != null) {
+            rates = currencyConverter.rates();
+            rates.require(currency);
+        }
+        return new PagePricing(pricingEngine.plan(), rates, currency, LocalDateTime.now());
+    }
+
+    private ProductDTO toProductDTO(Product product, PagePricing pricing) {
+        return priced(product.getId(), product.getCategoryId(), product.getPrice(), product.getCurrency(), pricing,
+                (price, applied) -> productMapper.toDTO(product, price, applied));
+    }
+
+    private <T extends PricedDTO> T priced(ProductRepository.ProductSummary product, PagePricing pricing,
+                                           BiFunction<BigDecimal, List<PromotionDTO>, T> toDTO) {
+        return priced(product.getId(), product.getCategoryId(), product.getPrice(), product.getCurrency(), pricing,
+                toDTO);
+    }
+
+    /**
+     * Every listing is priced here, whatever it maps the product to: {@code toDTO} gets the
+     * promoted price and the applied promotions, and the prices it reports are then converted
+     * into the display currency.
+     */
+    private static <T extends PricedDTO> T priced(Long productId, Long categoryId, BigDecimal price, Currency from,
+                                                  PagePricing pricing,
+                                                  BiFunction<BigDecimal, List<PromotionDTO>, T> toDTO) {
+        PricingPlan.Quote quote = quote(pricing.plan(), productId, categoryId, price, pricing.now());
+        T dto = quote == null
+                ? toDTO.apply(price, List.of())
+                : toDTO.apply(Money.toAmount(quote.price()), quote.applied());
+        convert(dto, from, pricing.rates(), pricing.currency());
+        return dto;
+    }
+
+    private static void convert(PricedDTO dto, Currency from, ExchangeRates rates, Currency currency) {
+        if (rates != null && from != currency) {
+            dto.setBasePrice(rates.convert(dto.getBasePrice(), from, currency));
+            dto.setPrice(rates.convert(dto.getPrice(), from, currency));
+            dto.setCurrency(currency);
+        }
+    }
+
+    /**
+     * Promoted price of a product, or null when no running promotion applies to it.
+     */
+    private static PricingPlan.Quote quote(PricingPlan plan, Long productId, Long categoryId, BigDecimal price,
+                                           LocalDateTime now) {
+        if (price == null || !plan.discounts(productId, categoryId)) {
+            return null;
+        }
+        PricingPlan.Quote quote = plan.quote(productId, categoryId, Money.toMinorUnits(price), now);
+        return quote.applied().isEmpty() ? null : quote;
+    }
+
+    private record PagePricing(PricingPlan plan, ExchangeRates rates, Currency currency, LocalDateTime now) {
     }
 }
@@ -0,0 +1,426 @@
+package com.shop.product.service;
+
+import com.shop.product.exception.InsufficientStockException;
+import com.shop.product.exception.ResourceNotFoundException;
+import com.shop.product.exception.StockLayoutChangedException;
+import com.shop.product.exception.StockReservationReleasedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Atomic stock reservation and release.
+ * <p>
+ * A product's stock normally lives in {@code products.stock_quantity} and is adjusted with a
+ * single conditional update. For flash-sale products that single row becomes the lock every
+ * checkout waits on, so stock can be split over N rows of {@code product_stock_shards}.
+ * A reservation then decrements one randomly chosen shard, trying the others in turn when it
+ * runs dry, so concurrent checkouts mostly lock different rows. Each of those updates runs on
+ * its own and holds its row lock only for the statement. Only when no single shard can cover
+ * the quantity are all shards locked, in shard order, and drained together.
+ * <p>
+ * The stock of a sharded product is the sum of its shards. {@code products.stock_quantity} is
+ * refreshed from that sum periodically so listings keep reading one column.
+ * <p>
+ * The layout ({@code products.stock_shards}) is read without a lock, so a reservation or release
+ * can meet a layout that {@link #setShards} changed in the meantime. Every write therefore only
+ * applies to the layout it was planned for: updates of the product row require it to be
+ * unsharded, shard rows exist only in the current layout, and the locked path re-checks the layout
+ * under a shared lock on the product row. A write that missed because of a change is retried on
+ * the new layout.
+ * <p>
+ * Order checkouts pass a reservation token. Each movement made with a token is recorded in
+ * {@code stock_reservations} in the same transaction, so a repeated reserve takes nothing more,
+ * a repeated release returns nothing more, and a release that overtakes its reserve (say after
+ * the reserve timed out on the caller's side) leaves a tombstone that refuses the late reserve.
+ * These transactions read committed data, so a layout change is seen when the layout is re-read,
+ * and, like {@link #setShards}, are retried when InnoDB picks them as a deadlock victim.
+ */
+@Service
+public class ProductStockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockService.class);
+
+    // updated_at is kept as is: stock movements are not an edit of the product. Once the product
+    // is sharded, stock_quantity is only a copy and must not be moved.
+    private static final String RESERVE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, updated_at = updated_at " +
+            "WHERE id = ? AND stock_quantity >= ? AND stock_shards = 0";
+
+    private static final String RELEASE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, updated_at = updated_at " +
+            "WHERE id = ? AND stock_shards = 0";
+
+    private static final String SHARDS_SQL =
+            "SELECT stock_shards FROM products WHERE id = ?";
+
+    // Blocks setShards, which locks the product row exclusively, until the locked reservation commits
+    private static final String SHARE_LOCK_SHARDS_SQL =
+            "SELECT stock_shards FROM products WHERE id = ? LOCK IN SHARE MODE";
+
+    private static final String RESERVE_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity - ? " +
+            "WHERE product_id = ? AND shard = ? AND quantity >= ?";
+
+    private static final String RELEASE_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity + ? WHERE product_id = ? AND shard = ?";
+
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT shard, quantity FROM product_stock_shards WHERE product_id = ? ORDER BY shard FOR UPDATE";
+
+    private static final String SET_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = ? WHERE product_id = ? AND shard = ?";
+
+    private static final String SUM_SHARDS_SQL =
+            "SELECT COALESCE(SUM(quantity), 0) FROM product_stock_shards WHERE product_id = ?";
+
+    private static final String LOCK_PRODUCT_SQL =
+            "SELECT stock_quantity, stock_shards FROM products WHERE id = ? FOR UPDATE";
+
+    private static final String DELETE_SHARDS_SQL =
+            "DELETE FROM product_stock_shards WHERE product_id = ?";
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO product_stock_shards (product_id, shard, quantity) VALUES (?, ?, ?)";
+
+    private static final String SET_SHARDING_SQL =
+            "UPDATE products SET stock_shards = ?, stock_quantity = ?, updated_at = updated_at WHERE id = ?";
+
+    private static final String CONSOLIDATE_SQL =
+            "UPDATE products p JOIN (SELECT product_id, SUM(quantity) AS total FROM product_stock_shards " +
+            "GROUP BY product_id) s ON s.product_id = p.id " +
+            "SET p.stock_quantity = s.total, p.updated_at = p.updated_at " +
+            "WHERE p.stock_shards > 0 AND p.stock_quantity <> s.total";
+
+    private static final String HOLD_SQL =
+            "INSERT INTO stock_reservations (reservation, product_id, quantity) VALUES (?, ?, ?)";
+
+    private static final String RESERVATION_RELEASED_SQL =
+            "SELECT released FROM stock_reservations WHERE reservation = ? AND product_id = ?";
+
+    // Leaves a tombstone if the reservation has not arrived, and locks its row exclusively either
+    // way; a plain INSERT would take a shared lock on a duplicate, and concurrent releases of the
+    // same reservation would deadlock upgrading it.
+    private static final String LOCK_RELEASE_SQL =
+            "INSERT INTO stock_reservations (reservation, product_id, quantity, released, released_at) " +
+            "VALUES (?, ?, 0, TRUE, ?) ON DUPLICATE KEY UPDATE quantity = quantity";
+
+    private static final String RESERVATION_SQL =
+            "SELECT quantity, released FROM stock_reservations WHERE reservation = ? AND product_id = ?";
+
+    private static final String RELEASE_HOLD_SQL =
+            "UPDATE stock_reservations SET released = TRUE, released_at = ? WHERE reservation = ? AND product_id = ?";
+
+    private static final int CLEANUP_BATCH_SIZE = 5000;
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM stock_reservations WHERE released_at < ? LIMIT " + CLEANUP_BATCH_SIZE;
+
+    // A layout change during a single call is rare; repeated ones mean something is resharding in a loop
+    private static final int LAYOUT_ATTEMPTS = 5;
+
+    // InnoDB resolves lock cycles between concurrent stock transactions by rolling one of them back
+    private static final int DEADLOCK_ATTEMPTS = 5;
+
+    private record Shard(int shard, int quantity) {
+    }
+
+    private record Reservation(int quantity, boolean released) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate reservationTransaction;
+    private final int maxShards;
+    private final int releasedRetentionHours;
+
+    public ProductStockService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${product.stock.max-shards:64}") int maxShards,
+                               @Value("${product.stock.released-reservation-retention-hours:24}") int releasedRetentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.reservationTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.reservationTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.maxShards = maxShards;
+        this.releasedRetentionHours = releasedRetentionHours;
+    }
+
+    /**
+     * Take stock for the reservation {@code reservation}; a repeated call takes nothing more.
+     * Without a token this is a plain {@link #reserve(Long, int)}.
+     *
+     * @throws StockReservationReleasedException if the reservation was released before it arrived
+     */
+    public void reserve(Long productId, int quantity, String reservation) {
+        if (reservation == null) {
+            reserve(productId, quantity);
+            return;
+        }
+        retryOnDeadlock(() -> reservationTransaction.executeWithoutResult(status -> {
+            try {
+                // Written first: a concurrent call with the same token waits here until this one ends
+                jdbcTemplate.update(HOLD_SQL, reservation, productId, quantity);
+            } catch (DuplicateKeyException ex) {
+                Boolean released = jdbcTemplate.queryForObject(RESERVATION_RELEASED_SQL, Boolean.class,
+                        reservation, productId);
+                if (Boolean.TRUE.equals(released)) {
+                    throw new StockReservationReleasedException(reservation, productId);
+                }
+                logger.debug("Stock reservation {} of product {} already taken", reservation, productId);
+                return;
+            }
+            reserve(productId, quantity);
+        }));
+    }
+
+    /**
+     * Return the stock taken by the reservation {@code reservation}, once. If the reservation
+     * has not arrived, nothing is returned and it will be refused when it does. Without a token
+     * this is a plain {@link #release(Long, int)} of {@code quantity}.
+     */
+    public void release(Long productId, int quantity, String reservation) {
+        if (reservation == null) {
+            release(productId, quantity);
+            return;
+        }
+        retryOnDeadlock(() -> reservationTransaction.executeWithoutResult(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update(LOCK_RELEASE_SQL, reservation, productId, now);
+            Reservation held = jdbcTemplate.queryForObject(RESERVATION_SQL,
+                    (rs, rowNum) -> new Reservation(rs.getInt(1), rs.getBoolean(2)), reservation, productId);
+            if (held.released()) {
+                // A tombstone, just written or earlier, has quantity 0
+                logger.debug("Stock reservation {} of product {} already released ({} units)",
+                        reservation, productId, held.quantity());
+                return;
+            }
+            jdbcTemplate.update(RELEASE_HOLD_SQL, now, reservation, productId);
+            release(productId, held.quantity());
+        }));
+    }
+
+    /**
+     * Take {@code quantity} units of stock, or fail with {@link InsufficientStockException}
+     * without taking anything.
+     */
+    public void reserve(Long productId, int quantity) {
+        for (int attempt = 0; attempt < LAYOUT_ATTEMPTS; attempt++) {
+            int shards = shardsOf(productId);
+            if (shards == 0) {
+                if (jdbcTemplate.update(RESERVE_SQL, quantity, productId, quantity) == 1) {
+                    return;
+                }
+                // Either the stock is short or the product was sharded since it was read
+                if (shardsOf(productId) == 0) {
+                    throw new InsufficientStockException(productId, quantity);
+                }
+                continue;
+            }
+
+            int start = ThreadLocalRandom.current().nextInt(shards);
+            for (int i = 0; i < shards; i++) {
+                int shard = (start + i) % shards;
+                if (jdbcTemplate.update(RESERVE_SHARD_SQL, quantity, productId, shard, quantity) == 1) {
+                    return;
+                }
+            }
+            if (reserveAcrossShards(productId, quantity, shards)) {
+                return;
+            }
+        }
+        throw new StockLayoutChangedException(productId);
+    }
+
+    /**
+     * Return {@code quantity} units of stock, e.g. of a canceled order.
+     */
+    public void release(Long productId, int quantity) {
+        for (int attempt = 0; attempt < LAYOUT_ATTEMPTS; attempt++) {
+            int shards = shardsOf(productId);
+            int updated = shards == 0
+                    ? jdbcTemplate.update(RELEASE_SQL, quantity, productId)
+                    : jdbcTemplate.update(RELEASE_SHARD_SQL, quantity, productId, ThreadLocalRandom.current().nextInt(shards));
+            if (updated == 1) {
+                return;
+            }
+            // The layout changed since it was read; shardsOf fails if the product is gone
+        }
+        throw new StockLayoutChangedException(productId);
+    }
+
+    /**
+     * Current stock; for a sharded product the sum of its shards rather than the consolidated copy.
+     */
+    public int getAvailable(Long productId, int stockQuantity, boolean sharded) {
+        if (!sharded) {
+            return stockQuantity;
+        }
+        Integer total = jdbcTemplate.queryForObject(SUM_SHARDS_SQL, Integer.class, productId);
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Split a product's stock over {@code shards} rows, or fold it back into the product row
+     * when {@code shards} is 0 or 1. The stock itself is unchanged.
+     */
+    public void setShards(Long productId, int shards) {
+        if (shards < 0 || shards > maxShards) {
+            throw new IllegalArgumentException("Stock shards must be between 0 and " + maxShards);
+        }
+        retryOnDeadlock(() -> transactionTemplate.executeWithoutResult(status -> {
+            int total = lockTotal(productId);
+            distribute(productId, shards <= 1 ? 0 : shards, total);
+        }));
+        logger.info("Product {} stock now uses {} shards", productId, shards <= 1 ? 0 : shards);
+    }
+
+    /**
+     * Set the stock of a sharded product to an absolute value (an admin stock edit), spread
+     * evenly over its shards. Joins the caller's transaction.
+     */
+    public void resetShardedStock(Long productId, int stockQuantity) {
+        List<Shard> shards = lockShards(productId);
+        distribute(productId, shards.size(), stockQuantity);
+    }
+
+    /**
+     * Tombstones and released reservations only need to outlive retries of their requests.
+     */
+    @Scheduled(fixedDelayString = "${product.stock.reservation-cleanup-interval-ms:600000}")
+    public void deleteReleasedReservations() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(releasedRetentionHours));
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(CLEANUP_SQL, cutoff);
+            deleted += batch;
+        } while (batch == CLEANUP_BATCH_SIZE);
+        if (deleted > 0) {
+            logger.info("Deleted {} released stock reservations", deleted);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.stock.consolidation-interval-ms:5000}")
+    public void consolidateShardedStock() {
+        int updated = jdbcTemplate.update(CONSOLIDATE_SQL);
+        if (updated > 0) {
+            logger.debug("Consolidated sharded stock of {} products", updated);
+        }
+    }
+
+    /**
+     * Drain several shards under their locks.
+     *
+     * @return false if the product no longer has {@code expectedShards} shards; nothing was taken
+     */
+    private boolean reserveAcrossShards(Long productId, int quantity, int expectedShards) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<Integer> layout = jdbcTemplate.queryForList(SHARE_LOCK_SHARDS_SQL, Integer.class, productId);
+            if (layout.isEmpty()) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+            if (layout.get(0) != expectedShards) {
+                return false;
+            }
+            List<Shard> shards = lockShards(productId);
+            int total = shards.stream().mapToInt(Shard::quantity).sum();
+            if (total < quantity) {
+                throw new InsufficientStockException(productId, quantity);
+            }
+            int remaining = quantity;
+            List<Object[]> updates = new ArrayList<>();
+            for (Shard shard : shards) {
+                int taken = Math.min(shard.quantity(), remaining);
+                if (taken > 0) {
+                    updates.add(new Object[]{shard.quantity() - taken, productId, shard.shard()});
+                    remaining -= taken;
+                }
+            }
+            jdbcTemplate.batchUpdate(SET_SHARD_SQL, updates);
+            return true;
+        }));
+    }
+
+    /**
+     * Run a transaction, again if InnoDB rolled it back to break a deadlock. Safe for the
+     * transactions here: a rolled-back attempt leaves no ledger row or stock movement behind.
+     */
+    private void retryOnDeadlock(Runnable transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.run();
+                return;
+            } catch (PessimisticLockingFailureException ex) {
+                if (attempt == DEADLOCK_ATTEMPTS) {
+                    throw ex;
+                }
+                logger.debug("Stock transaction rolled back by a lock conflict, retrying: {}", ex.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Jittered, so the transactions of a deadlock do not meet again on their next attempt
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L * attempt));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a stock transaction", ex);
+        }
+    }
+
+    private int lockTotal(Long productId) {
+        List<int[]> product = jdbcTemplate.query(LOCK_PRODUCT_SQL,
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)}, productId);
+        if (product.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        if (product.get(0)[1] == 0) {
+            return product.get(0)[0];
+        }
+        return lockShards(productId).stream().mapToInt(Shard::quantity).sum();
+    }
+
+    private List<Shard> lockShards(Long productId) {
+        return jdbcTemplate.query(LOCK_SHARDS_SQL,
+                (rs, rowNum) -> new Shard(rs.getInt(1), rs.getInt(2)), productId);
+    }
+
+    /**
+     * Replace the shards of a locked product; the remainder of an uneven split goes to the first shards.
+     */
+    private void distribute(Long productId, int shards, int total) {
+        jdbcTemplate.update(DELETE_SHARDS_SQL, productId);
+        if (shards > 0) {
+            List<Object[]> rows = new ArrayList<>(shards);
+            for (int shard = 0; shard < shards; shard++) {
+                rows.add(new Object[]{productId, shard, total / shards + (shard < total % shards ? 1 : 0)});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, rows);
+        }
+        jdbcTemplate.update(SET_SHARDING_SQL, shards, total, productId);
+    }
+
+    private int shardsOf(Long productId) {
+        List<Integer> shards = jdbcTemplate.queryForList(SHARDS_SQL, Integer.class, productId);
+        if (shards.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        return shards.get(0);
+    }
+}
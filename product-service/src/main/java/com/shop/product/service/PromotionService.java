@@ -3,9 +3,12 @@ package com.shop.product.service;
 import com.shop.product.dto.PromotionCreateDTO;
 import com.shop.product.dto.PromotionDTO;
 import com.shop.product.dto.PromotionUpdateDTO;
+import com.shop.product.exception.InvalidPromotionException;
 import com.shop.product.exception.ResourceNotFoundException;
 import com.shop.product.mapper.PromotionMapper;
 import com.shop.product.model.Promotion;
+import com.shop.product.model.enums.PromotionScope;
+import com.shop.product.pricing.PricingEngine;
 import com.shop.product.repository.ProductRepository;
 import com.shop.product.repository.PromotionRepository;
 import org.slf4j.Logger;
@@ -13,10 +16,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 public class PromotionService {
@@ -25,14 +25,20 @@ public class PromotionService {
 
     private final PromotionRepository promotionRepository;
     private final ProductRepository productRepository;
+    private final CategoryReplicaService categoryReplicaService;
     private final PromotionMapper promotionMapper;
+    private final PricingEngine pricingEngine;
 
     public PromotionService(PromotionRepository promotionRepository,
                             ProductRepository productRepository,
-                            PromotionMapper promotionMapper) {
+                            CategoryReplicaService categoryReplicaService,
+                            PromotionMapper promotionMapper,
+                            PricingEngine pricingEngine) {
         this.promotionRepository = promotionRepository;
         this.productRepository = productRepository;
+        this.categoryReplicaService = categoryReplicaService;
         this.promotionMapper = promotionMapper;
+        this.pricingEngine = pricingEngine;
     }
 
     @Transactional(readOnly = true)
@@ -43,37 +49,26 @@ public class PromotionService {
     }
 
     @Transactional(readOnly = true)
-    public Optional<Promotion> getActivePromotionEntity(Long productId) {
-        LocalDateTime now = LocalDateTime.now();
-        return promotionRepository
-                .findFirstByProductIdAndActiveTrueAndStartAtLessThanEqualAndEndAtGreaterThanEqualOrderByPriorityDescCreatedAtDesc(
-                        productId, now, now);
-    }
-
-    @Transactional(readOnly = true)
-    public PromotionDTO getActivePromotion(Long productId) {
-        return getActivePromotionEntity(productId).map(promotionMapper::toDTO).orElse(null);
-    }
-
-    @Transactional(readOnly = true)
-    public PromotionDTO toDTO(Promotion promotion) {
-        return promotionMapper.toDTO(promotion);
+    public List<PromotionDTO> getPromotionsByCategoryId(Long categoryId) {
+        return promotionRepository.findByCategoryId(categoryId).stream()
+                .map(promotionMapper::toDTO)
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public BigDecimal calculateEffectivePrice(BigDecimal basePrice, Promotion promotion) {
-        if (basePrice == null) {
-            return null;
-        }
-        return promotion == null ? basePrice : promotion.applyTo(basePrice);
+    public List<PromotionDTO> getCartPromotions() {
+        return promotionRepository.findByScope(PromotionScope.CART).stream()
+                .map(promotionMapper::toDTO)
+                .toList();
     }
 
     @Transactional
     public PromotionDTO createPromotion(PromotionCreateDTO dto) {
-        validateProductExists(dto.getProductId());
         Promotion promotion = promotionMapper.toEntity(dto);
+        validateTarget(promotion);
         Promotion saved = promotionRepository.save(promotion);
-        logger.info("Created promotion {} for product {}", saved.getId(), saved.getProductId());
+        logger.info("Created {} promotion {}", saved.getScope(), saved.getId());
+        AfterCommit.run(pricingEngine::refresh);
         return promotionMapper.toDTO(saved);
     }
 
@@ -82,13 +77,11 @@ public class PromotionService {
         Promotion promotion = promotionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Promotion", "id", id));
 
-        if (dto.getProductId() != null) {
-            validateProductExists(dto.getProductId());
-        }
-
         promotionMapper.updateEntity(promotion, dto);
+        validateTarget(promotion);
         Promotion updated = promotionRepository.save(promotion);
         logger.info("Updated promotion {}", updated.getId());
+        AfterCommit.run(pricingEngine::refresh);
         return promotionMapper.toDTO(updated);
     }
 
@@ -98,11 +91,37 @@ public class PromotionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Promotion", "id", id));
         promotion.setActive(false);
         promotionRepository.save(promotion);
+        AfterCommit.run(pricingEngine::refresh);
     }
 
-    private void validateProductExists(Long productId) {
-        if (productId == null || !productRepository.existsById(productId)) {
-            throw new ResourceNotFoundException("Product", "id", productId);
+    /**
+     * A promotion targets exactly what its scope says: one existing product, one existing
+     * category, or the cart.
+     */
+    private void validateTarget(Promotion promotion) {
+        if (promotion.getEndAt() != null && promotion.getStartAt() != null
+                && promotion.getEndAt().isBefore(promotion.getStartAt())) {
+            throw new InvalidPromotionException("Promotion must not end before it starts");
+        }
+        switch (promotion.getScope()) {
+            case PRODUCT -> {
+                if (promotion.getProductId() == null || !productRepository.existsById(promotion.getProductId())) {
+                    throw new ResourceNotFoundException("Product", "id", promotion.getProductId());
+                }
+                promotion.setCategoryId(null);
+                promotion.setMinCartAmount(null);
+            }
+            case CATEGORY -> {
+                if (promotion.getCategoryId() == null || !categoryReplicaService.existsById(promotion.getCategoryId())) {
+                    throw new ResourceNotFoundException("Category", "id", promotion.getCategoryId());
+                }
+                promotion.setProductId(null);
+                promotion.setMinCartAmount(null);
+            }
+            case CART -> {
+                promotion.setProductId(null);
+                promotion.setCategoryId(null);
+            }
         }
     }
 }
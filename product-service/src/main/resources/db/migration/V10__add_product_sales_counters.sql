@@ -0,0 +1,15 @@
+-- Per-product sales counters, maintained incrementally from order events
+ALTER TABLE products
+    ADD COLUMN sold_quantity BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN revenue DECIMAL(14, 2) NOT NULL DEFAULT 0;
+
+-- "Best-selling" sorting of the active catalog
+CREATE INDEX idx_products_active_sold ON products (is_active, sold_quantity);
+
+-- Whether each order's lines are currently included in the counters, so redelivered
+-- events are ignored and a cancellation subtracts exactly what was added
+CREATE TABLE sales_counted_orders (
+    order_id BIGINT PRIMARY KEY,
+    counted BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,12 @@
+-- Optional sharded stock for hot products (see ProductStockService).
+-- stock_shards = 0: products.stock_quantity is the stock.
+-- stock_shards = N: the stock is the sum of N rows in product_stock_shards, and
+-- products.stock_quantity is a periodically consolidated copy for listings.
+ALTER TABLE products ADD COLUMN stock_shards INT NOT NULL DEFAULT 0;
+
+CREATE TABLE product_stock_shards (
+    product_id BIGINT NOT NULL,
+    shard INT NOT NULL,
+    quantity INT NOT NULL,
+    PRIMARY KEY (product_id, shard)
+);
@@ -0,0 +1,11 @@
+-- Promotions on a category (and its descendants) or on the whole cart, and stacking.
+-- Existing promotions stay product promotions that do not stack, which prices them as before.
+ALTER TABLE promotions
+    MODIFY product_id BIGINT NULL,
+    ADD COLUMN scope VARCHAR(16) NOT NULL DEFAULT 'PRODUCT' AFTER id,
+    ADD COLUMN category_id BIGINT NULL AFTER product_id,
+    ADD COLUMN stackable BOOLEAN NOT NULL DEFAULT FALSE AFTER priority,
+    ADD COLUMN min_cart_amount DECIMAL(10, 2) NULL AFTER stackable;
+
+-- The pricing plan loads every promotion that is active and not over yet
+CREATE INDEX idx_promotions_active_end ON promotions (active, end_at);
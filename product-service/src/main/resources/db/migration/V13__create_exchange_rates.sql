@@ -0,0 +1,18 @@
+-- Exchange rates as units of each currency per unit of the base currency (product.currency.base,
+-- USD by default), whose own row stays at 1. Loaded into memory by CurrencyConverter.
+CREATE TABLE exchange_rates (
+    currency VARCHAR(20) NOT NULL,
+    rate DECIMAL(19,8) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    PRIMARY KEY (currency)
+);
+
+INSERT INTO exchange_rates (currency, rate, updated_at) VALUES
+    ('USD', 1.00000000, CURRENT_TIMESTAMP),
+    ('EUR', 0.92000000, CURRENT_TIMESTAMP),
+    ('GBP', 0.79000000, CURRENT_TIMESTAMP),
+    ('JPY', 151.50000000, CURRENT_TIMESTAMP),
+    ('CAD', 1.36000000, CURRENT_TIMESTAMP),
+    ('AUD', 1.52000000, CURRENT_TIMESTAMP),
+    ('CHF', 0.90000000, CURRENT_TIMESTAMP),
+    ('CNY', 7.24000000, CURRENT_TIMESTAMP);
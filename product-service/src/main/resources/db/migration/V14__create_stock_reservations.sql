@@ -0,0 +1,16 @@
+-- Ledger of stock reservations made with a caller-chosen token (one per checkout), so that
+-- reserve and release requests can be retried. A row is written in the same transaction as
+-- the stock movement it records. released = TRUE with nothing taken is a tombstone left by a
+-- release that arrived before its reserve, which is then refused.
+-- Held rows stay as long as their order may still be canceled; released rows are deleted
+-- after product.stock.released-reservation-retention-hours.
+CREATE TABLE stock_reservations (
+    reservation VARCHAR(36) NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    released BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    released_at DATETIME NULL,
+    PRIMARY KEY (reservation, product_id),
+    INDEX idx_stock_reservations_released_at (released_at)
+);
@@ -0,0 +1,11 @@
+-- Local read model of category-service categories, kept current by category events
+CREATE TABLE IF NOT EXISTS category_replicas (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+INSERT INTO category_replicas (id, name)
+SELECT category_id, MAX(category_name)
+FROM products
+GROUP BY category_id;
@@ -0,0 +1,8 @@
+-- Materialized category paths, used to filter products by a category and its descendants
+ALTER TABLE category_replicas
+    ADD COLUMN parent_id BIGINT NULL,
+    ADD COLUMN path VARCHAR(512) NOT NULL DEFAULT '/';
+
+UPDATE category_replicas SET path = CONCAT('/', id, '/');
+
+CREATE INDEX idx_category_replicas_path ON category_replicas (path);
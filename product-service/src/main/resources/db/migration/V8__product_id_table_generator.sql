@@ -0,0 +1,10 @@
+-- Product IDs are allocated in blocks from this table instead of AUTO_INCREMENT,
+-- so Hibernate can batch product inserts (IDENTITY forces one round trip per row).
+-- next_val is the first ID of the next block (pooled-lo optimizer).
+CREATE TABLE id_generators (
+    name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'products', COALESCE(MAX(id), 0) + 1 FROM products;
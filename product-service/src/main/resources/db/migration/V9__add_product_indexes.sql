@@ -0,0 +1,9 @@
+-- Secondary indexes for the product repository queries.
+-- Name filters use LIKE '%...%' and cannot use a B-tree index; they are applied on the
+-- rows already narrowed down by these indexes.
+
+-- findByCategoryId, findProductsByFilters / findProductsByCategoryIdsAndFilters with a price range
+CREATE INDEX idx_products_category_active_price ON products (category_id, is_active, price);
+
+-- findByIsActiveTrue and filter queries without a category, including price ranges and price sorting
+CREATE INDEX idx_products_active_price ON products (is_active, price);
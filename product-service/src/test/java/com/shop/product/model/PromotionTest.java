@@ -0,0 +1,143 @@
+package com.shop.product.model;
+
+import com.shop.product.model.enums.DiscountType;
+import com.shop.product.pricing.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that pricing on minor units gives the result of the former {@code BigDecimal} arithmetic,
+ * rounded half up to cents, for every price and discount value the schema can hold
+ * ({@code DECIMAL(10, 2)}, discounts from 0.01 as the API validates).
+ * <p>
+ * {@link #legacyApplyTo} is the implementation {@code applyTo(BigDecimal)} had before prices were
+ * discounted on minor units. The edge cases cover the smallest and largest amounts, ties on half a
+ * cent and discounts at, just below and just above the whole price; random cases follow from a fixed
+ * seed so a failure can be reproduced.
+ */
+class PromotionTest {
+
+    private static final long MAX_MINOR_UNITS = 99_999_999_99L;
+
+    private static final long SEED = 20261019L;
+
+    private static final int RANDOM_CASES = 1_000_000;
+
+    private static final List<String> EDGE_PRICES = List.of("0.00", "0.01", "0.02", "0.03", "0.05", "0.09", "0.10",
+            "0.15", "0.99", "1.00", "1.01", "1.99", "9.99", "10.00", "19.99", "33.33", "99.99", "100.00", "12345.67",
+            "1000000.01", "99999999.98", "99999999.99");
+
+    private static final List<String> EDGE_PERCENTAGES = List.of("0.01", "0.05", "0.10", "0.50", "1.00", "12.50",
+            "15.00", "33.33", "49.99", "50.00", "50.01", "66.67", "99.00", "99.99", "100.00", "100.01", "150.00");
+
+    static Stream<Arguments> edgePercentages() {
+        List<Arguments> cases = new ArrayList<>();
+        for (String price : EDGE_PRICES) {
+            for (String percentage : EDGE_PERCENTAGES) {
+                cases.add(Arguments.of(new BigDecimal(price), new BigDecimal(percentage)));
+            }
+        }
+        return cases.stream();
+    }
+
+    static Stream<Arguments> edgeAmounts() {
+        List<Arguments> cases = new ArrayList<>();
+        for (String price : EDGE_PRICES) {
+            BigDecimal base = new BigDecimal(price);
+            for (BigDecimal amount : List.of(new BigDecimal("0.01"), new BigDecimal("0.99"), new BigDecimal("1.00"),
+                    base.subtract(new BigDecimal("0.01")), base, base.add(new BigDecimal("0.01")),
+                    new BigDecimal("99999999.99"))) {
+                if (amount.signum() > 0) {
+                    cases.add(Arguments.of(base, amount));
+                }
+            }
+        }
+        return cases.stream();
+    }
+
+    @ParameterizedTest(name = "{1} % off {0}")
+    @MethodSource("edgePercentages")
+    void percentageMatchesLegacyArithmetic(BigDecimal price, BigDecimal percentage) {
+        assertMatchesLegacy(DiscountType.PERCENTAGE, percentage, price);
+    }
+
+    @ParameterizedTest(name = "{1} off {0}")
+    @MethodSource("edgeAmounts")
+    void amountMatchesLegacyArithmetic(BigDecimal price, BigDecimal amount) {
+        assertMatchesLegacy(DiscountType.FIXED_AMOUNT, amount, price);
+    }
+
+    @Test
+    void randomDiscountsMatchLegacyArithmetic() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            BigDecimal price = Money.toAmount(randomMinorUnits(random));
+            if (random.nextBoolean()) {
+                // Mostly real-world percentages, sometimes above 100 %
+                long percentage = random.nextInt(10) == 0 ? random.nextLong(1, 200_00) : random.nextLong(1, 100_00);
+                assertMatchesLegacy(DiscountType.PERCENTAGE, Money.toAmount(percentage), price);
+            } else {
+                assertMatchesLegacy(DiscountType.FIXED_AMOUNT, Money.toAmount(randomMinorUnits(random)), price);
+            }
+        }
+    }
+
+    @Test
+    void promotionWithoutDiscountKeepsThePrice() {
+        Promotion promotion = new Promotion();
+        assertThat(promotion.applyTo(12_345L)).isEqualTo(12_345L);
+        assertThat(promotion.applyTo(new BigDecimal("123.45"))).isEqualByComparingTo("123.45");
+        assertThat(promotion.applyTo((BigDecimal) null)).isNull();
+    }
+
+    /**
+     * Prices spread over every order of magnitude rather than uniformly, which would almost
+     * only produce prices in the millions.
+     */
+    private static long randomMinorUnits(SplittableRandom random) {
+        long bound = (long) Math.pow(10, random.nextInt(1, 11));
+        return random.nextLong(1, Math.min(bound, MAX_MINOR_UNITS + 1));
+    }
+
+    private static void assertMatchesLegacy(DiscountType type, BigDecimal discountValue, BigDecimal price) {
+        Promotion promotion = new Promotion();
+        promotion.setDiscountType(type);
+        promotion.setDiscountValue(discountValue);
+
+        BigDecimal expected = legacyApplyTo(type, discountValue, price).setScale(Money.SCALE, RoundingMode.HALF_UP);
+        long minorUnits = promotion.applyTo(Money.toMinorUnits(price));
+
+        assertThat(minorUnits)
+                .as(() -> type + " " + discountValue + " off " + price)
+                .isEqualTo(Money.toMinorUnits(expected));
+        assertThat(promotion.applyTo(price))
+                .as(() -> type + " " + discountValue + " off " + price)
+                .isEqualTo(expected);
+    }
+
+    private static BigDecimal legacyApplyTo(DiscountType type, BigDecimal discountValue, BigDecimal basePrice) {
+        BigDecimal effectivePrice;
+        if (type == DiscountType.PERCENTAGE) {
+            BigDecimal discount = basePrice.multiply(discountValue).divide(BigDecimal.valueOf(100));
+            effectivePrice = basePrice.subtract(discount);
+        } else {
+            effectivePrice = basePrice.subtract(discountValue);
+        }
+
+        if (effectivePrice.compareTo(BigDecimal.ZERO) < 0) {
+            return BigDecimal.ZERO;
+        }
+        return effectivePrice;
+    }
+}
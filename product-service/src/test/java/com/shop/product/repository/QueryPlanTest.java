@@ -0,0 +1,232 @@
+package com.shop.product.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the product listing queries are served by the indexes of the Flyway migrations.
+ * <p>
+ * The schema is migrated into MySQL 8 (a Testcontainers container, or the empty database given
+ * with {@code -Dquery-plans.url=jdbc:mysql://...} and {@code -Dquery-plans.username/password},
+ * whose user may set global variables), and a catalog of a few hundred categories is inserted.
+ * Each test runs repository methods with the general log on, then EXPLAINs the SQL that was sent
+ * and asserts which indexes the plan uses. Name searches ({@code LIKE '%...%'}) and the export
+ * read the whole table by design and are not checked. The class is skipped without Docker or an
+ * explicit database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIf("databaseAvailable")
+class QueryPlanTest {
+
+    private static final String URL = System.getProperty("query-plans.url");
+
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("product_service")
+            .withUsername("root")
+            .withPassword("root");
+
+    private static final int PRODUCTS = 20_000;
+    private static final int CATEGORIES = 200;
+
+    private static final Long CATEGORY_ID = 42L;
+    private static final BigDecimal MIN_PRICE = new BigDecimal("100.00");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("110.00");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    static boolean databaseAvailable() {
+        return URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (URL != null) {
+            registry.add("spring.datasource.url", () -> URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("query-plans.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("query-plans.password", ""));
+        } else {
+            MYSQL.start();
+            registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true");
+            registry.add("spring.datasource.username", MYSQL::getUsername);
+            registry.add("spring.datasource.password", MYSQL::getPassword);
+        }
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Object[]> products = new ArrayList<>(PRODUCTS);
+            for (long i = 1; i <= PRODUCTS; i++) {
+                long categoryId = i % CATEGORIES + 1;
+                // Prices spread from 0 to 999.99; one product in twenty is inactive
+                products.add(new Object[]{"Product " + i, BigDecimal.valueOf(i * 37 % 100_000, 2), 10,
+                        categoryId, "Category " + categoryId, i % 20 != 0, i * 13 % 5_000});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO products (name, price, currency, stock_quantity, category_id, "
+                    + "category_name, is_active, sold_quantity) VALUES (?, ?, 'USD', ?, ?, ?, ?, ?)", products);
+        });
+        jdbcTemplate.execute("ANALYZE TABLE products");
+        jdbcTemplate.execute("SET GLOBAL log_output = 'TABLE'");
+        jdbcTemplate.execute("SET GLOBAL general_log = 'ON'");
+    }
+
+    @AfterAll
+    void stopLogging() {
+        jdbcTemplate.execute("SET GLOBAL general_log = 'OFF'");
+    }
+
+    @Test
+    void productsOfCategory() {
+        Plan plan = explain(() -> productRepository.findByCategoryId(CATEGORY_ID, PageRequest.of(1, 20, Sort.by("id"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_category_active_price");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void activeProductsByPrice() {
+        Plan plan = explain(() -> productRepository.findByIsActiveTrue(PageRequest.of(1, 20, Sort.by("price"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_active_price");
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void priceRange() {
+        Plan plan = explain(() -> productRepository.findProductsByFilters(null, MIN_PRICE, MAX_PRICE, null,
+                PageRequest.of(0, 20, Sort.by("price"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_active_price");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void priceRangeInCategory() {
+        Plan plan = explain(() -> productRepository.findProductsByFilters(CATEGORY_ID, MIN_PRICE, new BigDecimal("500.00"),
+                null, PageRequest.of(0, 20, Sort.by("price"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_category_active_price");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void productsOfCategorySubtree() {
+        Plan plan = explain(() -> productRepository.findProductsByCategoryIdsAndFilters(List.of(CATEGORY_ID, 43L, 44L),
+                null, null, null, PageRequest.of(0, 20, Sort.by("id"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_category_active_price");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void summariesInPriceRange() {
+        Plan plan = explain(() -> productRepository.findSummariesByFilters(null, MIN_PRICE, MAX_PRICE, null,
+                PageRequest.of(0, 20, Sort.by("price"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_active_price");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void summariesOfCategorySubtree() {
+        Plan plan = explain(() -> productRepository.findSummariesByCategoryIdsAndFilters(List.of(CATEGORY_ID, 43L, 44L),
+                MIN_PRICE, new BigDecimal("500.00"), null, PageRequest.of(0, 20, Sort.by("id"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_category_active_price");
+        assertThat(plan.fullScans()).as(plan::toString).isEmpty();
+    }
+
+    @Test
+    void bestSellingSummaries() {
+        Plan plan = explain(() -> productRepository.findSummariesByIsActiveTrue(
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "soldQuantity", "id"))));
+        assertThat(plan.keys()).as(plan::toString).contains("idx_products_active_sold");
+        assertThat(plan.filesorts()).as(plan::toString).isEmpty();
+    }
+
+    /**
+     * Run the call with the general log on and EXPLAIN every SELECT it sent. The driver inlines
+     * parameters into client-side prepared statements, so the logged SQL can be explained as is.
+     */
+    private Plan explain(Runnable call) {
+        jdbcTemplate.execute("TRUNCATE TABLE mysql.general_log");
+        call.run();
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log "
+                        + "WHERE command_type = 'Query' AND CONVERT(argument USING utf8mb4) LIKE 'select%' "
+                        + "AND CONVERT(argument USING utf8mb4) NOT LIKE '%general_log%' ORDER BY event_time",
+                String.class);
+        assertThat(statements).as("statements sent").isNotEmpty();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String statement : statements) {
+            rows.addAll(jdbcTemplate.queryForList("EXPLAIN " + statement));
+        }
+        return new Plan(statements, rows);
+    }
+
+    /**
+     * EXPLAIN rows of all statements of one repository call
+     */
+    private record Plan(List<String> statements, List<Map<String, Object>> rows) {
+
+        Set<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (Map<String, Object> row : rows) {
+                if (row.get("key") != null) {
+                    keys.add(row.get("key").toString());
+                }
+            }
+            return keys;
+        }
+
+        List<Object> fullScans() {
+            return rows.stream().filter(row -> "ALL".equals(row.get("type"))).map(row -> row.get("table")).toList();
+        }
+
+        List<Object> filesorts() {
+            return rows.stream().filter(row -> extra(row).contains("Using filesort")).map(row -> row.get("table")).toList();
+        }
+
+        private static String extra(Map<String, Object> row) {
+            return Objects.toString(row.get("Extra"), "");
+        }
+
+        @Override
+        public String toString() {
+            return String.join("\n", statements) + "\n" + rows;
+        }
+    }
+}